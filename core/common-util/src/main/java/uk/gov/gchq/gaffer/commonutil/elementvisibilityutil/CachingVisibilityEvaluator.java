@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.elementvisibilityutil;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+/**
+ * A {@link VisibilityEvaluator} that caches whether each visibility expression it has
+ * evaluated is visible, so an expression that appears on many elements is only parsed
+ * and evaluated once.
+ * <p>
+ * The decisions depend on the authorisations, so an evaluator should be created for
+ * each set of authorisations, for example for each query. The least recently used
+ * expressions are evicted once the cache is full. An evaluator can be shared by
+ * multiple threads.
+ */
+public class CachingVisibilityEvaluator extends VisibilityEvaluator {
+    public static final int DEFAULT_CACHE_SIZE = 1000;
+
+    private final Cache<String, Boolean> cache;
+
+    public CachingVisibilityEvaluator(final Authorisations auths) {
+        this(auths, DEFAULT_CACHE_SIZE);
+    }
+
+    public CachingVisibilityEvaluator(final Authorisations auths, final int cacheSize) {
+        super(auths);
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    /**
+     * Evaluates a visibility expression, using the cached decision if the expression has
+     * been evaluated before.
+     *
+     * @param visibility the visibility expression
+     * @return true if the expression is visible with the authorisations of this evaluator
+     * @throws VisibilityParseException if the expression cannot be evaluated
+     */
+    public boolean evaluate(final String visibility) throws VisibilityParseException {
+        Boolean visible = cache.getIfPresent(visibility);
+        if (null == visible) {
+            visible = evaluate(new ElementVisibility(visibility));
+            cache.put(visibility, visible);
+        }
+        return visible;
+    }
+
+    /**
+     * @return the number of visibility expressions in the cache
+     */
+    public long getCacheSize() {
+        return cache.size();
+    }
+}
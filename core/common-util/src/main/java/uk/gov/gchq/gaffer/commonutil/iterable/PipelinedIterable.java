@@ -0,0 +1,262 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code PipelinedIterable} reads the items of another iterable on a
+ * separate thread, so the items can be produced while the consumer is still
+ * processing the previous ones.
+ * <p>
+ * Each call to {@link #iterator()} submits a producer task to the provided
+ * executor. The producer adds items to a bounded queue and waits when the
+ * queue is full, so it can never get more than the queue size ahead of the
+ * consumer. Any exception thrown by the producer is rethrown to the consumer
+ * once the items read before it have been consumed. If the executor rejects
+ * the producer, for example because all of its threads are busy, the items
+ * are read on the consumer's thread instead.
+ * <p>
+ * Closing an iterator stops its producer and the producer then closes the
+ * iterator it was reading from. A producer also stops if its iterator is
+ * garbage collected without being closed, so an abandoned iterator does not
+ * hold on to an executor thread.
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public class PipelinedIterable<T> implements CloseableIterable<T> {
+    private static final Object END = new Object();
+    private static final Object NULL_ITEM = new Object();
+    private static final long WAIT_MILLIS = 100;
+
+    private final Iterable<T> iterable;
+    private final ExecutorService executor;
+    private final int queueSize;
+
+    public PipelinedIterable(final Iterable<T> iterable, final ExecutorService executor, final int queueSize) {
+        if (null == iterable) {
+            throw new IllegalArgumentException("Iterable is required");
+        }
+        if (null == executor) {
+            throw new IllegalArgumentException("Executor is required");
+        }
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("Queue size must be at least 1");
+        }
+
+        this.iterable = iterable;
+        this.executor = executor;
+        this.queueSize = queueSize;
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        return new PipelinedIterator<>(iterable, executor, queueSize);
+    }
+
+    @Override
+    public void close() {
+        CloseableUtil.close(iterable);
+    }
+
+    /**
+     * The state shared between an iterator and its producer. The producer
+     * only references its iterator weakly, so this is kept separate.
+     */
+    private static final class Pipe {
+        private final BlockingQueue<Object> queue;
+        private volatile boolean closed;
+        private volatile RuntimeException error;
+
+        private Pipe(final int queueSize) {
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+    }
+
+    private static final class PipelinedIterator<T> implements CloseableIterator<T> {
+        private final Pipe pipe;
+        private final Future<?> producer;
+        private final Iterator<T> fallback;
+        private Object next;
+
+        private PipelinedIterator(final Iterable<T> iterable, final ExecutorService executor, final int queueSize) {
+            pipe = new Pipe(queueSize);
+
+            Future<?> submitted;
+            try {
+                submitted = executor.submit(new Producer<>(iterable, pipe, this));
+            } catch (final RejectedExecutionException e) {
+                submitted = null;
+            }
+            producer = submitted;
+            fallback = null == submitted ? iterable.iterator() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != fallback) {
+                return !pipe.closed && fallback.hasNext();
+            }
+
+            if (null == next) {
+                if (pipe.closed) {
+                    return false;
+                }
+
+                try {
+                    next = take();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                    throw new RuntimeException("Interrupted whilst waiting for the next item", e);
+                }
+
+                if (null == next) {
+                    return false;
+                }
+
+                if (END == next) {
+                    pipe.closed = true;
+                    if (null != pipe.error) {
+                        throw pipe.error;
+                    }
+                }
+            }
+
+            return END != next;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the pipelined iterator");
+            }
+
+            if (null != fallback) {
+                return fallback.next();
+            }
+
+            final Object item = next;
+            next = null;
+            return NULL_ITEM == item ? null : (T) item;
+        }
+
+        @Override
+        public void close() {
+            if (!pipe.closed) {
+                pipe.closed = true;
+                next = null;
+                if (null != fallback) {
+                    CloseableUtil.close(fallback);
+                } else {
+                    producer.cancel(true);
+                    pipe.queue.clear();
+                }
+            }
+        }
+
+        /**
+         * Waits for the next item, checking periodically whether this iterator
+         * has been closed by another thread or the producer has died.
+         *
+         * @return the next item or null if the iterator has been closed.
+         * @throws InterruptedException if interrupted whilst waiting.
+         */
+        private Object take() throws InterruptedException {
+            while (!pipe.closed) {
+                final Object item = pipe.queue.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                if (null != item) {
+                    return item;
+                }
+
+                if (producer.isDone() && pipe.queue.isEmpty()) {
+                    close();
+                    throw new RuntimeException("The pipeline producer stopped before reaching the end of the items");
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Producer<T> implements Runnable {
+        private final Iterable<T> iterable;
+        private final Pipe pipe;
+        private final WeakReference<PipelinedIterator<T>> consumer;
+
+        private Producer(final Iterable<T> iterable, final Pipe pipe, final PipelinedIterator<T> consumer) {
+            this.iterable = iterable;
+            this.pipe = pipe;
+            this.consumer = new WeakReference<>(consumer);
+        }
+
+        @Override
+        public void run() {
+            Iterator<T> iterator = null;
+            try {
+                iterator = iterable.iterator();
+                while (!pipe.closed && iterator.hasNext()) {
+                    final T item = iterator.next();
+                    if (!offer(null != item ? item : NULL_ITEM)) {
+                        return;
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final RuntimeException e) {
+                pipe.error = e;
+            } catch (final Error e) {
+                pipe.error = new RuntimeException(e);
+            } finally {
+                CloseableUtil.close(iterator);
+            }
+
+            try {
+                offer(END);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Adds an item to the queue, waiting for space for as long as the
+         * consumer is still open and reachable.
+         *
+         * @param item the item to add.
+         * @return true if the item was added, false if the consumer has gone.
+         * @throws InterruptedException if interrupted whilst waiting.
+         */
+        private boolean offer(final Object item) throws InterruptedException {
+            while (!pipe.closed && null != consumer.get()) {
+                if (pipe.queue.offer(item, WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
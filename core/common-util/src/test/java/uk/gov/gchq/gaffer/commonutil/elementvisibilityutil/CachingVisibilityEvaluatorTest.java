@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.elementvisibilityutil;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingVisibilityEvaluatorTest {
+
+    @Test
+    public void shouldEvaluateAndCacheVisibilityExpressions() throws VisibilityParseException {
+        // Given
+        final CachingVisibilityEvaluator evaluator = new CachingVisibilityEvaluator(new Authorisations("one", "two"));
+
+        // When / Then
+        assertTrue(evaluator.evaluate("one&two"));
+        assertTrue(evaluator.evaluate("one&two"));
+        assertFalse(evaluator.evaluate("one&three"));
+        assertTrue(evaluator.evaluate(""));
+        assertEquals(3, evaluator.getCacheSize());
+    }
+
+    @Test
+    public void shouldEvictExpressionsWhenCacheIsFull() throws VisibilityParseException {
+        // Given
+        final CachingVisibilityEvaluator evaluator = new CachingVisibilityEvaluator(new Authorisations("one"), 2);
+
+        // When
+        evaluator.evaluate("one");
+        evaluator.evaluate("two");
+        evaluator.evaluate("one|two");
+
+        // Then
+        assertEquals(2, evaluator.getCacheSize());
+        assertTrue(evaluator.evaluate("one"));
+    }
+
+    @Test
+    public void shouldNotCacheInvalidExpressions() {
+        // Given
+        final CachingVisibilityEvaluator evaluator = new CachingVisibilityEvaluator(new Authorisations("one"));
+
+        // When / Then
+        assertThrows(PatternSyntaxException.class, () -> evaluator.evaluate("one|"));
+        assertEquals(0, evaluator.getCacheSize());
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class PipelinedIterableTest {
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldReturnItemsInOrderEachTimeIterableIsIterated() {
+        // Given
+        final List<Integer> items = Arrays.asList(1, 2, null, 4, 5, 6, 7);
+        final PipelinedIterable<Integer> iterable = new PipelinedIterable<>(items, executor, 2);
+
+        // When
+        final List<Integer> result1 = Lists.newArrayList(iterable);
+        final List<Integer> result2 = Lists.newArrayList(iterable);
+
+        // Then
+        assertEquals(items, result1);
+        assertEquals(items, result2);
+    }
+
+    @Test
+    public void shouldRethrowProducerExceptionAfterEarlierItems() {
+        // Given
+        final IllegalStateException exception = new IllegalStateException("Failed to read");
+        final Iterable<Integer> items = () -> new Iterator<Integer>() {
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                if (count == 2) {
+                    throw exception;
+                }
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return count++;
+            }
+        };
+        final CloseableIterator<Integer> iterator = new PipelinedIterable<>(items, executor, 1).iterator();
+
+        // When
+        final Integer first = iterator.next();
+        final Integer second = iterator.next();
+        final IllegalStateException actual = assertThrows(IllegalStateException.class, iterator::hasNext);
+
+        // Then
+        assertEquals(0, (int) first);
+        assertEquals(1, (int) second);
+        assertSame(exception, actual);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void shouldStopProducerAndCloseSourceIteratorWhenClosed() {
+        // Given
+        final CloseableIterable<Integer> items = mock(CloseableIterable.class);
+        final CloseableIterator<Integer> sourceIterator = mock(CloseableIterator.class);
+        given(items.iterator()).willReturn(sourceIterator);
+        given(sourceIterator.hasNext()).willReturn(true);
+        given(sourceIterator.next()).willReturn(1);
+        final CloseableIterator<Integer> iterator = new PipelinedIterable<>(items, executor, 1).iterator();
+
+        // When
+        assertTrue(iterator.hasNext());
+        iterator.close();
+
+        // Then
+        assertFalse(iterator.hasNext());
+        verify(sourceIterator, timeout(5000)).close();
+    }
+
+    @Test
+    public void shouldStopWaitingForNextItemWhenClosedByAnotherThread() throws Exception {
+        // Given
+        final CloseableIterable<Integer> items = mock(CloseableIterable.class);
+        final CloseableIterator<Integer> sourceIterator = mock(CloseableIterator.class);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        given(items.iterator()).willReturn(sourceIterator);
+        given(sourceIterator.hasNext()).willAnswer(invocation -> {
+            blocked.countDown();
+            Thread.sleep(Long.MAX_VALUE);
+            return true;
+        });
+        final CloseableIterator<Integer> iterator = new PipelinedIterable<>(items, executor, 1).iterator();
+        final Future<Boolean> hasNext = executor.submit(iterator::hasNext);
+
+        // When
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        iterator.close();
+
+        // Then
+        assertFalse(hasNext.get(5, TimeUnit.SECONDS));
+        verify(sourceIterator, timeout(5000)).close();
+    }
+
+    @Test
+    public void shouldReadItemsOnCallingThreadWhenExecutorRejectsProducer() {
+        // Given
+        final ExecutorService rejectingExecutor = mock(ExecutorService.class);
+        given(rejectingExecutor.submit(any(Runnable.class))).willThrow(new RejectedExecutionException());
+        final List<Integer> items = Arrays.asList(1, 2, null, 4);
+
+        // When
+        final List<Integer> result = Lists.newArrayList(new PipelinedIterable<>(items, rejectingExecutor, 1));
+
+        // Then
+        assertEquals(items, result);
+    }
+
+    @Test
+    public void shouldThrowExceptionIfQueueSizeIsLessThanOne() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new PipelinedIterable<>(Arrays.asList(1, 2), executor, 0));
+    }
+}
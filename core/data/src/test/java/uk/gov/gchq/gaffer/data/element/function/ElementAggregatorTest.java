@@ -26,7 +26,11 @@ import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
 import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperator;
 import uk.gov.gchq.koryphe.tuple.n.Tuple3;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.BinaryOperator;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -309,6 +313,41 @@ public class ElementAggregatorTest {
         assertEquals(props2, state);
     }
 
+    @Test
+    public void shouldAggregateDifferentElementsFromSeveralThreadsAtOnce() throws Exception {
+        // Given
+        final String reference = "reference1";
+        final int threads = 4;
+        final int iterations = 10000;
+        final ElementAggregator aggregator = new ElementAggregator.Builder()
+                .select(reference)
+                .execute((BinaryOperator<Integer>) (a, b) -> a + b)
+                .build();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            // When
+            final List<Future<Element>> results = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                final int start = thread * iterations;
+                results.add(executor.submit(() -> {
+                    final Element state = createEdge(reference, start);
+                    for (int i = 0; i < iterations; i++) {
+                        aggregator.apply(state, createEdge(reference, 1));
+                    }
+                    return state;
+                }));
+            }
+
+            // Then
+            for (int thread = 0; thread < threads; thread++) {
+                assertEquals(thread * iterations + iterations, results.get(thread).get().getProperty(reference));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void shouldReturnUnmodifiableComponentsWhenLocked() {
         final ElementAggregator aggregator = new ElementAggregator();
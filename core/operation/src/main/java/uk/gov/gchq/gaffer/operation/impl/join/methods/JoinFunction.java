@@ -18,12 +18,19 @@ package uk.gov.gchq.gaffer.operation.impl.join.methods;
 
 import sun.reflect.generics.reflectiveObjects.NotImplementedException;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.koryphe.tuple.MapTuple;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
 
 /**
  * Used by the Join Operation to join two Lists together.
@@ -69,6 +76,48 @@ public abstract class JoinFunction {
         return resultList;
     }
 
+    /**
+     * Joins the two inputs without materialising the results. The {@link Match}
+     * is initialised with the matching side straight away, but the keyed side
+     * is only read as the returned {@link CloseableIterable} is consumed, so
+     * the join output is never held in memory as a whole. Keys without any
+     * join results are skipped in a loop, so long runs of unmatched keys do
+     * not grow the stack.
+     *
+     * @param left     the left input
+     * @param right    the right input
+     * @param match    the match method
+     * @param matchKey the side to iterate over as keys
+     * @param flatten  true if a tuple should be produced for each match, false
+     *                 if the matches for a key should be aggregated into one tuple
+     * @return a lazily evaluated iterable of the joined tuples
+     */
+    public CloseableIterable<MapTuple> lazyJoin(final Iterable left, final Iterable right, final Match match, final MatchKey matchKey, final Boolean flatten) {
+        final String keyName; // For LEFT keyed Joins it's LEFT and vice versa for RIGHT.
+        final String matchingValuesName; // the matching values name (opposite of keyName)
+        final Iterable keys; // The key iterate over
+
+        keyName = matchKey.name();
+        if (matchKey.equals(MatchKey.LEFT)) {
+            matchingValuesName = MatchKey.RIGHT.name();
+            keys = left;
+            match.init(right);
+        } else {
+            matchingValuesName = MatchKey.LEFT.name();
+            keys = right;
+            match.init(left);
+        }
+
+        return new LazyJoinIterable(keys, keyObj -> {
+            final List matching = match.matching(keyObj);
+            if (flatten) {
+                return joinFlattened(keyObj, matching, keyName, matchingValuesName);
+            }
+            final MapTuple mapTuple = joinAggregated(keyObj, matching, keyName, matchingValuesName);
+            return null != mapTuple ? Collections.singletonList(mapTuple) : Collections.emptyList();
+        });
+    }
+
     @Deprecated
     protected List<MapTuple> join(final Iterable keys, final String keyName, final String matchingValuesName, final Match match, final Boolean flatten) {
         throw new NotImplementedException();
@@ -77,4 +126,56 @@ public abstract class JoinFunction {
     protected abstract List<MapTuple> joinFlattened(Object key, List matches, String keyName, String matchingValuesName);
 
     protected abstract MapTuple joinAggregated(Object key, List matches, String keyName, String matchingValuesName);
+
+    /**
+     * Lazily joins each key with its matches, skipping keys that produce no
+     * tuples.
+     */
+    private static final class LazyJoinIterable implements CloseableIterable<MapTuple> {
+        private final Iterable keys;
+        private final Function<Object, List<MapTuple>> joinKey;
+
+        private LazyJoinIterable(final Iterable keys, final Function<Object, List<MapTuple>> joinKey) {
+            this.keys = keys;
+            this.joinKey = joinKey;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(keys);
+        }
+
+        @Override
+        public CloseableIterator<MapTuple> iterator() {
+            final Iterator keysItr = keys.iterator();
+            return new CloseableIterator<MapTuple>() {
+                private Iterator<MapTuple> tuples = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!tuples.hasNext()) {
+                        if (!keysItr.hasNext()) {
+                            close();
+                            return false;
+                        }
+                        tuples = joinKey.apply(keysItr.next()).iterator();
+                    }
+                    return true;
+                }
+
+                @Override
+                public MapTuple next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException("Reached the end of the iterator");
+                    }
+                    return tuples.next();
+                }
+
+                @Override
+                public void close() {
+                    CloseableUtil.close(keysItr);
+                }
+            };
+        }
+    }
 }
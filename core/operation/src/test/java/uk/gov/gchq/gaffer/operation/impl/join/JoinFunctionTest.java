@@ -16,11 +16,13 @@
 
 package uk.gov.gchq.gaffer.operation.impl.join;
 
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementJoinComparator;
@@ -65,6 +67,24 @@ public abstract class JoinFunctionTest {
         testJoinFunction(new CustomMatch(), MatchKey.RIGHT, true, getExpectedRightKeyResultsFlattenedForCustomMatch());
     }
 
+    @Test
+    public void shouldProduceTheSameResultsWhenJoiningLazily() {
+        testLazyJoinFunction(new ElementMatch(), MatchKey.LEFT, false, getExpectedLeftKeyResultsForElementMatch());
+        testLazyJoinFunction(new CustomMatch(), MatchKey.RIGHT, false, getExpectedRightKeyResultsForCustomMatch());
+        testLazyJoinFunction(new ElementMatch(), MatchKey.RIGHT, true, getExpectedRightKeyResultsFlattenedForElementMatch());
+        testLazyJoinFunction(new CustomMatch(), MatchKey.LEFT, true, getExpectedLeftKeyResultsFlattenedForCustomMatch());
+    }
+
+    private void testLazyJoinFunction(final Match match, final MatchKey matchKey, final boolean flatten, List<MapTuple> expectedOutput) {
+        if (null == getJoinFunction()) {
+            throw new RuntimeException("No JoinFunction specified by the test.");
+        }
+
+        final CloseableIterable<MapTuple> result = getJoinFunction().lazyJoin(leftInput, rightInput, match, matchKey, flatten);
+
+        assertTupleListsEquality(expectedOutput, Lists.newArrayList(result));
+    }
+
     private void testJoinFunction(final Match match, final MatchKey matchKey, final boolean flatten, List<MapTuple> expectedOutput) {
         if (null == getJoinFunction()) {
             throw new RuntimeException("No JoinFunction specified by the test.");
@@ -17,15 +17,59 @@
 package uk.gov.gchq.gaffer.operation.impl.join.methods;
 
 import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.operation.impl.join.JoinFunctionTest;
+import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
+import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.koryphe.tuple.MapTuple;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 public class InnerJoinTest extends JoinFunctionTest {
+    private static final int UNMATCHED_KEYS = 100000;
+
+    @Test
+    public void shouldLazilyJoinLongRunOfUnmatchedKeys() {
+        for (final boolean flatten : Arrays.asList(false, true)) {
+            // Given
+            final List<Integer> left = new ArrayList<>();
+            for (int i = 0; i < UNMATCHED_KEYS; i++) {
+                left.add(i);
+            }
+            left.add(-1);
+
+            // When
+            final List<MapTuple> results = Lists.newArrayList(
+                    getJoinFunction().lazyJoin(left, Collections.singletonList(-1), new EqualsMatch(), MatchKey.LEFT, flatten));
+
+            // Then
+            assertEquals(1, results.size());
+            assertEquals(-1, results.get(0).get(MatchKey.LEFT.name()));
+        }
+    }
+
+    @Test
+    public void shouldJoinLongRunOfUnmatchedKeys() {
+        // Given
+        final List<Integer> left = new ArrayList<>();
+        for (int i = 0; i < UNMATCHED_KEYS; i++) {
+            left.add(i);
+        }
+
+        // When
+        final List<MapTuple> results = getJoinFunction().join(left, Collections.singletonList(-1), new EqualsMatch(), MatchKey.LEFT, false);
+
+        // Then
+        assertTrue(results.isEmpty());
+    }
+
     @Override
     protected List<MapTuple> getExpectedLeftKeyResultsForElementMatch() {
         return Arrays.asList(
@@ -117,4 +161,24 @@ public class InnerJoinTest extends JoinFunctionTest {
     protected JoinFunction getJoinFunction() {
         return new InnerJoin();
     }
+
+    private static class EqualsMatch implements Match {
+        private Iterable matchCandidates;
+
+        @Override
+        public void init(final Iterable matchCandidates) {
+            this.matchCandidates = matchCandidates;
+        }
+
+        @Override
+        public List matching(final Object testObject) {
+            final List matches = new ArrayList<>();
+            for (final Object candidate : matchCandidates) {
+                if (candidate.equals(testObject)) {
+                    matches.add(candidate);
+                }
+            }
+            return matches;
+        }
+    }
 }
@@ -129,6 +129,67 @@ public final class CompactRawSerialisationUtils {
         }
     }
 
+    /**
+     * Writes a long into the provided byte array, starting at the given offset. The array must have
+     * at least {@link CompactRawSerialisationUtils#getVIntSize(long)} bytes available from the offset.
+     * NB: This code is very similar to the code in the {@link CompactRawSerialisationUtils#write(long, OutputStream)}
+     * method. It allows a caller that knows the total size of its output to write straight into an array
+     * of that size rather than into a ByteArrayOutputStream that then has to be copied.
+     *
+     * @param l      The long to write.
+     * @param bytes  The byte array to write the long into.
+     * @param offset The position in the array to write the first byte.
+     * @return The number of bytes written.
+     */
+    public static int write(final long l, final byte[] bytes, final int offset) {
+        long value = l;
+        if (value >= -112 && value <= 127) {
+            bytes[offset] = (byte) value;
+            return 1;
+        }
+        int len = -112;
+        if (value < 0) {
+            value ^= -1L; // take one's complement'
+            len = -120;
+        }
+        long tmp = value;
+        while (tmp != 0) {
+            tmp = tmp >> 8;
+            len--;
+        }
+        bytes[offset] = (byte) len;
+        int place = offset + 1;
+        len = (len < -120) ? -(len + 120) : -(len + 112);
+        for (int idx = len; idx != 0; idx--) {
+            final int shiftBits = (idx - 1) * 8;
+            final long mask = 0xFFL << shiftBits;
+            bytes[place++] = (byte) ((value & mask) >> shiftBits);
+        }
+        return place - offset;
+    }
+
+    /**
+     * Gets the number of bytes needed to write a long using this compact encoding.
+     *
+     * @param l The long to be written.
+     * @return The number of bytes that will be written.
+     */
+    public static int getVIntSize(final long l) {
+        long value = l;
+        if (value >= -112 && value <= 127) {
+            return 1;
+        }
+        if (value < 0) {
+            value ^= -1L; // take one's complement'
+        }
+        int size = 1;
+        while (value != 0) {
+            value = value >> 8;
+            size++;
+        }
+        return size;
+    }
+
     /**
      * Reads a long from the provided {@link InputStream}. This requires the long to have been written
      * by {@link CompactRawSerialisationUtils#write(long, OutputStream)}.
@@ -17,9 +17,12 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils.decodeVIntSize;
+import static uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils.getVIntSize;
+import static uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils.write;
 import static uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils.writeLong;
 
 public class CompactRawSerialisationUtilsTest {
@@ -64,5 +67,24 @@ public class CompactRawSerialisationUtilsTest {
         assertEquals(bytesUpper.length, decodeVIntSize(bytesUpper[0]));
     }
 
+    @Test
+    public void shouldWriteLongIntoByteArrayTheSameAsWriteLong() throws Exception {
+        final long[] values = {0, 1, -1, -112, -113, 127, 128, 255, 256, 65536, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (final long value : values) {
+            // Given
+            final byte[] expected = writeLong(value);
+            final byte[] bytes = new byte[expected.length + 2];
+
+            // When
+            final int numBytesWritten = write(value, bytes, 1);
 
+            // Then
+            assertEquals(expected.length, numBytesWritten);
+            assertEquals(expected.length, getVIntSize(value));
+            final byte[] written = new byte[numBytesWritten];
+            System.arraycopy(bytes, 1, written, 0, numBytesWritten);
+            assertArrayEquals(expected, written);
+            assertEquals(value, CompactRawSerialisationUtils.readLong(bytes, 1));
+        }
+    }
 }
@@ -176,6 +176,10 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.StreamSupport;
 
 import static java.util.Collections.unmodifiableList;
@@ -224,6 +228,11 @@ public abstract class Store {
 
     private boolean jobsRescheduled;
 
+    /**
+     * The executor used to run the producers of pipelined operation chains.
+     */
+    private ThreadPoolExecutor pipelineExecutor;
+
     public Store() {
         this(true);
     }
@@ -284,6 +293,7 @@ public abstract class Store {
         validateSchemas();
         addOpHandlers();
         addExecutorService(properties);
+        addPipelineExecutor(properties);
 
         if (properties.getJobTrackerEnabled() && !jobsRescheduled) {
             try (final CloseableIterable<JobDetail> scheduledJobs = this.jobTracker.getAllScheduledJobs()) {
@@ -564,6 +574,17 @@ public abstract class Store {
                 ExecutorService.getService() : null;
     }
 
+    /**
+     * Gets the executor used to run the producers of pipelined operation
+     * chains. When all of its threads are busy further producers are rejected
+     * and their items are read on the calling thread instead.
+     *
+     * @return the pipeline executor, or null if pipelining is disabled.
+     */
+    public ThreadPoolExecutor getPipelineExecutor() {
+        return pipelineExecutor;
+    }
+
     public JobTracker getJobTracker() {
         return jobTracker;
     }
@@ -964,6 +985,23 @@ public abstract class Store {
         ExecutorService.initialise(properties.getJobExecutorThreadCount());
     }
 
+    private void addPipelineExecutor(final StoreProperties properties) {
+        if (null != pipelineExecutor) {
+            pipelineExecutor.shutdownNow();
+            pipelineExecutor = null;
+        }
+
+        final int threads = properties.getOperationChainPipelineThreads();
+        if (threads > 0) {
+            final AtomicInteger threadCount = new AtomicInteger();
+            pipelineExecutor = new ThreadPoolExecutor(0, threads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                final Thread thread = new Thread(runnable, "operation-chain-pipeline-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
     private void addOpHandlers() {
         if (addCoreOpHandlers) {
             addCoreOpHandlers();
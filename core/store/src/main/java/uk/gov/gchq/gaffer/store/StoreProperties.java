@@ -71,6 +71,14 @@ public class StoreProperties implements Cloneable {
     public static final String EXECUTOR_SERVICE_THREAD_COUNT = "gaffer.store.job.executor.threads";
     public static final String EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT = "50";
 
+    /**
+     * The maximum number of threads used to run pipelined operation chains.
+     * If set to 0 pipelining is disabled and operation chains are always
+     * executed on the calling thread.
+     */
+    public static final String OPERATION_CHAIN_PIPELINE_THREADS = "gaffer.store.operation.chain.pipeline.threads";
+    public static final String OPERATION_CHAIN_PIPELINE_THREADS_DEFAULT = "10";
+
     public static final String JSON_SERIALISER_CLASS = JSONSerialiser.JSON_SERIALISER_CLASS_KEY;
     public static final String JSON_SERIALISER_MODULES = JSONSerialiser.JSON_SERIALISER_MODULES;
     public static final String STRICT_JSON = JSONSerialiser.STRICT_JSON;
@@ -408,6 +416,14 @@ public class StoreProperties implements Cloneable {
         return Integer.parseInt(get(EXECUTOR_SERVICE_THREAD_COUNT, EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT));
     }
 
+    public Integer getOperationChainPipelineThreads() {
+        return Integer.parseInt(get(OPERATION_CHAIN_PIPELINE_THREADS, OPERATION_CHAIN_PIPELINE_THREADS_DEFAULT));
+    }
+
+    public void setOperationChainPipelineThreads(final Integer threads) {
+        set(OPERATION_CHAIN_PIPELINE_THREADS, threads.toString());
+    }
+
     public void addOperationDeclarationPaths(final String... newPaths) {
         final String newPathsCsv = StringUtils.join(newPaths, ",");
         String combinedPaths = getOperationDeclarationPaths();
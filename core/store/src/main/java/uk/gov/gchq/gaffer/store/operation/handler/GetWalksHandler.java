@@ -18,9 +18,13 @@ package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.google.common.collect.Lists;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.commonutil.iterable.PipelinedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
@@ -46,12 +50,17 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.koryphe.impl.function.IterableFunction;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
 
 /**
  * An operation handler for {@link GetWalks} operations.
@@ -82,12 +91,27 @@ import java.util.stream.Collectors;
  * operationDeclarations.json file in order to limit the maximum number of hops
  * permitted or to enable/disable the pruning feature.
  * <p>
+ * The frontier of each hop is deduplicated before it is sent to the store.
+ * Two further settings control how the frontier is executed: <ul>
+ * <li>batchSize - split the frontier into batches of this many seeds, each
+ * of which is executed as a separate operation.</li> <li>parallelism - the
+ * number of batches to execute concurrently.</li> </ul> By default the whole
+ * frontier is executed in a single operation. Concurrent batches are read on
+ * the store's pipeline executor, see {@link Store#getPipelineExecutor()}, and
+ * are executed in turn if pipelining is disabled. The results limit applies
+ * to the combined results of all the batches in a hop.
+ * <p>
+ * The {@link Walk}s are built lazily, using an iterative depth-first search,
+ * as the results are consumed.
+ * <p>
  * Currently the handler only supports creating {@link Walk}s which contain
  * {@link Edge}s.
  */
 public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterable<Walk>> {
     private Integer maxHops = null;
     private boolean prune = true;
+    private Integer batchSize = null;
+    private int parallelism = 1;
 
     @Override
     public Iterable<Walk> doOperation(final GetWalks getWalks, final Context context, final Store store) throws OperationException {
@@ -118,7 +142,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         final AdjacencyMaps adjacencyMaps = prune && !getWalks.isIncludePartial() ? new PrunedAdjacencyMaps() : new SimpleAdjacencyMaps();
         final EntityMaps entityMaps = new SimpleEntityMaps();
 
-        List<?> seeds = originalInput;
+        Collection<?> seeds = originalInput;
 
         // Execute the operations
         for (final OperationChain<Iterable<Element>> operation : getWalks.getOperations()) {
@@ -144,9 +168,9 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         final GraphWindow graphWindow = new GraphWindow(adjacencyMaps, entityMaps);
 
         // Track/recombine the edge objects and convert to return type
-        return Streams.toStream(originalInput)
-                .flatMap(seed -> walk(seed.getVertex(), null, graphWindow, new LinkedList<>(), new LinkedList<>(), hops, getWalks.isIncludePartial()).stream())
-                .collect(Collectors.toList());
+        final boolean includePartial = getWalks.isIncludePartial();
+        final Iterable<Walk> walks = () -> new WalkIterator(originalInput.iterator(), graphWindow, hops, includePartial);
+        return new WrappedCloseableIterable<>(walks);
     }
 
     public Integer getMaxHops() {
@@ -165,20 +189,36 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         this.prune = prune;
     }
 
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(final int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     private boolean isWhileOperation(final OperationChain<Iterable<Element>> operation) {
         return 1 == operation.getOperations().size()
                 && operation.getOperations().get(0) instanceof While;
     }
 
-    private List<?> executeWhileOperation(final OperationChain<Iterable<Element>> operation,
-                                          final List<?> seeds,
-                                          final Integer resultLimit,
-                                          final Context context,
-                                          final Store store,
-                                          final int hops,
-                                          final AdjacencyMaps adjacencyMaps,
-                                          final EntityMaps entityMaps) throws OperationException {
-        List<?> resultSeeds = seeds;
+    private Collection<?> executeWhileOperation(final OperationChain<Iterable<Element>> operation,
+                                                final Collection<?> seeds,
+                                                final Integer resultLimit,
+                                                final Context context,
+                                                final Store store,
+                                                final int hops,
+                                                final AdjacencyMaps adjacencyMaps,
+                                                final EntityMaps entityMaps) throws OperationException {
+        Collection<?> resultSeeds = seeds;
         final While whileOp = (While) operation.getOperations().get(0);
         if (null != whileOp.getOperation()) {
             validateWhileOperation(whileOp);
@@ -220,20 +260,21 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         return resultSeeds;
     }
 
-    private List<?> executeOperation(final Output<Iterable<Element>> operation,
-                                     final List<?> seeds,
-                                     final Integer resultLimit,
-                                     final Context context,
-                                     final Store store,
-                                     final int hops,
-                                     final AdjacencyMaps adjacencyMaps,
-                                     final EntityMaps entityMaps) throws OperationException {
+    private Collection<?> executeOperation(final Output<Iterable<Element>> operation,
+                                           final Collection<?> seeds,
+                                           final Integer resultLimit,
+                                           final Context context,
+                                           final Store store,
+                                           final int hops,
+                                           final AdjacencyMaps adjacencyMaps,
+                                           final EntityMaps entityMaps) throws OperationException {
         final Iterable<Element> results = executeOperation(operation, seeds, resultLimit, context, store);
 
         final AdjacencyMap adjacencyMap = new AdjacencyMap();
         final EntityMap entityMap = new EntityMap();
 
-        final List<Object> nextSeeds = new ArrayList<>();
+        // Deduplicate the frontier so each vertex is only queried once
+        final Set<Object> nextSeeds = new LinkedHashSet<>();
         for (final Element e : results) {
             if (e instanceof Edge) {
                 final Edge edge = (Edge) e;
@@ -255,10 +296,45 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
     }
 
     private Iterable<Element> executeOperation(final Output<Iterable<Element>> operation,
-                                               final List<?> seeds,
+                                               final Collection<?> seeds,
                                                final Integer resultLimit,
                                                final Context context,
                                                final Store store) throws OperationException {
+        if (null == batchSize || seeds.size() <= batchSize) {
+            return executeBatch(operation, seeds, resultLimit, context, store);
+        }
+
+        final List<List<Object>> batches = Lists.partition(new ArrayList<>(seeds), batchSize);
+        final ExecutorService executor = parallelism > 1 ? store.getPipelineExecutor() : null;
+        final List<Iterable<Element>> batchResults = new ArrayList<>(batches.size());
+        for (final List<Object> batch : batches) {
+            final Output<Iterable<Element>> batchOperation = (Output<Iterable<Element>>) operation.shallowClone();
+            if (null == executor) {
+                batchResults.add(executeBatch(batchOperation, batch, resultLimit, context, store));
+            } else {
+                // Execute the batch on the producer thread, when it is started
+                final Iterable<Element> batchResult = () -> {
+                    try {
+                        return executeBatch(batchOperation, batch, resultLimit, context, store).iterator();
+                    } catch (final OperationException e) {
+                        throw new RuntimeException("Failed to execute GetWalks batch: " + e.getMessage(), e);
+                    }
+                };
+                batchResults.add(new PipelinedIterable<>(batchResult, executor, OperationChainHandler.PIPELINE_QUEUE_SIZE_DEFAULT));
+            }
+        }
+
+        final Iterable<Element> results = null == executor
+                ? new ChainedIterable<Element>(batchResults.toArray(new Iterable[batchResults.size()]))
+                : () -> new ReadAheadIterator(batchResults.iterator(), parallelism);
+        return new LimitedCloseableIterable<>(results, 0, resultLimit, false);
+    }
+
+    private Iterable<Element> executeBatch(final Output<Iterable<Element>> operation,
+                                           final Collection<?> seeds,
+                                           final Integer resultLimit,
+                                           final Context context,
+                                           final Store store) throws OperationException {
 
         final Output<Iterable<Element>> convertedOp = new OperationChain.Builder()
                 .first(new ToEntitySeeds.Builder()
@@ -272,59 +348,158 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         return new LimitedCloseableIterable<>(store.execute(convertedOp, context), 0, resultLimit, false);
     }
 
-    private List<Walk> walk(final Object curr, final Object prev, final GraphWindow graphWindow, final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue, final int hops, final boolean includePartial) {
-        final List<Walk> walks = new ArrayList<>();
+    private Walk buildWalk(final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue) {
+        final Walk.Builder builder = new Walk.Builder();
 
-        if (null != prev && hops != edgeQueue.size()) {
-            edgeQueue.offer(graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getEdges(prev, curr));
+        final Iterator<Set<Edge>> edgeIterator = edgeQueue.iterator();
+        final Iterator<Set<Entity>> entityIterator = entityQueue.iterator();
+
+        while (edgeIterator.hasNext() || entityIterator.hasNext()) {
+            if (entityIterator.hasNext()) {
+                builder.entities(entityIterator.next());
+            }
+            if (edgeIterator.hasNext()) {
+                builder.edges(edgeIterator.next());
+            }
         }
 
-        entityQueue.offer(graphWindow.getEntityMaps().get(entityQueue.size()).get(curr));
-
-        if (hops == edgeQueue.size()) {
-            final Walk walk = buildWalk(edgeQueue, entityQueue);
-            walks.add(walk);
-        } else {
-            final Set<Object> dests = graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getDestinations(curr);
-            if (dests.isEmpty()) {
-                if (includePartial) {
-                    final Walk walk = buildWalk(edgeQueue, entityQueue);
-                    walks.add(walk);
-                }
-            } else {
-                for (final Object obj : dests) {
-                    walks.addAll(walk(obj, curr, graphWindow, edgeQueue, entityQueue, hops, includePartial));
+        return builder.build();
+    }
+
+    /**
+     * Chains the results of the batches of a hop in order, whilst starting up
+     * to {@code readAhead} batches ahead so they are executed concurrently.
+     */
+    private static final class ReadAheadIterator implements CloseableIterator<Element> {
+        private final Iterator<Iterable<Element>> batches;
+        private final int readAhead;
+        private final Deque<Iterator<Element>> started = new ArrayDeque<>();
+
+        private ReadAheadIterator(final Iterator<Iterable<Element>> batches, final int readAhead) {
+            this.batches = batches;
+            this.readAhead = readAhead;
+        }
+
+        @Override
+        public boolean hasNext() {
+            startBatches();
+            while (!started.isEmpty()) {
+                if (started.peek().hasNext()) {
+                    return true;
                 }
+                CloseableUtil.close(started.poll());
+                startBatches();
             }
+            return false;
         }
 
-        if (!edgeQueue.isEmpty()) {
-            edgeQueue.pollLast();
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return started.peek().next();
         }
 
-        if (!entityQueue.isEmpty()) {
-            entityQueue.pollLast();
+        @Override
+        public void close() {
+            while (!started.isEmpty()) {
+                CloseableUtil.close(started.poll());
+            }
         }
 
-        return walks;
+        private void startBatches() {
+            while (started.size() < readAhead && batches.hasNext()) {
+                started.add(batches.next().iterator());
+            }
+        }
     }
 
-    private Walk buildWalk(final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue) {
-        final Walk.Builder builder = new Walk.Builder();
+    /**
+     * Builds the {@link Walk}s from each seed using an iterative depth-first
+     * search, so walks are only built as they are consumed.
+     */
+    private final class WalkIterator implements Iterator<Walk> {
+        private final Iterator<EntityId> seeds;
+        private final GraphWindow graphWindow;
+        private final int hops;
+        private final boolean includePartial;
+        private final LinkedList<Set<Edge>> edgeQueue = new LinkedList<>();
+        private final LinkedList<Set<Entity>> entityQueue = new LinkedList<>();
+        private final Deque<Object> path = new ArrayDeque<>();
+        private final Deque<Iterator<Object>> destinations = new ArrayDeque<>();
+        private Walk next;
+
+        private WalkIterator(final Iterator<EntityId> seeds, final GraphWindow graphWindow, final int hops, final boolean includePartial) {
+            this.seeds = seeds;
+            this.graphWindow = graphWindow;
+            this.hops = hops;
+            this.includePartial = includePartial;
+        }
 
-        final Iterator<Set<Edge>> edgeIterator = edgeQueue.iterator();
-        final Iterator<Set<Entity>> entityIterator = entityQueue.iterator();
+        @Override
+        public boolean hasNext() {
+            while (null == next) {
+                if (destinations.isEmpty()) {
+                    if (!seeds.hasNext()) {
+                        return false;
+                    }
+                    visit(seeds.next().getVertex(), null);
+                } else if (destinations.peek().hasNext()) {
+                    visit(destinations.peek().next(), path.peek());
+                } else {
+                    destinations.pop();
+                    path.pop();
+                    leave();
+                }
+            }
+            return true;
+        }
 
-        while (edgeIterator.hasNext() || entityIterator.hasNext()) {
-            if (entityIterator.hasNext()) {
-                builder.entities(entityIterator.next());
+        @Override
+        public Walk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
-            if (edgeIterator.hasNext()) {
-                builder.edges(edgeIterator.next());
+
+            final Walk walk = next;
+            next = null;
+            return walk;
+        }
+
+        private void visit(final Object curr, final Object prev) {
+            if (null != prev) {
+                edgeQueue.offer(graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getEdges(prev, curr));
+            }
+
+            entityQueue.offer(graphWindow.getEntityMaps().get(entityQueue.size()).get(curr));
+
+            if (hops == edgeQueue.size()) {
+                next = buildWalk(edgeQueue, entityQueue);
+                leave();
+            } else {
+                final Set<Object> dests = graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getDestinations(curr);
+                if (dests.isEmpty()) {
+                    if (includePartial) {
+                        next = buildWalk(edgeQueue, entityQueue);
+                    }
+                    leave();
+                } else {
+                    path.push(curr);
+                    destinations.push(dests.iterator());
+                }
             }
         }
 
-        return builder.build();
+        private void leave() {
+            if (!edgeQueue.isEmpty()) {
+                edgeQueue.pollLast();
+            }
+
+            if (!entityQueue.isEmpty()) {
+                entityQueue.pollLast();
+            }
+        }
     }
 
     private void validateWhileOperation(final While whileOp) {
@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.PipelinedIterable;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -25,14 +26,30 @@ import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
 import uk.gov.gchq.koryphe.ValidationResult;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * A {@code OperationChainHandler} handles {@link OperationChain}s.
+ * <p>
+ * By default the operations are executed one after another. If the
+ * {@link #PIPELINE} option is set to true on the chain, each lazy iterable
+ * result that is passed into the next operation is read on a separate thread
+ * into a bounded queue, the size of which can be set using the
+ * {@link #PIPELINE_QUEUE_SIZE} option. Each stage of the chain can then
+ * produce its results whilst the following stages are processing them.
+ * The stages are read using the store's pipeline executor, which is sized by
+ * {@link uk.gov.gchq.gaffer.store.StoreProperties#OPERATION_CHAIN_PIPELINE_THREADS}.
+ * If the store has pipelining disabled the option is ignored.
  *
  * @param <OUT> the output type of the operation chain
  */
 public class OperationChainHandler<OUT> implements OutputOperationHandler<OperationChain<OUT>, OUT> {
+    public static final String PIPELINE = "gaffer.operation.chain.pipeline";
+    public static final String PIPELINE_QUEUE_SIZE = "gaffer.operation.chain.pipeline.queue.size";
+    public static final int PIPELINE_QUEUE_SIZE_DEFAULT = 1000;
+
     private final OperationChainValidator opChainValidator;
     private final List<OperationChainOptimiser> opChainOptimisers;
 
@@ -41,8 +58,14 @@ public class OperationChainHandler<OUT> implements OutputOperationHandler<Operat
 
         final OperationChain<OUT> preparedOperationChain = prepareOperationChain(operationChain, context, store);
 
+        final ExecutorService pipelineExecutor = Boolean.parseBoolean(operationChain.getOption(PIPELINE)) ? store.getPipelineExecutor() : null;
+        final int queueSize = null != pipelineExecutor ? getPipelineQueueSize(operationChain) : 0;
+
         Object result = null;
         for (final Operation op : preparedOperationChain.getOperations()) {
+            if (null != pipelineExecutor && result instanceof Iterable && !(result instanceof Collection)) {
+                result = new PipelinedIterable<>((Iterable<?>) result, pipelineExecutor, queueSize);
+            }
             updateOperationInput(op, result);
             result = store.handleOperation(op, context);
         }
@@ -92,6 +115,19 @@ public class OperationChainHandler<OUT> implements OutputOperationHandler<Operat
         }
     }
 
+    private int getPipelineQueueSize(final OperationChain<?> operationChain) {
+        final String queueSize = operationChain.getOption(PIPELINE_QUEUE_SIZE);
+        if (null == queueSize) {
+            return PIPELINE_QUEUE_SIZE_DEFAULT;
+        }
+
+        try {
+            return Integer.parseInt(queueSize);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for option " + PIPELINE_QUEUE_SIZE + ": " + queueSize, e);
+        }
+    }
+
     protected OperationChainValidator getOpChainValidator() {
         return opChainValidator;
     }
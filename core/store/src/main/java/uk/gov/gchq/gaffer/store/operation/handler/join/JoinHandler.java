@@ -34,7 +34,22 @@ import java.util.ArrayList;
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.getResultsOrNull;
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.updateOperationInput;
 
+/**
+ * A {@code JoinHandler} handles the {@link Join} operation.
+ * <p>
+ * By default the joined results are collected into a list before they are
+ * returned. If {@code lazyResults} is set to true the results are instead
+ * returned as an iterable which performs the join as it is consumed, so
+ * operations further down the chain can process the output without it all
+ * being held in memory. In this mode, if the keyed side of the join exceeds
+ * the collectionLimit, the {@link LimitExceededException} is thrown whilst
+ * the results are being consumed.
+ *
+ * @param <I> the input type
+ */
 public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<? extends MapTuple>> {
+    private boolean lazyResults = false;
+
     @Override
     public Iterable<? extends MapTuple> doOperation(final Join<I> operation, final Context context, final Store store) throws OperationException {
         final int limit = operation.getCollectionLimit() != null ? operation.getCollectionLimit() : 100000;
@@ -76,10 +91,21 @@ public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<
         try {
             limitedLeftIterable = new LimitedCloseableIterable(operation.getInput(), 0, limit, false);
             limitedRightIterable = new LimitedCloseableIterable(rightIterable, 0, limit, false);
+            if (lazyResults) {
+                return joinFunction.lazyJoin(limitedLeftIterable, limitedRightIterable, operation.getMatchMethod(), matchKey, operation.isFlatten());
+            }
             return joinFunction.join(limitedLeftIterable, limitedRightIterable, operation.getMatchMethod(), matchKey, operation.isFlatten());
         } catch (final LimitExceededException e) {
             throw new OperationException("Join exceeded the collectionLimit, a solution is to increasing collectionLimit value in the join operation.", e);
         }
 
     }
+
+    public boolean isLazyResults() {
+        return lazyResults;
+    }
+
+    public void setLazyResults(final boolean lazyResults) {
+        this.lazyResults = lazyResults;
+    }
 }
@@ -16,20 +16,31 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.join.match;
 
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementJoinComparator;
 import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Tests for matches for Elements within a Join Operation, groupBy properties can be optionally specified.
+ * <p>
+ * The match candidates are indexed once, on initialisation, by the same
+ * identifiers and groupBy properties that the {@link ElementJoinComparator}
+ * compares, so each call to {@link #matching(Object)} is a single hash lookup
+ * rather than a scan over all of the candidates.
  */
 public class ElementMatch implements Match {
     private ElementJoinComparator elementJoinComparator;
     private Iterable matchCandidates;
+    private Map<List<Object>, List<Element>> keyedMatchCandidates;
 
     private static final String NULL_MATCH_CANDIDATES_ERROR_MESSAGE = "ElementMatch must be initialised with non-null match candidates";
 
@@ -47,6 +58,9 @@ public class ElementMatch implements Match {
 
     public void setElementGroupByProperties(final Set<String> groupByProperties) {
         elementJoinComparator.setGroupByProperties(groupByProperties);
+        if (null != matchCandidates) {
+            index();
+        }
     }
 
     @Override
@@ -55,6 +69,7 @@ public class ElementMatch implements Match {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
         this.matchCandidates = matchCandidates;
+        index();
     }
 
     @Override
@@ -63,14 +78,48 @@ public class ElementMatch implements Match {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
 
-        List matches = new ArrayList<>();
-
+        final List<Element> candidates = keyedMatchCandidates.getOrDefault(createKey((Element) testObject), Collections.emptyList());
+        final List matches = new ArrayList<>(candidates.size());
+        for (final Element candidate : candidates) {
+            matches.add(candidate.shallowClone());
+        }
+        return matches;
+    }
 
+    private void index() {
+        keyedMatchCandidates = new HashMap<>();
         for (final Object entry : matchCandidates) {
-            if (elementJoinComparator.test((Element) entry, (Element) testObject)) {
-                matches.add(((Element) entry).shallowClone());
-            }
+            keyedMatchCandidates.computeIfAbsent(createKey((Element) entry), k -> new ArrayList<>())
+                    .add((Element) entry);
         }
-        return matches;
+    }
+
+    /**
+     * Creates a key which is equal for two elements exactly when the
+     * {@link ElementJoinComparator} considers them to match.
+     *
+     * @param element the element to create the key for
+     * @return the key
+     */
+    private List<Object> createKey(final Element element) {
+        if (null == element) {
+            return Collections.singletonList(null);
+        }
+
+        final Set<String> groupByProperties = elementJoinComparator.getGroupByProperties();
+        final List<Object> key = new ArrayList<>(5 + groupByProperties.size());
+        key.add(element.getClass());
+        key.add(element.getGroup());
+        if (element instanceof Entity) {
+            key.add(((Entity) element).getVertex());
+        } else {
+            key.add(((Edge) element).getSource());
+            key.add(((Edge) element).getDestination());
+            key.add(((Edge) element).getDirectedType());
+        }
+        for (final String property : groupByProperties) {
+            key.add(element.getProperty(property));
+        }
+        return key;
     }
 }
@@ -62,15 +62,12 @@ public class KeyFunctionMatch implements Match {
         if (matchCandidates == null) {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
-        // Iterates over match candidates, creates an index using second key function.
+        // Iterates over match candidates once, creating an index using the second key function.
+        // Any index from a previous initialisation is discarded.
+        keyedMatchCandidates = new HashMap<>();
         for (final Object matchCandidate : matchCandidates) {
-            Object key = secondKeyFunction.apply(matchCandidate);
-            List list = keyedMatchCandidates.get(key);
-            if (list == null) {
-                list = new ArrayList();
-            }
-            list.add(matchCandidate);
-            keyedMatchCandidates.put(key, list);
+            keyedMatchCandidates.computeIfAbsent(secondKeyFunction.apply(matchCandidate), k -> new ArrayList())
+                    .add(matchCandidate);
         }
 
     }
@@ -91,7 +91,7 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
 
     protected ElementAggregator fullAggregatorCache;
 
-    protected ElementAggregator ingestAggregatorCache;
+    protected volatile ElementAggregator ingestAggregatorCache;
 
     protected final Map<Set<String>, ElementAggregator> queryAggregatorCacheMap = new HashMap<>();
 
@@ -237,28 +237,30 @@ public abstract class SchemaElementDefinition implements ElementDefinition {
         if (null == ingestAggregatorCache) {
             // NB Need to check if ingestAggregatorCache is null again as there may be two calls to createIngestAggregator
             // in sequence and we don't want to repeat the work of creating the aggregator
-            ingestAggregatorCache = new ElementAggregator();
+            // The aggregator is only published once it is complete, as it may be read without the lock
+            final ElementAggregator ingestAggregator = new ElementAggregator();
             if (aggregate) {
                 final Set<String> aggregatorProperties = getAggregatorProperties();
                 if (null != aggregator) {
                     for (final TupleAdaptedBinaryOperator<String, ?> component : aggregator.getComponents()) {
                         final String[] selection = component.getSelection();
                         if (selection.length == 1 && !groupBy.contains(selection[0]) && !selection[0].equals(schemaReference.getVisibilityProperty())) {
-                            ingestAggregatorCache.getComponents().add(component);
+                            ingestAggregator.getComponents().add(component);
                         } else if (!CollectionUtil.containsAny(groupBy, selection)) {
-                            ingestAggregatorCache.getComponents().add(component);
+                            ingestAggregator.getComponents().add(component);
                         }
                     }
                 }
                 for (final Entry<String, String> entry : getPropertyMap().entrySet()) {
                     if (!aggregatorProperties.contains(entry.getKey())) {
                         if (!groupBy.contains(entry.getKey()) && !entry.getKey().equals(schemaReference.getVisibilityProperty())) {
-                            addTypeAggregateFunction(ingestAggregatorCache, entry.getKey(), entry.getValue());
+                            addTypeAggregateFunction(ingestAggregator, entry.getKey(), entry.getValue());
                         }
                     }
                 }
             }
-            ingestAggregatorCache.lock();
+            ingestAggregator.lock();
+            ingestAggregatorCache = ingestAggregator;
         }
     }
 
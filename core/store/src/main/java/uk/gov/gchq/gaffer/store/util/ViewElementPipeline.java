@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A compiled form of the filters and transformers in a {@link View}, for
+ * stores that filter and transform elements in memory.
+ * <p>
+ * The {@link ViewElementDefinition} for each group is resolved once, when the
+ * pipeline is created, and the pre and post aggregation filters are fused
+ * into a single check. Applying the pipeline to an element is then a single
+ * lookup on the element group, and elements in groups that are not in the
+ * view are filtered out. No aggregation is applied between the filters.
+ * <p>
+ * A pipeline shares the filter and transformer instances of the view it was
+ * compiled from, so like them it is not thread safe. Compile a pipeline for
+ * each thread, from its own copy of the view, rather than sharing one.
+ */
+public final class ViewElementPipeline {
+    private final Map<String, GroupPipeline> groupPipelines = new HashMap<>();
+
+    private ViewElementPipeline(final View view) {
+        for (final String group : view.getGroups()) {
+            groupPipelines.put(group, new GroupPipeline(view.getElement(group)));
+        }
+    }
+
+    /**
+     * Compiles a pipeline for the provided view. The pipeline reflects the
+     * view as it is when this is called.
+     *
+     * @param view the view to compile
+     * @return the pipeline for the view
+     */
+    public static ViewElementPipeline of(final View view) {
+        if (null == view) {
+            throw new IllegalArgumentException("View is required");
+        }
+
+        return new ViewElementPipeline(view);
+    }
+
+    /**
+     * Applies the pipeline to a single element.
+     *
+     * @param element the element to filter and transform
+     * @return the transformed element, or null if the element was filtered out
+     */
+    public Element apply(final Element element) {
+        final GroupPipeline groupPipeline = groupPipelines.get(element.getGroup());
+        if (null == groupPipeline) {
+            return null;
+        }
+
+        return groupPipeline.apply(element);
+    }
+
+    /**
+     * Applies the pipeline to a stream of elements.
+     *
+     * @param elements the elements to filter and transform
+     * @return the elements that passed the filters, after they have been transformed
+     */
+    public Stream<Element> apply(final Stream<Element> elements) {
+        return elements.map(this::apply)
+                .filter(e -> null != e);
+    }
+
+    private static final class GroupPipeline {
+        private final ElementFilter preAggregationFilter;
+        private final ElementFilter postAggregationFilter;
+        private final ElementTransformer transformer;
+        private final ElementFilter postTransformFilter;
+
+        private GroupPipeline(final ViewElementDefinition elementDef) {
+            preAggregationFilter = elementDef.hasPreAggregationFilters() ? elementDef.getPreAggregationFilter() : null;
+            postAggregationFilter = elementDef.hasPostAggregationFilters() ? elementDef.getPostAggregationFilter() : null;
+            transformer = null != elementDef.getTransformer() && !elementDef.getTransformer().getComponents().isEmpty()
+                    ? elementDef.getTransformer() : null;
+            postTransformFilter = elementDef.hasPostTransformFilters() ? elementDef.getPostTransformFilter() : null;
+        }
+
+        private Element apply(final Element element) {
+            if ((null != preAggregationFilter && !preAggregationFilter.test(element))
+                    || (null != postAggregationFilter && !postAggregationFilter.test(element))) {
+                return null;
+            }
+
+            final Element transformed = null != transformer ? transformer.apply(element) : element;
+            if (null != postTransformFilter && !postTransformFilter.test(transformed)) {
+                return null;
+            }
+
+            return transformed;
+        }
+    }
+}
@@ -17,20 +17,49 @@
 package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.graph.Walk;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class GetWalksHandlerTest {
     @Test
@@ -54,11 +83,117 @@ public class GetWalksHandlerTest {
         assertThat(result, is(nullValue()));
     }
 
+    @Test
+    public void shouldExecuteDeduplicatedFrontierInParallelBatches() throws Exception {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context();
+        final List<Edge> edges = Arrays.asList(
+                createEdge("A", "B"),
+                createEdge("A", "C"),
+                createEdge("B", "D"),
+                createEdge("C", "D"),
+                createEdge("D", "E"));
+        given(store.execute(any(Output.class), eq(context))).willAnswer(invocation -> {
+            final OperationChain<?> chain = invocation.getArgument(0);
+            final Set<Object> seeds = Streams.toStream(((ToEntitySeeds) chain.getOperations().get(0)).getInput())
+                    .map(seed -> seed instanceof EntityId ? ((EntityId) seed).getVertex() : seed)
+                    .collect(Collectors.toSet());
+            return edges.stream()
+                    .filter(edge -> seeds.contains(edge.getSource()))
+                    .collect(Collectors.toList());
+        });
+        final GetElements getEdges = new GetElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        final GetWalks operation = new GetWalks.Builder()
+                .input(new EntitySeed("A"))
+                .operations(getEdges, getEdges.shallowClone(), getEdges.shallowClone())
+                .build();
+        final GetWalksHandler handler = new GetWalksHandler();
+        handler.setBatchSize(1);
+        handler.setParallelism(2);
+
+        // When
+        final List<Walk> walks = Lists.newArrayList(handler.doOperation(operation, context, store));
+
+        // Then
+        assertEquals(Sets.newHashSet("A,B,D,E", "A,C,D,E"), walks.stream()
+                .map(walk -> walk.getVerticesOrdered().stream().map(Object::toString).collect(Collectors.joining(",")))
+                .collect(Collectors.toSet()));
+        // 1 batch for A, 2 batches for B and C, then D is only queried once
+        verify(store, times(4)).execute(any(Output.class), eq(context));
+    }
+
+    @Test
+    public void shouldExecuteParallelBatchesOnStorePipelineExecutor() throws Exception {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(0, 2, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "get-walks-test");
+            thread.setDaemon(true);
+            return thread;
+        });
+        given(store.getPipelineExecutor()).willReturn(executor);
+        final List<Edge> edges = Arrays.asList(
+                createEdge("A", "B"),
+                createEdge("A", "C"),
+                createEdge("B", "D"),
+                createEdge("C", "D"),
+                createEdge("D", "E"));
+        final Map<Object, String> threads = new ConcurrentHashMap<>();
+        given(store.execute(any(Output.class), eq(context))).willAnswer(invocation -> {
+            final OperationChain<?> chain = invocation.getArgument(0);
+            final Set<Object> seeds = Streams.toStream(((ToEntitySeeds) chain.getOperations().get(0)).getInput())
+                    .map(seed -> seed instanceof EntityId ? ((EntityId) seed).getVertex() : seed)
+                    .collect(Collectors.toSet());
+            seeds.forEach(seed -> threads.put(seed, Thread.currentThread().getName()));
+            return edges.stream()
+                    .filter(edge -> seeds.contains(edge.getSource()))
+                    .collect(Collectors.toList());
+        });
+        final GetElements getEdges = new GetElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        final GetWalks operation = new GetWalks.Builder()
+                .input(new EntitySeed("A"))
+                .operations(getEdges, getEdges.shallowClone(), getEdges.shallowClone())
+                .build();
+        final GetWalksHandler handler = new GetWalksHandler();
+        handler.setBatchSize(1);
+        handler.setParallelism(2);
+
+        // When
+        final List<Walk> walks;
+        try {
+            walks = Lists.newArrayList(handler.doOperation(operation, context, store));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(Sets.newHashSet("A,B,D,E", "A,C,D,E"), walks.stream()
+                .map(walk -> walk.getVerticesOrdered().stream().map(Object::toString).collect(Collectors.joining(",")))
+                .collect(Collectors.toSet()));
+        // Only the hop with more than one batch is read on the executor
+        assertEquals(Thread.currentThread().getName(), threads.get("A"));
+        assertEquals("get-walks-test", threads.get("B"));
+        assertEquals("get-walks-test", threads.get("C"));
+        assertEquals(Thread.currentThread().getName(), threads.get("D"));
+    }
+
     @Test
     public void shouldSerialiseDeserialise() throws SerialisationException, JsonProcessingException {
         // Given
         final GetWalksHandler obj = new GetWalksHandler();
         obj.setPrune(true);
+        obj.setBatchSize(100);
+        obj.setParallelism(4);
 
         // When
         final byte[] json = JSONSerialiser.serialise(obj, true);
@@ -66,5 +201,17 @@ public class GetWalksHandlerTest {
 
         // Then
         assertNotNull(deserialisedObj);
+        assertEquals(100, (int) deserialisedObj.getBatchSize());
+        assertEquals(4, deserialisedObj.getParallelism());
+    }
+
+    private Edge createEdge(final String source, final String destination) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(destination)
+                .directed(true)
+                .matchedVertex(EdgeId.MatchedVertex.SOURCE)
+                .build();
     }
 }
@@ -18,6 +18,8 @@ package uk.gov.gchq.gaffer.store.operation.handler;
 
 import org.junit.jupiter.api.Test;
 
+import uk.gov.gchq.gaffer.commonutil.exception.LimitExceededException;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.join.Join;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
@@ -28,12 +30,14 @@ import uk.gov.gchq.gaffer.store.operation.handler.join.JoinHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.join.match.ElementMatch;
 import uk.gov.gchq.gaffer.store.operation.handler.join.match.KeyFunctionMatch;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.mock;
@@ -84,6 +88,52 @@ public class JoinHandlerTest {
         }
     }
 
+    @Test
+    public void shouldReturnLazyResultsWhenConfigured() throws OperationException {
+        // Given
+        final JoinHandler handler = new JoinHandler();
+        handler.setLazyResults(true);
+        final List<Integer> inputList = Arrays.asList(1, 2, 3);
+
+        final Join<Integer> joinOp = new Join.Builder<Integer>()
+                .input(inputList)
+                .joinType(JoinType.FULL)
+                .matchKey(MatchKey.LEFT)
+                .matchMethod(new KeyFunctionMatch())
+                .build();
+
+        // When
+        final Iterable<? extends MapTuple> results = handler.doOperation(joinOp, context, store);
+
+        // Then
+        assertTrue(results instanceof CloseableIterable);
+        final List<Object> leftValues = new ArrayList<>();
+        results.forEach(tuple -> leftValues.add(tuple.get(MatchKey.LEFT.name())));
+        assertEquals(inputList, leftValues);
+    }
+
+    @Test
+    public void shouldThrowLimitExceededWhenConsumingLazyResultsOverTheLimit() throws OperationException {
+        // Given
+        final JoinHandler handler = new JoinHandler();
+        handler.setLazyResults(true);
+        final List<Integer> inputList = Arrays.asList(1, 2, 3);
+
+        final Join<Integer> joinOp = new Join.Builder<Integer>()
+                .input(inputList)
+                .joinType(JoinType.FULL)
+                .matchKey(MatchKey.LEFT)
+                .matchMethod(new KeyFunctionMatch())
+                .collectionLimit(1)
+                .build();
+
+        final Iterable<? extends MapTuple> results = handler.doOperation(joinOp, context, store);
+
+        // When / Then
+        assertThrows(LimitExceededException.class, () -> results.forEach(tuple -> {
+        }));
+    }
+
     @Test
     public void shouldThrowExceptionWhenNoMatchMethodIsSpecified() {
         // Given
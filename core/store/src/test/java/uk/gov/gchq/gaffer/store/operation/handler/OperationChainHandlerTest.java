@@ -19,6 +19,7 @@ import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.PipelinedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.operation.OperationChain;
@@ -39,8 +40,13 @@ import uk.gov.gchq.koryphe.ValidationResult;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -149,4 +155,115 @@ public class OperationChainHandlerTest {
         // Then
         assertSame(entityA, result);
     }
+
+    @Test
+    public void shouldPipelineIterableResultsIntoNextOperationWhenOptionSet() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final List<OperationChainOptimiser> opChainOptimisers = Collections.emptyList();
+
+        final OperationChainHandler opChainHandler = new OperationChainHandler(opChainValidator, opChainOptimisers);
+
+        final Context context = mock(Context.class);
+        final Store store = mock(Store.class);
+        final User user = mock(User.class);
+
+        final GetAdjacentIds op1 = new GetAdjacentIds();
+        final GetElements op2 = new GetElements();
+        final OperationChain opChain = new OperationChain.Builder()
+                .first(op1)
+                .then(op2)
+                .option(OperationChainHandler.PIPELINE, "true")
+                .option(OperationChainHandler.PIPELINE_QUEUE_SIZE, "1")
+                .build();
+        final List<EntitySeed> seeds = Arrays.asList(new EntitySeed("A"), new EntitySeed("B"), new EntitySeed("C"));
+        final Entity expectedResult = new Entity(TestGroups.ENTITY);
+
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new SynchronousQueue<>());
+
+        given(context.getUser()).willReturn(user);
+        given(store.getProperties()).willReturn(new StoreProperties());
+        given(store.getPipelineExecutor()).willReturn(executor);
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+
+        given(store.handleOperation(op1, context)).willReturn(new WrappedCloseableIterable<>(seeds));
+        given(store.handleOperation(op2, context)).willReturn(expectedResult);
+
+        try {
+            // When
+            final Object result = opChainHandler.doOperation(opChain, context, store);
+
+            // Then
+            assertSame(expectedResult, result);
+            assertTrue(op2.getInput() instanceof PipelinedIterable);
+            assertEquals(seeds, Lists.newArrayList(op2.getInput()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotPipelineResultsWhenStoreHasPipeliningDisabled() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final List<OperationChainOptimiser> opChainOptimisers = Collections.emptyList();
+
+        final OperationChainHandler opChainHandler = new OperationChainHandler(opChainValidator, opChainOptimisers);
+
+        final Context context = mock(Context.class);
+        final Store store = mock(Store.class);
+        final User user = mock(User.class);
+
+        final GetAdjacentIds op1 = new GetAdjacentIds();
+        final GetElements op2 = new GetElements();
+        final OperationChain opChain = new OperationChain.Builder()
+                .first(op1)
+                .then(op2)
+                .option(OperationChainHandler.PIPELINE, "true")
+                .build();
+        final WrappedCloseableIterable<EntitySeed> seeds = new WrappedCloseableIterable<>(Collections.singletonList(new EntitySeed("A")));
+
+        given(context.getUser()).willReturn(user);
+        given(store.getProperties()).willReturn(new StoreProperties());
+        given(store.getPipelineExecutor()).willReturn(null);
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+
+        given(store.handleOperation(op1, context)).willReturn(seeds);
+
+        // When
+        opChainHandler.doOperation(opChain, context, store);
+
+        // Then
+        assertSame(seeds, op2.getInput());
+    }
+
+    @Test
+    public void shouldNotPipelineResultsByDefault() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final List<OperationChainOptimiser> opChainOptimisers = Collections.emptyList();
+
+        final OperationChainHandler opChainHandler = new OperationChainHandler(opChainValidator, opChainOptimisers);
+
+        final Context context = mock(Context.class);
+        final Store store = mock(Store.class);
+        final User user = mock(User.class);
+
+        final GetAdjacentIds op1 = new GetAdjacentIds();
+        final GetElements op2 = new GetElements();
+        final OperationChain opChain = new OperationChain(Arrays.asList(op1, op2));
+        final WrappedCloseableIterable<EntitySeed> seeds = new WrappedCloseableIterable<>(Collections.singletonList(new EntitySeed("A")));
+
+        given(context.getUser()).willReturn(user);
+        given(store.getProperties()).willReturn(new StoreProperties());
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+
+        given(store.handleOperation(op1, context)).willReturn(seeds);
+
+        // When
+        opChainHandler.doOperation(opChain, context, store);
+
+        // Then
+        assertSame(seeds, op2.getInput());
+    }
 }
@@ -16,18 +16,22 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.join.match;
 
+import com.google.common.collect.Sets;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -237,4 +241,92 @@ public class ElementMatchTest {
         // Then
         assertEquals(0, matchingElements.size());
     }
+
+    @Test
+    public void shouldMatchEdgesOnSourceDestinationAndDirection() {
+        // Given
+        Edge testEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("a")
+                .dest("b")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+
+        Edge reversedEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("b")
+                .dest("a")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+
+        Edge undirectedEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("a")
+                .dest("b")
+                .directed(false)
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+
+        List<Element> comparisonElementList = Arrays.asList(testEdge.shallowClone(), reversedEdge, undirectedEdge, new Entity(TestGroups.EDGE, "a"));
+
+        ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(comparisonElementList);
+
+        // When
+        List<Element> matchingElements = elementMatch.matching(testEdge);
+
+        // Then
+        assertEquals(Collections.singletonList(testEdge), matchingElements);
+    }
+
+    @Test
+    public void shouldUseGroupByPropertiesSetAfterInitialisation() {
+        // Given
+        Entity testEntity = new Entity.Builder()
+                .group(TestGroups.ENTITY_3)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+
+        Entity testEntity2 = new Entity.Builder()
+                .group(TestGroups.ENTITY_3)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 5L)
+                .build();
+
+        ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(Arrays.asList(testEntity.shallowClone(), testEntity2.shallowClone()));
+
+        // When
+        elementMatch.setElementGroupByProperties(Sets.newHashSet(TestPropertyNames.COUNT));
+        List<Element> matchingElements = elementMatch.matching(testEntity);
+
+        // Then
+        assertEquals(Collections.singletonList(testEntity), matchingElements);
+    }
+
+    @Test
+    public void shouldReturnCopiesOfTheMatchCandidates() {
+        // Given
+        Entity testEntity = new Entity.Builder()
+                .group(TestGroups.ENTITY_3)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+
+        Entity candidate = testEntity.shallowClone();
+
+        ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(Collections.singletonList(candidate));
+
+        // When
+        List<Element> matchingElements = elementMatch.matching(testEntity);
+
+        // Then
+        assertEquals(1, matchingElements.size());
+        assertEquals(candidate, matchingElements.get(0));
+        assertNotSame(candidate, matchingElements.get(0));
+    }
 }
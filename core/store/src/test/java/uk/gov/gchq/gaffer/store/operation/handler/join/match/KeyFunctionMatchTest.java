@@ -493,4 +493,18 @@ public class KeyFunctionMatchTest {
 
         assertEquals(expected, match.matching(testItem));
     }
+
+    @Test
+    public void shouldDiscardPreviousMatchCandidatesWhenReinitialised() {
+        // given
+        KeyFunctionMatch match = new KeyFunctionMatch();
+        match.init(Lists.newArrayList(1, 2, 3));
+
+        // when
+        match.init(Lists.newArrayList(3, 4));
+
+        // then
+        assertEquals(new ArrayList<>(), match.matching(1));
+        assertEquals(Lists.newArrayList(3), match.matching(3));
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.util;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.koryphe.impl.function.ToString;
+import uk.gov.gchq.koryphe.impl.predicate.IsLessThan;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ViewElementPipelineTest {
+    @Test
+    public void shouldFilterAndTransformElements() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .transientProperty(TestPropertyNames.TRANSIENT_1, String.class)
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.COUNT)
+                                .execute(new IsMoreThan(1))
+                                .build())
+                        .postAggregationFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.COUNT)
+                                .execute(new IsLessThan(5))
+                                .build())
+                        .transformer(new ElementTransformer.Builder()
+                                .select(TestPropertyNames.COUNT)
+                                .execute(new ToString())
+                                .project(TestPropertyNames.TRANSIENT_1)
+                                .build())
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.TRANSIENT_1)
+                                .execute(new IsLessThan("4"))
+                                .build())
+                        .build())
+                .edge(TestGroups.EDGE)
+                .build();
+        final List<Element> elements = Arrays.asList(
+                createEntity(1),
+                createEntity(2),
+                createEntity(3),
+                createEntity(4),
+                createEntity(5),
+                new Edge(TestGroups.EDGE, "a", "b", true),
+                new Edge(TestGroups.EDGE_2, "a", "b", true));
+
+        // When
+        final List<Element> results = ViewElementPipeline.of(view)
+                .apply(elements.stream())
+                .collect(Collectors.toList());
+
+        // Then
+        final Entity expected2 = createEntity(2);
+        expected2.putProperty(TestPropertyNames.TRANSIENT_1, "2");
+        final Entity expected3 = createEntity(3);
+        expected3.putProperty(TestPropertyNames.TRANSIENT_1, "3");
+        assertEquals(Arrays.asList(expected2, expected3, new Edge(TestGroups.EDGE, "a", "b", true)), results);
+    }
+
+    @Test
+    public void shouldReturnNullForElementInGroupNotInView() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .build();
+
+        // When
+        final Element result = ViewElementPipeline.of(view).apply(new Entity(TestGroups.ENTITY_2, "a"));
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    public void shouldCompileNewPipelineEachTime() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .build();
+
+        // When
+        final ViewElementPipeline pipeline = ViewElementPipeline.of(view);
+
+        // Then
+        assertNotSame(pipeline, ViewElementPipeline.of(view));
+    }
+
+    @Test
+    public void shouldThrowExceptionIfViewIsNull() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> ViewElementPipeline.of(null));
+    }
+
+    private Entity createEntity(final int count) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex" + count)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+}
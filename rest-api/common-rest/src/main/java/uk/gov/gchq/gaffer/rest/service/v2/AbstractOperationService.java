@@ -16,12 +16,16 @@
 
 package uk.gov.gchq.gaffer.rest.service.v2;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.graph.GraphRequest;
 import uk.gov.gchq.gaffer.graph.GraphResult;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -32,6 +36,9 @@ import uk.gov.gchq.gaffer.rest.model.OperationDetail;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -41,6 +48,10 @@ import java.util.Set;
  * implementations share the same code
  */
 public abstract class AbstractOperationService {
+    /**
+     * Separates the items written by {@link #writeChunkedResult(Object, OutputStream)}.
+     */
+    public static final String CHUNK_SEPARATOR = "\r\n";
 
     protected abstract UserFactory getUserFactory();
 
@@ -101,6 +112,45 @@ public abstract class AbstractOperationService {
         return new Pair<>(result.getResult(), result.getContext().getJobId());
     }
 
+    /**
+     * Writes the result of an operation to the output stream as JSON. If the
+     * result is an Iterable each item is written separately, followed by
+     * {@link #CHUNK_SEPARATOR}, and flushed so it is sent to the client before
+     * the next item is fetched. All the items are written with the same
+     * {@link JsonGenerator}. The result is closed once it has been written,
+     * or if writing stops early because the client has disconnected or the
+     * writing thread has been interrupted.
+     *
+     * @param result       the result of the operation
+     * @param outputStream the stream to write the result to
+     * @throws IOException if the result could not be written, including
+     *                     when the client has disconnected or the writing thread has been interrupted
+     */
+    protected void writeChunkedResult(final Object result, final OutputStream outputStream) throws IOException {
+        try (final JsonGenerator generator = JSONSerialiser.getMapper().getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            // The separator is written after each item instead
+            generator.setRootValueSeparator(null);
+            if (result instanceof Iterable) {
+                for (final Object item : (Iterable<?>) result) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("Stopped writing the results as the request has ended");
+                    }
+                    writeChunk(item, generator);
+                }
+            } else {
+                writeChunk(result, generator);
+            }
+        } finally {
+            CloseableUtil.close(result);
+        }
+    }
+
+    private void writeChunk(final Object item, final JsonGenerator generator) throws IOException {
+        generator.writeObject(item);
+        generator.writeRaw(CHUNK_SEPARATOR);
+        generator.flush();
+    }
+
     protected Operation generateExampleJson(final Class<? extends Operation> opClass) throws IllegalAccessException, InstantiationException {
         return getExamplesFactory().generateExample(opClass);
     }
@@ -17,13 +17,11 @@
 package uk.gov.gchq.gaffer.rest.service.v2;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.glassfish.jersey.server.ChunkedOutput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
-import uk.gov.gchq.gaffer.commonutil.exception.UnauthorisedException;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.core.exception.Error;
 import uk.gov.gchq.gaffer.core.exception.Status;
@@ -37,10 +35,10 @@ import uk.gov.gchq.gaffer.store.Context;
 
 import javax.inject.Inject;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import java.io.IOException;
 
-import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultMapper;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE;
@@ -96,72 +94,29 @@ public class OperationServiceV2 extends AbstractOperationService implements IOpe
         return executeChunkedChain(OperationChain.wrap(operation));
     }
 
-    @SuppressFBWarnings
     @Override
     public Response executeChunkedChain(final OperationChain opChain) {
-        // Create chunked output instance
-        final Throwable[] threadException = new Throwable[1];
-        final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
-        final Context context = userFactory.createContext();
+        // Execute the chain on this thread, so any errors are returned straight away
+        final Pair<Object, String> resultAndJobId;
+        try {
+            resultAndJobId = _execute(opChain, userFactory.createContext());
+        } catch (final RuntimeException e) {
+            CloseableUtil.close(opChain);
+            throw e;
+        }
 
-        // create thread to write chunks to the chunked output object
-        Thread thread = new Thread(() -> {
+        // Stream the results on the container thread as they are iterated over
+        final StreamingOutput output = outputStream -> {
             try {
-                final Object result = _execute(opChain, context).getFirst();
-                chunkResult(result, output);
-            } catch (final Exception e) {
-                throw new RuntimeException(e);
+                writeChunkedResult(resultAndJobId.getFirst(), outputStream);
             } finally {
-                CloseableUtil.close(output);
                 CloseableUtil.close(opChain);
             }
-        });
-
-        // By default threads throw nothing, so set the ExceptionHandler
-        thread.setUncaughtExceptionHandler((thread1, exception) -> threadException[0] = exception.getCause());
+        };
 
-        thread.start();
-
-        // Sleep to check exception will be caught
-        try {
-            Thread.sleep(1000);
-        } catch (final InterruptedException e) {
-            return Response.status(INTERNAL_SERVER_ERROR)
-                    .entity(new Error.ErrorBuilder()
-                            .status(Status.INTERNAL_SERVER_ERROR)
-                            .statusCode(500)
-                            .simpleMessage(e.getMessage())
-                            .build())
-                    .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                    .build();
-        }
-
-        // If there was an UnauthorisedException thrown return 403, else return a 500
-        if (null != threadException[0]) {
-            if (threadException.getClass().equals(UnauthorisedException.class)) {
-                return Response.status(INTERNAL_SERVER_ERROR)
-                        .entity(new Error.ErrorBuilder()
-                                .status(Status.FORBIDDEN)
-                                .statusCode(403)
-                                .simpleMessage(threadException[0].getMessage())
-                                .build())
-                        .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                        .build();
-            } else {
-                return Response.status(INTERNAL_SERVER_ERROR)
-                        .entity(new Error.ErrorBuilder()
-                                .status(Status.INTERNAL_SERVER_ERROR)
-                                .statusCode(500)
-                                .simpleMessage(threadException[0].getMessage())
-                                .build())
-                        .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
-                        .build();
-            }
-        }
-
-        // Return ok output
         return Response.ok(output)
                 .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                .header(JOB_ID_HEADER, resultAndJobId.getSecond())
                 .build();
     }
 
@@ -256,6 +211,13 @@ public class OperationServiceV2 extends AbstractOperationService implements IOpe
         // no action by default
     }
 
+    /**
+     * @param result the result to write
+     * @param output the chunked output to write the result to
+     * @deprecated the chunked endpoints now stream results using
+     * {@link #writeChunkedResult(Object, java.io.OutputStream)}
+     */
+    @Deprecated
     protected void chunkResult(final Object result, final ChunkedOutput<String> output) {
         if (result instanceof Iterable) {
             final Iterable itr = (Iterable) result;
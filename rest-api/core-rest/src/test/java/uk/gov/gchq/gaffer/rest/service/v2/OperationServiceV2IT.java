@@ -239,7 +239,7 @@ public class OperationServiceV2IT extends OperationServiceIT {
         Response response = ((RestApiV2TestClient) client).executeOperationChainChunkedWithHeaders(opChain, "BasicUser");
 
         // Then
-        assertEquals(500, response.getStatus());
+        assertEquals(403, response.getStatus());
     }
 
     @Override
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
+
+import uk.gov.gchq.gaffer.rest.SystemProperty;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code AsyncConfig} sets the executor used to write asynchronous
+ * responses, such as the chunked operation results. By default Spring starts a
+ * new thread for each response, so a bounded pool is used instead. The pool
+ * size and queue size can be set using {@link SystemProperty#CHUNKED_THREADS}
+ * and {@link SystemProperty#CHUNKED_QUEUE_SIZE}.
+ * <p>
+ * A response that is still being written after
+ * {@link SystemProperty#CHUNKED_TIMEOUT} milliseconds is timed out. When a
+ * response times out, or the client disconnects, the thread writing it is
+ * interrupted so it stops iterating over the results and closes them.
+ */
+@Configuration
+public class AsyncConfig {
+
+    private Environment environment;
+
+    @Autowired
+    public void setEnvironment(final Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor chunkedResponseExecutor() {
+        final int threads = Integer.parseInt(environment.getProperty(SystemProperty.CHUNKED_THREADS, SystemProperty.CHUNKED_THREADS_DEFAULT));
+        final int queueSize = Integer.parseInt(environment.getProperty(SystemProperty.CHUNKED_QUEUE_SIZE, SystemProperty.CHUNKED_QUEUE_SIZE_DEFAULT));
+
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueSize);
+        executor.setThreadNamePrefix("chunked-response-");
+        executor.setDaemon(true);
+        return executor;
+    }
+
+    @Bean
+    public WebMvcConfigurer asyncConfigurer(final ThreadPoolTaskExecutor chunkedResponseExecutor) {
+        final long timeout = Long.parseLong(environment.getProperty(SystemProperty.CHUNKED_TIMEOUT, SystemProperty.CHUNKED_TIMEOUT_DEFAULT));
+        return new WebMvcConfigurerAdapter() {
+            @Override
+            public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(chunkedResponseExecutor);
+                configurer.setDefaultTimeout(timeout);
+                configurer.registerCallableInterceptors(new InterruptOnCompletionInterceptor());
+            }
+        };
+    }
+
+    /**
+     * Interrupts the thread writing an asynchronous response if the request
+     * times out or completes, for example because the client disconnected,
+     * before the response has been written.
+     */
+    static final class InterruptOnCompletionInterceptor extends CallableProcessingInterceptorAdapter {
+        // The same task is passed to each callback for a request
+        private final Map<Callable<?>, Writer> writers = new ConcurrentHashMap<>();
+
+        @Override
+        public <T> void beforeConcurrentHandling(final NativeWebRequest request, final Callable<T> task) {
+            writers.put(task, new Writer());
+        }
+
+        @Override
+        public <T> void preProcess(final NativeWebRequest request, final Callable<T> task) {
+            getWriter(task).start();
+        }
+
+        @Override
+        public <T> void postProcess(final NativeWebRequest request, final Callable<T> task, final Object concurrentResult) {
+            getWriter(task).finish();
+        }
+
+        @Override
+        public <T> Object afterTimeout(final NativeWebRequest request, final Callable<T> task) {
+            getWriter(task).stop();
+            return RESULT_NONE;
+        }
+
+        @Override
+        public <T> void afterCompletion(final NativeWebRequest request, final Callable<T> task) {
+            final Writer writer = writers.remove(task);
+            if (null != writer) {
+                writer.stop();
+            }
+        }
+
+        int getWriterCount() {
+            return writers.size();
+        }
+
+        private Writer getWriter(final Callable<?> task) {
+            Writer writer = writers.get(task);
+            if (null == writer) {
+                // The request has already completed, so the response should not be written
+                writer = new Writer();
+                writer.stop();
+            }
+            return writer;
+        }
+    }
+
+    /**
+     * The thread writing a response. The executor threads are reused, so the
+     * thread is only interrupted whilst it is writing the response.
+     */
+    static final class Writer {
+        private Thread thread;
+        private boolean stopped;
+        private boolean finished;
+
+        synchronized void start() {
+            if (stopped) {
+                Thread.currentThread().interrupt();
+            }
+            thread = Thread.currentThread();
+        }
+
+        synchronized void finish() {
+            finished = true;
+            thread = null;
+        }
+
+        synchronized void stop() {
+            if (!finished) {
+                stopped = true;
+                if (null != thread) {
+                    thread.interrupt();
+                }
+            }
+        }
+    }
+}
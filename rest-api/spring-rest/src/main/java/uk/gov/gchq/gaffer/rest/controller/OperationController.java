@@ -22,7 +22,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.core.exception.Status;
@@ -122,6 +124,32 @@ public class OperationController extends AbstractOperationService implements IOp
                 .body(resultAndGraphId.getFirst());
     }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> executeChunked(@RequestBody final Operation operation) {
+        // Execute the operation on the request thread, so any errors are returned straight away
+        final Pair<Object, String> resultAndJobId;
+        try {
+            resultAndJobId = _execute(operation, userFactory.createContext());
+        } catch (final RuntimeException e) {
+            CloseableUtil.close(operation);
+            throw e;
+        }
+
+        // The results are then written by the async executor as they are iterated over
+        final StreamingResponseBody body = outputStream -> {
+            try {
+                writeChunkedResult(resultAndJobId.getFirst(), outputStream);
+            } finally {
+                CloseableUtil.close(operation);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                .header(JOB_ID_HEADER, resultAndJobId.getSecond())
+                .body(body);
+    }
+
     @Override
     protected UserFactory getUserFactory() {
         return userFactory;
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import uk.gov.gchq.gaffer.rest.config.AsyncConfig.InterruptOnCompletionInterceptor;
+
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class AsyncConfigTest {
+    private final InterruptOnCompletionInterceptor interceptor = new InterruptOnCompletionInterceptor();
+    private final NativeWebRequest request = mock(NativeWebRequest.class);
+    private final Callable<Object> task = () -> null;
+
+    @AfterEach
+    public void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    @Test
+    public void shouldInterruptWriterWhenRequestTimesOut() {
+        // Given
+        interceptor.beforeConcurrentHandling(request, task);
+        interceptor.preProcess(request, task);
+
+        // When
+        interceptor.afterTimeout(request, task);
+
+        // Then
+        assertTrue(Thread.interrupted());
+        interceptor.postProcess(request, task, null);
+        interceptor.afterCompletion(request, task);
+        assertEquals(0, interceptor.getWriterCount());
+    }
+
+    @Test
+    public void shouldInterruptWriterThatStartsAfterRequestHasCompleted() {
+        // Given
+        interceptor.beforeConcurrentHandling(request, task);
+        interceptor.afterCompletion(request, task);
+
+        // When
+        interceptor.preProcess(request, task);
+
+        // Then
+        assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    public void shouldNotInterruptWriterOnceResponseHasBeenWritten() {
+        // Given
+        interceptor.beforeConcurrentHandling(request, task);
+        interceptor.preProcess(request, task);
+        interceptor.postProcess(request, task, null);
+
+        // When
+        interceptor.afterCompletion(request, task);
+
+        // Then
+        assertFalse(Thread.interrupted());
+        assertEquals(0, interceptor.getWriterCount());
+    }
+}
@@ -24,6 +24,8 @@ import uk.gov.gchq.gaffer.cache.impl.HashMapCacheService;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.core.exception.Error;
 import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.jobtracker.JobDetail;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.job.GetAllJobDetails;
@@ -33,6 +35,7 @@ import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -40,6 +43,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 import static uk.gov.gchq.gaffer.cache.util.CacheProperties.CACHE_SERVICE_CLASS;
 import static uk.gov.gchq.gaffer.core.exception.Status.SERVICE_UNAVAILABLE;
+import static uk.gov.gchq.gaffer.rest.service.v2.AbstractOperationService.CHUNK_SEPARATOR;
 
 public class OperationControllerIT extends AbstractRestApiIT {
 
@@ -71,6 +75,59 @@ public class OperationControllerIT extends AbstractRestApiIT {
         assertEquals(403, response.getBody().getStatusCode());
     }
 
+    @Test
+    public void shouldReturn403WhenUnauthorisedForChunkedOperation() throws IOException {
+        // Given
+        Graph graph = new Graph.Builder()
+                .config(StreamUtil.graphConfig(this.getClass()))
+                .storeProperties(new MapStoreProperties())
+                .addSchema(new Schema())
+                .build();
+
+        when(getGraphFactory().getGraph()).thenReturn(graph);
+
+        // When
+        final ResponseEntity<Error> response = post("/graph/operations/execute/chunked",
+                new GetAllElements(),
+                Error.class);
+
+        // Then
+        assertEquals(403, response.getStatusCode().value());
+        assertEquals(403, response.getBody().getStatusCode());
+    }
+
+    @Test
+    public void shouldReturnEachResultAsAChunkForChunkedOperation() throws IOException {
+        // Given
+        StoreProperties properties = new MapStoreProperties();
+        properties.setJobTrackerEnabled(true);
+        properties.set(CACHE_SERVICE_CLASS, HashMapCacheService.class.getName());
+
+        Graph graph = new Graph.Builder()
+                .config(StreamUtil.graphConfig(this.getClass()))
+                .storeProperties(properties)
+                .addSchema(new Schema())
+                .build();
+
+        when(getGraphFactory().getGraph()).thenReturn(graph);
+
+        // When
+        final ResponseEntity<String> response = post("/graph/operations/execute/chunked",
+                new GetAllJobDetails(),
+                String.class);
+
+        // Then
+        assertEquals(200, response.getStatusCode().value());
+        final String jobId = response.getHeaders().get("job-id").get(0);
+        assertTrue(response.getBody().endsWith(CHUNK_SEPARATOR));
+
+        final Set<String> jobIds = new HashSet<>();
+        for (final String chunk : response.getBody().split(CHUNK_SEPARATOR)) {
+            jobIds.add(JSONSerialiser.deserialise(chunk, JobDetail.class).getJobId());
+        }
+        assertTrue(jobIds.contains(jobId));
+    }
+
     @Test
     public void shouldPropagateStatusInformationContainedInOperationExceptionsThrownByOperationHandlers() throws IOException {
         // Given
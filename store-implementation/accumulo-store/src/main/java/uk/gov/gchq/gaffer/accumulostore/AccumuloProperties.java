@@ -45,22 +45,34 @@ public class AccumuloProperties extends StoreProperties {
     public static final String NAMESPACE = "accumulo.namespace";
     public static final String THREADS_FOR_BATCH_SCANNER = "accumulo.batchScannerThreads";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "accumulo.entriesForBatchScanner";
+    public static final String BATCH_SCANNERS_TO_PREFETCH = "accumulo.batchScannersToPrefetch";
+    public static final String THREADS_FOR_BATCH_SCANNER_PREFETCH = "accumulo.batchScannerPrefetchThreads";
     public static final String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
     public static final String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
     public static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
+    public static final String SEEDS_B_PER_CHUNK_FOR_BETWEEN_SETS = "accumulo.seedsBPerChunkForBetweenSets";
     public static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public static final String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
+    public static final String NUM_THREADS_FOR_INGEST_CONVERSION = "accumulo.numThreadsForIngestConversion";
+    public static final String INGEST_BATCH_SIZE = "accumulo.ingestBatchSize";
+    public static final String INGEST_PRE_AGGREGATION = "accumulo.ingestPreAggregation";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
     public static final String HDFS_SKIP_PERMISSIONS = "accumulostore.operation.hdfs.skip_permissions";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
+    private static final String NUM_THREADS_FOR_INGEST_CONVERSION_DEFAULT = "1";
+    private static final String INGEST_BATCH_SIZE_DEFAULT = "10000";
+    private static final String INGEST_PRE_AGGREGATION_DEFAULT = "false";
     private static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    private static final String BATCH_SCANNERS_TO_PREFETCH_DEFAULT = "0";
+    private static final String THREADS_FOR_BATCH_SCANNER_PREFETCH_DEFAULT = "10";
     private static final String CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT = "838860800";
     private static final String FALSE_POSITIVE_RATE_DEFAULT = "0.0002";
     private static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR_DEFAULT = "8388608";
+    private static final String SEEDS_B_PER_CHUNK_FOR_BETWEEN_SETS_DEFAULT = "0";
     private static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT = "100000000";
     private static final String MAX_TIME_OUT_FOR_BATCH_WRITER_DEFAULT = "1000";
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
@@ -151,6 +163,68 @@ public class AccumuloProperties extends StoreProperties {
         return Long.parseLong(get(MAX_BUFFER_SIZE_FOR_BATCH_WRITER, MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT));
     }
 
+    /**
+     * Gets the number of threads that should be used to convert elements into
+     * mutations when adding elements. If this is 1 then the elements are
+     * converted on the thread adding them.
+     *
+     * @return The number of threads to use to convert elements into mutations.
+     */
+    public int getNumThreadsForIngestConversion() {
+        return Integer.parseInt(get(NUM_THREADS_FOR_INGEST_CONVERSION, NUM_THREADS_FOR_INGEST_CONVERSION_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads that should be used to convert elements into
+     * mutations when adding elements.
+     *
+     * @param numThreadsForIngestConversion The number of threads to use to convert elements into mutations.
+     */
+    public void setNumThreadsForIngestConversion(final String numThreadsForIngestConversion) {
+        set(NUM_THREADS_FOR_INGEST_CONVERSION, numThreadsForIngestConversion);
+    }
+
+    /**
+     * Gets the number of elements in each batch that is converted into
+     * mutations by one of the ingest conversion threads, and pre-aggregated
+     * if ingest pre-aggregation is enabled.
+     *
+     * @return The number of elements in each batch.
+     */
+    public int getIngestBatchSize() {
+        return Integer.parseInt(get(INGEST_BATCH_SIZE, INGEST_BATCH_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the number of elements in each batch that is converted into
+     * mutations by one of the ingest conversion threads.
+     *
+     * @param ingestBatchSize The number of elements in each batch.
+     */
+    public void setIngestBatchSize(final String ingestBatchSize) {
+        set(INGEST_BATCH_SIZE, ingestBatchSize);
+    }
+
+    /**
+     * Gets the flag determining whether each batch of elements should be
+     * aggregated before it is sent to Accumulo.
+     *
+     * @return true if each batch of elements should be aggregated.
+     */
+    public boolean getIngestPreAggregation() {
+        return Boolean.parseBoolean(get(INGEST_PRE_AGGREGATION, INGEST_PRE_AGGREGATION_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether each batch of elements should be
+     * aggregated before it is sent to Accumulo.
+     *
+     * @param ingestPreAggregation true if each batch of elements should be aggregated.
+     */
+    public void setIngestPreAggregation(final boolean ingestPreAggregation) {
+        set(INGEST_PRE_AGGREGATION, Boolean.toString(ingestPreAggregation));
+    }
+
     /**
      * Gets the list of Zookeeper servers.
      *
@@ -303,6 +377,50 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Gets the number of batch scanners that should be opened for the next
+     * batches of seeds while the current batch is being read. If this is 0
+     * then the scanner for the next batch is only opened once the current
+     * batch has been read.
+     *
+     * @return An integer representing the number of batch scanners to open
+     * ahead of the one being read.
+     */
+    public int getBatchScannersToPrefetch() {
+        return Integer.parseInt(get(BATCH_SCANNERS_TO_PREFETCH, BATCH_SCANNERS_TO_PREFETCH_DEFAULT));
+    }
+
+    /**
+     * Sets the number of batch scanners that should be opened for the next
+     * batches of seeds while the current batch is being read.
+     *
+     * @param batchScannersToPrefetch the number of batch scanners to open ahead of the one being read.
+     */
+    public void setBatchScannersToPrefetch(final String batchScannersToPrefetch) {
+        set(BATCH_SCANNERS_TO_PREFETCH, batchScannersToPrefetch);
+    }
+
+    /**
+     * Gets the maximum number of threads the store uses to prefetch batch
+     * scanners. This caps the number of queries that can prefetch at once;
+     * any other queries open their scanners when they are needed.
+     *
+     * @return An integer representing the number of threads used to prefetch batch scanners.
+     */
+    public int getThreadsForBatchScannerPrefetch() {
+        return Integer.parseInt(get(THREADS_FOR_BATCH_SCANNER_PREFETCH, THREADS_FOR_BATCH_SCANNER_PREFETCH_DEFAULT));
+    }
+
+    /**
+     * Sets the maximum number of threads the store uses to prefetch batch
+     * scanners.
+     *
+     * @param threadsForBatchScannerPrefetch the number of threads used to prefetch batch scanners.
+     */
+    public void setThreadsForBatchScannerPrefetch(final String threadsForBatchScannerPrefetch) {
+        set(THREADS_FOR_BATCH_SCANNER_PREFETCH, threadsForBatchScannerPrefetch);
+    }
+
     /**
      * Gets the size that should be used for the creation of bloom filters on the
      * client side.
@@ -369,6 +487,29 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR, maxBloomFilterToPassToAnIterator);
     }
 
+    /**
+     * Gets the number of seeds from set B of a GetElementsBetweenSets query
+     * that are held in memory at once. If this is greater than 0 then set B
+     * is read in chunks of this size and set A is queried once for each chunk,
+     * instead of adding all of set B to a client side Bloom filter. If this
+     * is 0 then set B is not chunked.
+     *
+     * @return An integer representing the number of seeds from set B in each chunk.
+     */
+    public int getSeedsBPerChunkForBetweenSets() {
+        return Integer.parseInt(get(SEEDS_B_PER_CHUNK_FOR_BETWEEN_SETS, SEEDS_B_PER_CHUNK_FOR_BETWEEN_SETS_DEFAULT));
+    }
+
+    /**
+     * Sets the number of seeds from set B of a GetElementsBetweenSets query
+     * that are held in memory at once.
+     *
+     * @param seedsBPerChunkForBetweenSets the number of seeds from set B in each chunk.
+     */
+    public void setSeedsBPerChunkForBetweenSets(final String seedsBPerChunkForBetweenSets) {
+        set(SEEDS_B_PER_CHUNK_FOR_BETWEEN_SETS, seedsBPerChunkForBetweenSets);
+    }
+
     /**
      * Gets the key package that should be used in conjunction with this table.
      *
@@ -31,7 +31,6 @@ import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Mutation;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.security.Authorizations;
-import org.apache.accumulo.core.security.ColumnVisibility;
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.io.Text;
@@ -63,6 +62,7 @@ import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsInRanges;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.ColumnVisibilityCache;
 import uk.gov.gchq.gaffer.accumulostore.utils.TableUtils;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
@@ -99,16 +99,28 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.ValidationResult;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -153,6 +165,8 @@ public class AccumuloStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloStore.class);
     private AccumuloKeyPackage keyPackage;
     private Connector connection = null;
+    private ExecutorService prefetchExecutor;
+    private ExecutorService ingestConversionExecutor;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -190,6 +204,65 @@ public class AccumuloStore extends Store {
             throw new StoreException("Unable to construct an instance of key package: " + keyPackageClass, e);
         }
         this.keyPackage.setSchema(getSchema());
+        initialisePrefetchExecutor();
+        initialiseIngestConversionExecutor();
+    }
+
+    private void initialiseIngestConversionExecutor() {
+        if (null != ingestConversionExecutor) {
+            ingestConversionExecutor.shutdownNow();
+            ingestConversionExecutor = null;
+        }
+
+        final int numThreads = getProperties().getNumThreadsForIngestConversion();
+        if (numThreads > 1) {
+            final AtomicInteger threadNumber = new AtomicInteger();
+            ingestConversionExecutor = Executors.newFixedThreadPool(numThreads, runnable -> {
+                final Thread thread = new Thread(runnable, "accumulo-ingest-conversion-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void initialisePrefetchExecutor() {
+        if (null != prefetchExecutor) {
+            prefetchExecutor.shutdownNow();
+            prefetchExecutor = null;
+        }
+
+        if (getProperties().getBatchScannersToPrefetch() > 0) {
+            final AtomicInteger threadNumber = new AtomicInteger();
+            prefetchExecutor = new ThreadPoolExecutor(0, getProperties().getThreadsForBatchScannerPrefetch(),
+                    60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                final Thread thread = new Thread(runnable, "batch-scanner-prefetch-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Gets the executor used to open batch scanners ahead of them being read.
+     * When all of its threads are busy further queries open their scanners
+     * when they are needed instead.
+     *
+     * @return the prefetch executor, or null if batch scanners are not prefetched
+     */
+    public ExecutorService getPrefetchExecutor() {
+        return prefetchExecutor;
+    }
+
+    /**
+     * Gets the executor used to convert elements into mutations when they are
+     * added to the store. The executor is shared by all the inserts into the
+     * store and is replaced when the store is initialised again.
+     *
+     * @return the conversion executor, or null if elements are converted on
+     * the thread adding them
+     */
+    public ExecutorService getIngestConversionExecutor() {
+        return ingestConversionExecutor;
     }
 
     /**
@@ -425,60 +498,157 @@ public class AccumuloStore extends Store {
     }
 
     protected void insertGraphElements(final Iterable<? extends Element> elements) throws StoreException {
+        if (null == elements) {
+            throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
+        }
+
         // Create BatchWriter
         final BatchWriter writer = TableUtils.createBatchWriter(this);
         // Loop through elements, convert to mutations, and add to
-        // BatchWriter.as
+        // BatchWriter.
         // The BatchWriter takes care of batching them up, sending them without
         // too high a latency, etc.
-        if (null != elements) {
-            for (final Element element : elements) {
-
-                final Pair<Key, Key> keys;
-                try {
-                    keys = keyPackage.getKeyConverter().getKeysFromElement(element);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
-                    continue;
-                }
-                final Value value;
-                try {
-                    value = keyPackage.getKeyConverter().getValueFromElement(element);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
-                    continue;
+        final ColumnVisibilityCache visibilityCache = new ColumnVisibilityCache();
+        try {
+            if (getProperties().getNumThreadsForIngestConversion() > 1 || getProperties().getIngestPreAggregation()) {
+                insertGraphElementsInBatches(elements, writer, visibilityCache);
+            } else {
+                for (final Element element : elements) {
+                    addMutations(element, writer, visibilityCache);
                 }
-                final Mutation m = new Mutation(keys.getFirst().getRow());
-                m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
-                        new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
-                try {
-                    writer.addMutation(m);
-                } catch (final MutationsRejectedException e) {
-                    LOGGER.error("Failed to create an accumulo key mutation");
-                    continue;
+            }
+        } finally {
+            try {
+                writer.close();
+            } catch (final MutationsRejectedException e) {
+                LOGGER.warn("Accumulo batch writer failed to close", e);
+            }
+        }
+    }
+
+    /**
+     * Splits the elements into batches, optionally aggregates each batch and
+     * converts the batches into mutations using the store's pool of conversion
+     * threads, which is shared by all the inserts into the store. The
+     * BatchWriter is thread safe so each thread adds its mutations directly.
+     * Only a limited number of batches are held in memory at once; reading the
+     * elements waits while that many batches are waiting to be converted.
+     * If a batch fails then the batches still waiting to be converted are
+     * cancelled.
+     *
+     * @param elements        the elements to add
+     * @param writer          the BatchWriter to add the mutations to
+     * @param visibilityCache the cache of parsed visibilities
+     * @throws StoreException if a batch of elements could not be converted
+     */
+    private void insertGraphElementsInBatches(final Iterable<? extends Element> elements,
+                                              final BatchWriter writer,
+                                              final ColumnVisibilityCache visibilityCache) throws StoreException {
+        final int numThreads = getProperties().getNumThreadsForIngestConversion();
+        final int batchSize = getProperties().getIngestBatchSize();
+        final ExecutorService executor = ingestConversionExecutor;
+        final Deque<Future<?>> batchesInProgress = new ArrayDeque<>();
+        try {
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    submitBatch(batch, writer, visibilityCache, executor, batchesInProgress, 2 * numThreads);
+                    batch = new ArrayList<>(batchSize);
                 }
-                // If the GraphElement is a Vertex then there will only be 1 key,
-                // and the second will be null.
-                // If the GraphElement is an Edge then there will be 2 keys.
-                if (null != keys.getSecond()) {
-                    final Mutation m2 = new Mutation(keys.getSecond().getRow());
-                    m2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(),
-                            new ColumnVisibility(keys.getSecond().getColumnVisibility()), keys.getSecond().getTimestamp(),
-                            value);
-                    try {
-                        writer.addMutation(m2);
-                    } catch (final MutationsRejectedException e) {
-                        LOGGER.error("Failed to create an accumulo key mutation");
+            }
+            if (!batch.isEmpty()) {
+                submitBatch(batch, writer, visibilityCache, executor, batchesInProgress, 2 * numThreads);
+            }
+            while (!batchesInProgress.isEmpty()) {
+                waitForBatch(batchesInProgress.poll());
+            }
+        } finally {
+            for (final Future<?> batchInProgress : batchesInProgress) {
+                batchInProgress.cancel(true);
+            }
+        }
+    }
+
+    private void submitBatch(final List<Element> batch,
+                             final BatchWriter writer,
+                             final ColumnVisibilityCache visibilityCache,
+                             final ExecutorService executor,
+                             final Deque<Future<?>> batchesInProgress,
+                             final int maxBatchesInProgress) throws StoreException {
+        final Runnable task = () -> {
+            if (getProperties().getIngestPreAggregation()) {
+                try (final CloseableIterable<Element> aggregated = AggregatorUtil.ingestAggregate(batch, getSchema())) {
+                    for (final Element element : aggregated) {
+                        addMutations(element, writer, visibilityCache);
                     }
                 }
+            } else {
+                for (final Element element : batch) {
+                    addMutations(element, writer, visibilityCache);
+                }
             }
+        };
+
+        if (null == executor) {
+            task.run();
         } else {
-            throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
+            while (batchesInProgress.size() >= maxBatchesInProgress) {
+                waitForBatch(batchesInProgress.poll());
+            }
+            batchesInProgress.add(executor.submit(task));
         }
+    }
+
+    private void waitForBatch(final Future<?> batch) throws StoreException {
         try {
-            writer.close();
+            batch.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst adding elements", e);
+        } catch (final ExecutionException e) {
+            throw new StoreException("Failed to add a batch of elements", e.getCause());
+        }
+    }
+
+    private void addMutations(final Element element, final BatchWriter writer,
+                              final ColumnVisibilityCache visibilityCache) {
+        final Pair<Key, Key> keys;
+        try {
+            keys = keyPackage.getKeyConverter().getKeysFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
+            return;
+        }
+        final Value value;
+        try {
+            value = keyPackage.getKeyConverter().getValueFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
+            return;
+        }
+        final Mutation m = new Mutation(keys.getFirst().getRow());
+        m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
+                visibilityCache.get(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
+        try {
+            writer.addMutation(m);
         } catch (final MutationsRejectedException e) {
-            LOGGER.warn("Accumulo batch writer failed to close", e);
+            LOGGER.error("Failed to create an accumulo key mutation");
+            return;
+        }
+        // If the GraphElement is a Vertex then there will only be 1 key,
+        // and the second will be null.
+        // If the GraphElement is an Edge then there will be 2 keys.
+        if (null != keys.getSecond()) {
+            final Mutation m2 = new Mutation(keys.getSecond().getRow());
+            m2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(),
+                    visibilityCache.get(keys.getSecond().getColumnVisibility()), keys.getSecond().getTimestamp(),
+                    value);
+            try {
+                writer.addMutation(m2);
+            } catch (final MutationsRejectedException e) {
+                LOGGER.error("Failed to create an accumulo key mutation");
+            }
         }
     }
 
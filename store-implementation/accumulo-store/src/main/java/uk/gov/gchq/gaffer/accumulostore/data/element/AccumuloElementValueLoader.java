@@ -60,17 +60,18 @@ public abstract class AccumuloElementValueLoader implements ElementValueLoader {
             }
         }
 
-        final Properties props;
+        // Only the requested property is deserialised, so filters that only
+        // select some of the properties do not pay for deserialising the rest.
+        // The LazyProperties store the returned property.
         if (eDef.getGroupBy().contains(name)) {
-            props = elementConverter.getPropertiesFromColumnQualifier(group, key.getColumnQualifierData().getBackingArray());
-        } else if (name.equals(schema.getVisibilityProperty())) {
-            props = elementConverter.getPropertiesFromColumnVisibility(group, key.getColumnVisibilityData().getBackingArray());
-        } else if (name.equals(timestampProperty)) {
-            props = elementConverter.getPropertiesFromTimestamp(group, key.getTimestamp());
-        } else {
-            props = elementConverter.getPropertiesFromValue(group, value);
+            return elementConverter.getPropertyFromColumnQualifier(group, key.getColumnQualifierData().getBackingArray(), name);
         }
-        lazyProperties.putAll(props);
-        return props.get(name);
+        if (name.equals(schema.getVisibilityProperty())) {
+            return elementConverter.getPropertiesFromColumnVisibility(group, key.getColumnVisibilityData().getBackingArray()).get(name);
+        }
+        if (name.equals(timestampProperty)) {
+            return elementConverter.getPropertiesFromTimestamp(group, key.getTimestamp()).get(name);
+        }
+        return elementConverter.getPropertyFromValue(group, value, name);
     }
 }
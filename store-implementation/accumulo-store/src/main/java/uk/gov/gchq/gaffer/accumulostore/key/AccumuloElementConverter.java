@@ -95,6 +95,19 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromValue(final String group, final Value value);
 
+    /**
+     * Gets a single property from an Accumulo {@link org.apache.accumulo.core.data.Value},
+     * without deserialising the other properties stored in it.
+     *
+     * @param group        the element group
+     * @param value        the Value containing the serialised properties
+     * @param propertyName the name of the property to get
+     * @return the property value, or null if it is not stored within the {@link Value}
+     */
+    default Object getPropertyFromValue(final String group, final Value value, final String propertyName) {
+        return getPropertiesFromValue(group, value).get(propertyName);
+    }
+
     /**
      * Gets a new {@link ElementId} from an Accumulo {@link Key}.
      *
@@ -168,6 +181,19 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromColumnQualifier(final String group, final byte[] columnQualifier);
 
+    /**
+     * Gets a single property from the column qualifier, without deserialising the
+     * other properties stored in it.
+     *
+     * @param group           the element group
+     * @param columnQualifier the element column qualifier properties serialised into bytes
+     * @param propertyName    the name of the property to get
+     * @return the property value, or null if it is not stored within the column qualifier
+     */
+    default Object getPropertyFromColumnQualifier(final String group, final byte[] columnQualifier, final String propertyName) {
+        return getPropertiesFromColumnQualifier(group, columnQualifier).get(propertyName);
+    }
+
     /**
      * Truncates the provided columnQualifier, returning the byte representation of the serialised version of the specified
      * properties.
@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.accumulostore.key.core;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.accumulo.core.data.Key;
@@ -120,16 +121,17 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @SuppressWarnings("Convert2streamapi")
     @Override
     public Value getValueFromProperties(final String group, final Properties properties) {
-        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
         final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
-
-        for (final String propertyName : elementDefinition.getProperties()) {
+        final Set<String> propertyNames = elementDefinition.getProperties();
+        final byte[][] serialisedProperties = new byte[propertyNames.size()][];
+        int numProperties = 0;
+        for (final String propertyName : propertyNames) {
             if (isStoredInValue(propertyName, elementDefinition)) {
-                serialiseSizeAndPropertyValue(propertyName, elementDefinition, properties, stream);
+                serialisedProperties[numProperties++] = serialisePropertyValue(propertyName, elementDefinition, properties);
             }
         }
 
-        return new Value(stream.toByteArray());
+        return new Value(writeSizesAndPropertyValues(serialisedProperties, numProperties), false);
     }
 
     @Override
@@ -160,6 +162,17 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public Object getPropertyFromValue(final String group, final Value value, final String propertyName) {
+        if (isNotEmpty(value)) {
+            final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+            if (isStoredInValue(propertyName, elementDefinition)) {
+                return getDeserialisedProperty(value.get(), elementDefinition, Iterables.filter(elementDefinition.getProperties(), name -> isStoredInValue(name, elementDefinition)), propertyName);
+            }
+        }
+        return null;
+    }
+
     @Override
     public Element getElementFromKey(final Key key, final boolean includeMatchedVertex) {
         final byte[] row = key.getRowData().getBackingArray();
@@ -258,14 +271,15 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     @Override
     public byte[] buildColumnQualifier(final String group, final Properties properties) {
-        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
         final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
-
-        for (final String groupByPropertyName : elementDefinition.getGroupBy()) {
-            serialiseSizeAndPropertyValue(groupByPropertyName, elementDefinition, properties, stream);
+        final Set<String> groupBy = elementDefinition.getGroupBy();
+        final byte[][] serialisedProperties = new byte[groupBy.size()][];
+        int numProperties = 0;
+        for (final String groupByPropertyName : groupBy) {
+            serialisedProperties[numProperties++] = serialisePropertyValue(groupByPropertyName, elementDefinition, properties);
         }
 
-        return stream.toByteArray();
+        return writeSizesAndPropertyValues(serialisedProperties, numProperties);
     }
 
     private SchemaElementDefinition getSchemaElementDefinition(final String group) {
@@ -278,22 +292,27 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     protected void serialiseSizeAndPropertyValue(final String propertyName, final SchemaElementDefinition elementDefinition, final Properties properties, final ByteArrayOutputStream stream) {
         try {
-            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
-            final ToBytesSerialiser serialiser = (null == typeDefinition) ? null : (ToBytesSerialiser) typeDefinition.getSerialiser();
-            byte[] bytes;
-            if (null == serialiser) {
-                bytes = AccumuloStoreConstants.EMPTY_BYTES;
-            } else {
-                Object value = properties.get(propertyName);
-                //serialiseNull could be different to AccumuloStoreConstants.EMPTY_BYTES
-                bytes = (null == value) ? serialiser.serialiseNull() : serialiser.serialise(value);
-            }
-            writeBytes(bytes, stream);
+            writeBytes(serialisePropertyValue(propertyName, elementDefinition, properties), stream);
         } catch (final IOException e) {
             throw new AccumuloElementConversionException("Failed to write serialised property to ByteArrayOutputStream" + propertyName, e);
         }
     }
 
+    protected byte[] serialisePropertyValue(final String propertyName, final SchemaElementDefinition elementDefinition, final Properties properties) {
+        final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+        final ToBytesSerialiser serialiser = (null == typeDefinition) ? null : (ToBytesSerialiser) typeDefinition.getSerialiser();
+        if (null == serialiser) {
+            return AccumuloStoreConstants.EMPTY_BYTES;
+        }
+        final Object value = properties.get(propertyName);
+        try {
+            //serialiseNull could be different to AccumuloStoreConstants.EMPTY_BYTES
+            return (null == value) ? serialiser.serialiseNull() : serialiser.serialise(value);
+        } catch (final SerialisationException e) {
+            throw new AccumuloElementConversionException("Failed to serialise property " + propertyName, e);
+        }
+    }
+
     @Override
     public Properties getPropertiesFromColumnQualifier(final String group, final byte[] bytes) {
         final Properties properties = new Properties();
@@ -314,6 +333,53 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public Object getPropertyFromColumnQualifier(final String group, final byte[] bytes, final String propertyName) {
+        if (null != bytes && bytes.length != 0) {
+            final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+            if (elementDefinition.getGroupBy().contains(propertyName)) {
+                return getDeserialisedProperty(bytes, elementDefinition, elementDefinition.getGroupBy(), propertyName);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Skips over the serialised properties before the requested property, using their lengths,
+     * and then deserialises just the requested property.
+     *
+     * @param bytes             the serialised properties, each prefixed by its length
+     * @param elementDefinition the schema element definition
+     * @param propertyNames     the names of the serialised properties, in the order they were serialised
+     * @param propertyName      the name of the property to deserialise
+     * @return the deserialised property, or null if it is not found
+     */
+    private Object getDeserialisedProperty(final byte[] bytes, final SchemaElementDefinition elementDefinition, final Iterable<String> propertyNames, final String propertyName) {
+        int delimiterPosition = 0;
+        final int arrayLength = bytes.length;
+        final Iterator<String> names = propertyNames.iterator();
+        while (names.hasNext() && delimiterPosition < arrayLength) {
+            final String name = names.next();
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(name);
+            if (null != typeDefinition && null != typeDefinition.getSerialiser()) {
+                final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[delimiterPosition]);
+                final int currentPropLength = getCurrentPropLength(bytes, delimiterPosition);
+                delimiterPosition += numBytesForLength;
+                if (name.equals(propertyName)) {
+                    try {
+                        return getDeserialisedObject((ToBytesSerialiser) typeDefinition.getSerialiser(), bytes, delimiterPosition, currentPropLength);
+                    } catch (final SerialisationException e) {
+                        throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+                    }
+                }
+                delimiterPosition += currentPropLength;
+            } else if (name.equals(propertyName)) {
+                return null;
+            }
+        }
+        return null;
+    }
+
     private int addDeserialisedProperty(final byte[] bytes, final int carriage, final Properties properties, final SchemaElementDefinition elementDefinition, final String propertyName) throws SerialisationException {
         int rtn = carriage;
         final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
@@ -511,6 +577,32 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         out.write(bytes);
     }
 
+    /**
+     * Writes each of the serialised properties prefixed by its length into a single array that is
+     * allocated at the exact size needed, avoiding the buffer growth and final copy of a
+     * {@link ByteArrayOutputStream}.
+     *
+     * @param serialisedProperties the serialised properties
+     * @param numProperties        the number of serialised properties to write
+     * @return the serialised properties each prefixed by its length
+     */
+    private byte[] writeSizesAndPropertyValues(final byte[][] serialisedProperties, final int numProperties) {
+        int size = 0;
+        for (int i = 0; i < numProperties; i++) {
+            size += CompactRawSerialisationUtils.getVIntSize(serialisedProperties[i].length) + serialisedProperties[i].length;
+        }
+
+        final byte[] bytes = new byte[size];
+        int position = 0;
+        for (int i = 0; i < numProperties; i++) {
+            final byte[] serialisedProperty = serialisedProperties[i];
+            position += CompactRawSerialisationUtils.write(serialisedProperty.length, bytes, position);
+            System.arraycopy(serialisedProperty, 0, bytes, position, serialisedProperty.length);
+            position += serialisedProperty.length;
+        }
+        return bytes;
+    }
+
     private Object getDeserialisedObject(final ToBytesSerialiser serialiser, final byte[] bytes, final int from, final int length) throws SerialisationException {
         //Don't initialise with  #deserialiseEmpty() as this might initialise an complex empty structure to be immediately overwritten e.g. TreeSet<String>
         Object deserialisedObject;
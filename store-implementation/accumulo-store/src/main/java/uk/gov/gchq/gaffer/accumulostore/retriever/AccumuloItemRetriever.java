@@ -16,9 +16,7 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever;
 
-import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
@@ -90,34 +88,24 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
     protected class ElementIterator implements CloseableIterator<Element> {
         private final Iterator<? extends I_ITEM> idsIterator;
-        private int count;
-        private BatchScanner scanner;
+        private final BatchScannerPipeline<Set<Range>> scanners;
         private Iterator<Entry<Key, Value>> scannerIterator;
         private Element nextElm;
 
         public ElementIterator(final Iterator<? extends I_ITEM> idIterator) throws RetrieverException {
             idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
 
-            // Create BatchScanner, appropriately configured (i.e. ranges,
-            // iterators, etc).
+            // Create the pipeline of BatchScanners, appropriately configured
+            // (i.e. ranges, iterators, etc), and open the first one.
+            scanners = getScanners(this::nextRanges);
             try {
-                scanner = getScanner(ranges);
+                scannerIterator = scanners.nextBatch().iterator();
             } catch (final Exception e) {
+                scanners.close();
                 CloseableUtil.close(idsIterator);
                 CloseableUtil.close(ids);
-                throw new RetrieverException(e);
+                throw e instanceof RetrieverException ? (RetrieverException) e : new RetrieverException(e);
             }
-            scannerIterator = scanner.iterator();
         }
 
         @Override
@@ -126,56 +114,32 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             if (null != nextElm) {
                 return true;
             }
-            while (scannerIterator.hasNext()) {
-                final Entry<Key, Value> entry = scannerIterator.next();
-                try {
-                    nextElm = elementConverter.getFullElement(
-                            entry.getKey(),
-                            entry.getValue(),
-                            includeMatchedVertex);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
-                            e);
-                    continue;
-                }
-                doTransformation(nextElm);
-                if (doPostFilter(nextElm)) {
-                    ViewUtil.removeProperties(operation.getView(), nextElm);
-                    return true;
-                } else {
-                    nextElm = null;
-                }
-            }
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
-            // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
+            while (null != scannerIterator) {
+                while (scannerIterator.hasNext()) {
+                    final Entry<Key, Value> entry = scannerIterator.next();
                     try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
+                        nextElm = elementConverter.getFullElement(
+                                entry.getKey(),
+                                entry.getValue(),
+                                includeMatchedVertex);
+                    } catch (final AccumuloElementConversionException e) {
+                        LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
+                                e);
+                        continue;
+                    }
+                    doTransformation(nextElm);
+                    if (doPostFilter(nextElm)) {
+                        ViewUtil.removeProperties(operation.getView(), nextElm);
+                        return true;
+                    } else {
+                        nextElm = null;
                     }
                 }
-                scanner.close();
-                try {
-                    scanner = getScanner(ranges);
-                } catch (final TableNotFoundException | StoreException e) {
-                    LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
-                    return false;
-                }
-                scannerIterator = scanner.iterator();
-            }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
-                return false;
-            } else {
-                return hasNext();
+                // If current scanner is spent then move on to the scanner
+                // for the next batch of seeds, if there is one.
+                scannerIterator = nextScannerIterator();
             }
+            return false;
         }
 
         @Override
@@ -197,9 +161,35 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
         @Override
         public void close() {
-            if (null != scanner) {
-                scanner.close();
+            scanners.close();
+        }
+
+        private Set<Range> nextRanges() {
+            if (!idsIterator.hasNext()) {
+                return null;
+            }
+            int count = 0;
+            final Set<Range> ranges = new HashSet<>();
+            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                count++;
+                try {
+                    addToRanges(idsIterator.next(), ranges);
+                } catch (final RangeFactoryException e) {
+                    LOGGER.error("Failed to create a range from given seed", e);
+                }
+            }
+            return ranges;
+        }
+
+        private Iterator<Entry<Key, Value>> nextScannerIterator() {
+            final BatchScannerPipeline.ScannedBatch<Set<Range>> batch;
+            try {
+                batch = scanners.nextBatch();
+            } catch (final RetrieverException e) {
+                LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
+                return null;
             }
+            return null != batch ? batch.iterator() : null;
         }
     }
 }
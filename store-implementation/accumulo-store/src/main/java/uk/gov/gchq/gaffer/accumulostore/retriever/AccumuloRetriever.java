@@ -143,6 +143,35 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
         return scanner;
     }
 
+    /**
+     * Create a pipeline of scanners, one for each batch of ranges provided by
+     * the batch source. The scanners are created using
+     * {@link #getScanner(Set)} and are opened ahead of being read if the
+     * store properties ask for batch scanners to be prefetched.
+     *
+     * @param batchSource the source of the batches of ranges
+     * @return A {@link BatchScannerPipeline} of the scanners for the batches.
+     */
+    protected BatchScannerPipeline<Set<Range>> getScanners(final BatchScannerPipeline.BatchSource<Set<Range>> batchSource) {
+        return getScanners(batchSource, this::getScanner);
+    }
+
+    /**
+     * Create a pipeline of scanners, one for each batch provided by the batch
+     * source. The scanners are opened ahead of being read if the store
+     * properties ask for batch scanners to be prefetched.
+     *
+     * @param batchSource    the source of the batches
+     * @param scannerFactory the factory used to create the scanner for each batch
+     * @param <B>            the type of the batches
+     * @return A {@link BatchScannerPipeline} of the scanners for the batches.
+     */
+    protected <B> BatchScannerPipeline<B> getScanners(final BatchScannerPipeline.BatchSource<B> batchSource,
+                                                      final BatchScannerPipeline.ScannerFactory<B> scannerFactory) {
+        return new BatchScannerPipeline<>(batchSource, scannerFactory, store.getPrefetchExecutor(),
+                store.getProperties().getBatchScannersToPrefetch());
+    }
+
     protected void transform(final Element element, final ElementTransformer transformer) {
         if (null != transformer) {
             transformer.apply(element);
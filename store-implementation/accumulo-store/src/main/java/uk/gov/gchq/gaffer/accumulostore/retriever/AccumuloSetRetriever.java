@@ -46,6 +46,7 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map.Entry;
@@ -162,7 +163,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         addToBloomFilter(seed.getVertex(), filter2);
     }
 
-    private void addToBloomFilter(final Object vertex, final BloomFilter filter) throws RetrieverException {
+    protected void addToBloomFilter(final Object vertex, final BloomFilter filter) throws RetrieverException {
         try {
             filter.add(new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertex(vertex)));
         } catch (final AccumuloElementConversionException e) {
@@ -269,20 +270,28 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         // The Bloom filter that is maintained client-side
         // as a secondary defeat of false positives.
         protected BloomFilter clientSideFilter;
+        // The seeds in the batch currently being read.
         protected Set<Object> currentSeeds;
-        protected BatchScanner scanner;
         protected BloomFilter filter;
+        private BatchScannerPipeline<SeedBatch> scanners;
         private Iterator<Entry<Key, Value>> scannerIterator;
         private Element nextElm;
-        private int count;
 
         public AbstractElementIteratorFromBatches() {
-            // Set up client side filter
-            clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
-            // Create Bloom filter to be passed to iterators.
-            filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
+            // Set up client side filter and create Bloom filter to be passed to iterators.
+            this(BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
                     store.getProperties().getMaxEntriesForBatchScanner(),
-                    store.getProperties().getMaxBloomFilterToPassToAnIterator());
+                    store.getProperties().getMaxBloomFilterToPassToAnIterator()),
+                    BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize()));
+        }
+
+        /**
+         * @param filter           the Bloom filter to be passed to the iterators
+         * @param clientSideFilter the client side Bloom filter, or null if it is not required
+         */
+        protected AbstractElementIteratorFromBatches(final BloomFilter filter, final BloomFilter clientSideFilter) {
+            this.filter = filter;
+            this.clientSideFilter = clientSideFilter;
             currentSeeds = new HashSet<>();
         }
 
@@ -335,44 +344,70 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
 
         @Override
         public void close() {
-            if (null != scanner) {
-                scanner.close();
+            closeScanners();
+        }
+
+        /**
+         * Closes the scanners for the batches of seeds. The next call to
+         * {@link #updateScanner()} will start reading batches from
+         * {@code idsAIterator} again, so this allows the seeds to be queried
+         * for again, e.g. with a different Bloom filter.
+         */
+        protected void closeScanners() {
+            if (null != scanners) {
+                scanners.close();
+                scanners = null;
             }
         }
 
+        /**
+         * Updates the Bloom filter passed to the iterators when a seed is added
+         * to a batch. If batch scanners are being prefetched then this is called
+         * on the thread preparing the batches, ahead of the batch being read.
+         *
+         * @param seed the seed added to the batch
+         * @throws RetrieverException if the Bloom filter could not be updated
+         */
         protected abstract void updateBloomFilterIfRequired(final EntityId seed) throws RetrieverException;
 
-        protected void updateScanner() throws RetrieverException {
-            // Read through the first N entities (where N =
-            // maxEntriesForBatchScanner), create the associated ranges
-            // and add them to a set.
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsAIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                final EntityId seed = idsAIterator.next();
-                currentSeeds.add(seed.getVertex());
-                count++;
-                try {
-                    ranges.addAll(rangeFactory.getRange(seed, operation));
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed", e);
-                }
-                updateBloomFilterIfRequired(seed);
+        /**
+         * Updates the client side Bloom filter when a batch of seeds starts
+         * being read.
+         *
+         * @param seeds the vertices of the seeds in the batch
+         * @throws RetrieverException if the Bloom filter could not be updated
+         */
+        protected abstract void updateClientSideFilterIfRequired(final Set<Object> seeds) throws RetrieverException;
+
+        /**
+         * Moves on to the scanner for the next batch of seeds.
+         *
+         * @return true if there was another batch of seeds, otherwise false
+         * @throws RetrieverException if the scanner for the next batch could not be created
+         */
+        protected boolean updateScanner() throws RetrieverException {
+            if (null == scanners) {
+                scanners = getScanners(this::nextBatch, this::getBatchScanner);
             }
 
+            final BatchScannerPipeline.ScannedBatch<SeedBatch> batch;
             try {
-                scanner = getScanner(ranges);
-            } catch (final TableNotFoundException | StoreException e) {
+                batch = scanners.nextBatch();
+            } catch (final RetrieverException e) {
+                closeScanners();
                 CloseableUtil.close(idsAIterator);
                 CloseableUtil.close(operation);
-                throw new RetrieverException(e);
+                throw e;
             }
-            try {
-                scanner.addScanIterator(iteratorSettingFactory.getBloomFilterIteratorSetting(filter));
-            } catch (final IteratorSettingException e) {
-                LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
+            if (null == batch) {
+                scannerIterator = Collections.emptyIterator();
+                return false;
             }
-            scannerIterator = scanner.iterator();
+
+            currentSeeds = batch.getBatch().getSeeds();
+            updateClientSideFilterIfRequired(currentSeeds);
+            scannerIterator = batch.iterator();
+            return true;
         }
 
         /**
@@ -386,22 +421,71 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
          */
         protected abstract boolean secondaryCheck(final Element elm);
 
-        private boolean _hasNext() throws RetrieverException {
-            // If current scanner has next then return true.
-            if (scannerIterator.hasNext()) {
-                return true;
+        private SeedBatch nextBatch() throws RetrieverException {
+            if (!idsAIterator.hasNext()) {
+                return null;
+            }
+
+            // Read through the next N entities (where N =
+            // maxEntriesForBatchScanner), create the associated ranges
+            // and add them to a set.
+            int count = 0;
+            final Set<Range> ranges = new HashSet<>();
+            final Set<Object> seeds = new HashSet<>();
+            while (idsAIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                final EntityId seed = idsAIterator.next();
+                seeds.add(seed.getVertex());
+                count++;
+                try {
+                    ranges.addAll(rangeFactory.getRange(seed, operation));
+                } catch (final RangeFactoryException e) {
+                    LOGGER.error("Failed to create a range from given seed", e);
+                }
+                updateBloomFilterIfRequired(seed);
             }
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
-            // then return false.
-            while (idsAIterator.hasNext() && !scannerIterator.hasNext()) {
-                updateScanner();
+            return new SeedBatch(ranges, seeds);
+        }
+
+        private BatchScanner getBatchScanner(final SeedBatch batch) throws TableNotFoundException, StoreException {
+            final BatchScanner scanner = getScanner(batch.getRanges());
+            try {
+                scanner.addScanIterator(iteratorSettingFactory.getBloomFilterIteratorSetting(filter));
+            } catch (final IteratorSettingException e) {
+                LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
             }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
+            return scanner;
+        }
+
+        private boolean _hasNext() throws RetrieverException {
+            // If current scanner is spent then move on to the scanner for
+            // the next batch of seeds, if there is one.
+            while (!scannerIterator.hasNext()) {
+                if (!updateScanner()) {
+                    return false;
+                }
             }
-            return scannerIterator.hasNext();
+            return true;
+        }
+    }
+
+    /**
+     * A batch of seeds along with the ranges to query for them.
+     */
+    private static final class SeedBatch {
+        private final Set<Range> ranges;
+        private final Set<Object> seeds;
+
+        private SeedBatch(final Set<Range> ranges, final Set<Object> seeds) {
+            this.ranges = ranges;
+            this.seeds = seeds;
+        }
+
+        private Set<Range> getRanges() {
+            return ranges;
+        }
+
+        private Set<Object> getSeeds() {
+            return seeds;
         }
     }
 }
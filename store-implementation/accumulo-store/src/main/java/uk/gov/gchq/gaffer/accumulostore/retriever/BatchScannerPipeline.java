@@ -0,0 +1,282 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@code BatchScannerPipeline} opens a {@link BatchScanner} for each of a sequence of batches
+ * of seeds, so that the batches can be consumed one after another.
+ * <p>
+ * If the number of scanners to prefetch is 0 then the next batch is prepared and its scanner
+ * opened when the current one has been consumed. Otherwise a background thread prepares the
+ * batches and opens their scanners ahead of the one being consumed. Opening a scanner starts
+ * its lookups, so the results for the next batch are being fetched while the current batch is
+ * consumed rather than after it. The background thread stops once the given number of scanners
+ * are waiting to be consumed, and each scanner only buffers a bounded number of results, so the
+ * memory used stays bounded however many seeds there are.
+ * <p>
+ * The batches are prepared on the background thread, so any state that is updated when a batch
+ * is prepared should only be relied on by the consumer once it has received that batch.
+ * The background thread is taken from an executor owned by the store. If none of its threads
+ * are free then the scanners are opened when they are needed instead. Closing the pipeline
+ * waits for the background thread to stop, so the batch source can be closed safely afterwards.
+ *
+ * @param <B> the type of the batches
+ */
+public class BatchScannerPipeline<B> implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchScannerPipeline.class);
+    private static final Object END = new Object();
+
+    private final BatchSource<B> batchSource;
+    private final ScannerFactory<B> scannerFactory;
+    private final ExecutorService executor;
+    private final BlockingQueue<Object> prefetched;
+    private final Lock prefetching = new ReentrantLock();
+    private Future<?> prefetcher;
+    private boolean prefetchRejected;
+    private ScannedBatch<B> current;
+    private boolean finished;
+    private volatile boolean closed;
+
+    /**
+     * @param batchSource        the source of the batches
+     * @param scannerFactory     the factory used to open a scanner for each batch
+     * @param executor           the executor used to open the scanners ahead of the one being
+     *                           consumed, or null to open each scanner when it is needed
+     * @param scannersToPrefetch the maximum number of scanners to open ahead of the one being
+     *                           consumed, or 0 to open each scanner when it is needed
+     */
+    public BatchScannerPipeline(final BatchSource<B> batchSource,
+                                final ScannerFactory<B> scannerFactory,
+                                final ExecutorService executor,
+                                final int scannersToPrefetch) {
+        if (scannersToPrefetch < 0) {
+            throw new IllegalArgumentException("The number of scanners to prefetch must not be negative");
+        }
+        this.batchSource = batchSource;
+        this.scannerFactory = scannerFactory;
+        this.executor = executor;
+        this.prefetched = scannersToPrefetch > 0 && null != executor ? new ArrayBlockingQueue<>(scannersToPrefetch) : null;
+    }
+
+    /**
+     * Closes the scanner for the current batch and moves on to the next batch.
+     *
+     * @return the next batch along with its scanner, or null if there are no more batches
+     * @throws RetrieverException if the next batch could not be prepared or its scanner opened
+     */
+    public ScannedBatch<B> nextBatch() throws RetrieverException {
+        closeCurrent();
+        if (finished || closed) {
+            return null;
+        }
+
+        if (null == prefetcher && !prefetchRejected && null != prefetched) {
+            try {
+                prefetcher = executor.submit(this::prefetch);
+            } catch (final RejectedExecutionException e) {
+                LOGGER.debug("No threads free to prefetch batch scanners, so they will be opened when needed");
+                prefetchRejected = true;
+            }
+        }
+
+        if (null == prefetcher) {
+            current = openBatch();
+        } else {
+            current = takePrefetched();
+        }
+        if (null == current) {
+            finished = true;
+        }
+        return current;
+    }
+
+    /**
+     * Closes the scanners and stops any prefetching. This waits for the background thread to
+     * stop using the batch source before returning.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (null != prefetcher) {
+            prefetcher.cancel(true);
+            // Wait for the prefetch task to finish with the batch source if it has started
+            prefetching.lock();
+            prefetching.unlock();
+        }
+        closeCurrent();
+        closePrefetched();
+    }
+
+    private ScannedBatch<B> openBatch() throws RetrieverException {
+        final B batch = batchSource.nextBatch();
+        if (null == batch) {
+            return null;
+        }
+        final BatchScanner scanner;
+        try {
+            scanner = scannerFactory.createScanner(batch);
+        } catch (final TableNotFoundException | StoreException e) {
+            throw new RetrieverException(e);
+        }
+        return new ScannedBatch<>(batch, scanner);
+    }
+
+    private void prefetch() {
+        prefetching.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            ScannedBatch<B> batch;
+            do {
+                batch = openBatch();
+                try {
+                    prefetched.put(null != batch ? batch : END);
+                } catch (final InterruptedException e) {
+                    if (null != batch) {
+                        batch.close();
+                    }
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            } while (null != batch && !closed);
+        } catch (final RetrieverException | RuntimeException e) {
+            LOGGER.debug("Failed to open the next batch scanner", e);
+            try {
+                prefetched.put(e);
+            } catch (final InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            prefetching.unlock();
+        }
+    }
+
+    private ScannedBatch<B> takePrefetched() throws RetrieverException {
+        final Object item;
+        try {
+            item = prefetched.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RetrieverException("Interrupted whilst waiting for the next batch scanner", e);
+        }
+
+        if (END == item) {
+            return null;
+        }
+        if (item instanceof RetrieverException) {
+            throw (RetrieverException) item;
+        }
+        if (item instanceof RuntimeException) {
+            throw (RuntimeException) item;
+        }
+        return (ScannedBatch<B>) item;
+    }
+
+    private void closeCurrent() {
+        if (null != current) {
+            current.close();
+            current = null;
+        }
+    }
+
+    private void closePrefetched() {
+        if (null != prefetched) {
+            Object item = prefetched.poll();
+            while (null != item) {
+                if (item instanceof ScannedBatch) {
+                    ((ScannedBatch) item).close();
+                }
+                item = prefetched.poll();
+            }
+        }
+    }
+
+    /**
+     * Supplies the batches of seeds.
+     *
+     * @param <B> the type of the batches
+     */
+    @FunctionalInterface
+    public interface BatchSource<B> {
+        /**
+         * @return the next batch, or null if there are no more batches
+         * @throws RetrieverException if the batch could not be prepared
+         */
+        B nextBatch() throws RetrieverException;
+    }
+
+    /**
+     * Opens the scanner for a batch of seeds.
+     *
+     * @param <B> the type of the batches
+     */
+    @FunctionalInterface
+    public interface ScannerFactory<B> {
+        BatchScanner createScanner(final B batch) throws TableNotFoundException, StoreException;
+    }
+
+    /**
+     * A batch along with the scanner that has been opened for it.
+     *
+     * @param <B> the type of the batch
+     */
+    public static class ScannedBatch<B> implements Closeable {
+        private final B batch;
+        private final BatchScanner scanner;
+        private final Iterator<Entry<Key, Value>> iterator;
+
+        ScannedBatch(final B batch, final BatchScanner scanner) {
+            this.batch = batch;
+            this.scanner = scanner;
+            this.iterator = scanner.iterator();
+        }
+
+        public B getBatch() {
+            return batch;
+        }
+
+        public Iterator<Entry<Key, Value>> iterator() {
+            return iterator;
+        }
+
+        @Override
+        public void close() {
+            scanner.close();
+        }
+    }
+}
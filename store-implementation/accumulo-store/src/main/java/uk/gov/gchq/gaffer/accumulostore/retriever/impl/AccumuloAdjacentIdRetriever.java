@@ -16,8 +16,6 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
-import org.apache.accumulo.core.client.BatchScanner;
-import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
@@ -29,6 +27,7 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionE
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloRetriever;
+import uk.gov.gchq.gaffer.accumulostore.retriever.BatchScannerPipeline;
 import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
@@ -101,32 +100,21 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
 
     private final class EntityIdIterator implements CloseableIterator<EntityId> {
         private final Iterator<? extends ElementId> idsIterator;
-        private int count;
-        private BatchScanner scanner;
+        private final BatchScannerPipeline<Set<Range>> scanners;
         private Iterator<Map.Entry<Key, Value>> scannerIterator;
         private EntityId nextId;
 
         private EntityIdIterator(final Iterator<? extends ElementId> idIterator) throws RetrieverException {
             idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
-
+            scanners = getScanners(this::nextRanges);
             try {
-                scanner = getScanner(ranges);
+                scannerIterator = scanners.nextBatch().iterator();
             } catch (final Exception e) {
+                scanners.close();
                 CloseableUtil.close(idsIterator);
                 CloseableUtil.close(ids);
-                throw new RetrieverException(e);
+                throw e instanceof RetrieverException ? (RetrieverException) e : new RetrieverException(e);
             }
-            scannerIterator = scanner.iterator();
         }
 
         @Override
@@ -135,6 +123,18 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
             if (null != nextId) {
                 return true;
             }
+            while (null != scannerIterator) {
+                if (nextFromScanner()) {
+                    return true;
+                }
+                // If current scanner is spent then move on to the scanner
+                // for the next batch of seeds, if there is one.
+                scannerIterator = nextScannerIterator();
+            }
+            return false;
+        }
+
+        private boolean nextFromScanner() {
             while (scannerIterator.hasNext()) {
                 final Map.Entry<Key, Value> entry = scannerIterator.next();
 
@@ -181,36 +181,7 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
                 }
             }
 
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
-            // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
-                    }
-                }
-                scanner.close();
-                try {
-                    scanner = getScanner(ranges);
-                } catch (final TableNotFoundException | StoreException e) {
-                    LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
-                    return false;
-                }
-                scannerIterator = scanner.iterator();
-            }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
-                return false;
-            } else {
-                return hasNext();
-            }
+            return false;
         }
 
         @Override
@@ -232,9 +203,35 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
 
         @Override
         public void close() {
-            if (null != scanner) {
-                scanner.close();
+            scanners.close();
+        }
+
+        private Set<Range> nextRanges() {
+            if (!idsIterator.hasNext()) {
+                return null;
+            }
+            int count = 0;
+            final Set<Range> ranges = new HashSet<>();
+            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                count++;
+                try {
+                    addToRanges(idsIterator.next(), ranges);
+                } catch (final RangeFactoryException e) {
+                    LOGGER.error("Failed to create a range from given seed", e);
+                }
+            }
+            return ranges;
+        }
+
+        private Iterator<Map.Entry<Key, Value>> nextScannerIterator() {
+            final BatchScannerPipeline.ScannedBatch<Set<Range>> batch;
+            try {
+                batch = scanners.nextBatch();
+            } catch (final RetrieverException e) {
+                LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
+                return null;
             }
+            return null != batch ? batch.iterator() : null;
         }
     }
 
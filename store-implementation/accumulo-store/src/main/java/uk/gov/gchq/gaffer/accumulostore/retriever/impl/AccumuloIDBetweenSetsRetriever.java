@@ -34,6 +34,7 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -68,6 +69,16 @@ import java.util.Set;
  * out edges that are definitely not to set B. The second, larger,
  * {@link org.apache.hadoop.util.bloom.BloomFilter} is used client-side to
  * further reduce the chances of false positives making it to the user.
+ * <p>
+ * If {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#getSeedsBPerChunkForBetweenSets()}
+ * is greater than 0 then the second mode instead reads set B in chunks of that
+ * size. Each chunk is held in memory and loaded into a
+ * {@link org.apache.hadoop.util.bloom.BloomFilter} that is passed to the
+ * filtering iterator, and then set A is queried for in batches. The secondary
+ * check uses the chunk of set B itself, so no false positives are returned and
+ * the memory used is bounded by the chunk size, however big the sets are. The
+ * cost is that set A is queried for once per chunk of set B, so set A must be
+ * able to be iterated over more than once.
  */
 public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElementsBetweenSets> {
     private Iterable<? extends EntityId> seedSetA;
@@ -116,7 +127,10 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
     }
 
     @Override
-    protected ElementIteratorFromBatches createElementIteratorFromBatches() throws RetrieverException {
+    protected AbstractElementIteratorFromBatches createElementIteratorFromBatches() throws RetrieverException {
+        if (store.getProperties().getSeedsBPerChunkForBetweenSets() > 0) {
+            return new ChunkedElementIteratorFromBatches();
+        }
         return new ElementIteratorFromBatches();
     }
 
@@ -167,6 +181,11 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
             // no action required.
         }
 
+        @Override
+        protected void updateClientSideFilterIfRequired(final Set<Object> seeds) throws RetrieverException {
+            // no action required.
+        }
+
         @Override
         protected boolean secondaryCheck(final Element elm) {
             if (Entity.class.isInstance(elm)) {
@@ -197,4 +216,83 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
             return destIsInCurrent && sourceMatchesClientFilter;
         }
     }
+
+    private class ChunkedElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
+        private final int seedsBPerChunk;
+        private final Set<Object> currentSeedsB = new HashSet<>();
+        private boolean firstChunk = true;
+
+        ChunkedElementIteratorFromBatches() throws RetrieverException {
+            super(null, null);
+            seedsBPerChunk = store.getProperties().getSeedsBPerChunkForBetweenSets();
+            try {
+                idsAIterator = seedSetAIter;
+                readNextChunkOfSeedsB();
+                updateScanner();
+            } catch (final Exception e) {
+                CloseableUtil.close(idsAIterator);
+                CloseableUtil.close(seedSetBIter);
+
+                throw e;
+            }
+        }
+
+        @Override
+        protected boolean updateScanner() throws RetrieverException {
+            // When set A has been queried for with the current chunk of set B,
+            // move on to the next chunk of set B and query for set A again.
+            while (!super.updateScanner()) {
+                if (!seedSetBIter.hasNext()) {
+                    return false;
+                }
+                closeScanners();
+                CloseableUtil.close(idsAIterator);
+                readNextChunkOfSeedsB();
+                idsAIterator = seedSetA.iterator();
+                firstChunk = false;
+            }
+            return true;
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            CloseableUtil.close(idsAIterator);
+            CloseableUtil.close(seedSetBIter);
+        }
+
+        @Override
+        protected void updateBloomFilterIfRequired(final EntityId seed) throws RetrieverException {
+            // no action required.
+        }
+
+        @Override
+        protected void updateClientSideFilterIfRequired(final Set<Object> seeds) throws RetrieverException {
+            // no action required.
+        }
+
+        @Override
+        protected boolean secondaryCheck(final Element elm) {
+            if (Entity.class.isInstance(elm)) {
+                // Entities are returned for the first chunk only, so they
+                // are not returned once for each chunk of set B.
+                return firstChunk;
+            }
+            final Edge edge = (Edge) elm;
+            final Object source = edge.getSource();
+            final Object destination = edge.getDestination();
+            return currentSeeds.contains(source) && currentSeedsB.contains(destination)
+                    || currentSeeds.contains(destination) && currentSeedsB.contains(source);
+        }
+
+        private void readNextChunkOfSeedsB() throws RetrieverException {
+            currentSeedsB.clear();
+            while (seedSetBIter.hasNext() && currentSeedsB.size() < seedsBPerChunk) {
+                currentSeedsB.add(seedSetBIter.next().getVertex());
+            }
+            filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
+                    currentSeedsB.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            addToBloomFilter(currentSeedsB, filter);
+        }
+    }
 }
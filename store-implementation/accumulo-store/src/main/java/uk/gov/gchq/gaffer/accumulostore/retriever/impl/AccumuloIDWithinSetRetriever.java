@@ -154,7 +154,15 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
             // we next query for the second batch of seeds and the Bloom filters
             // contain both the first batch and the second batch
             // (and so we find edges from the second batch to either the first or second batches).
-            addToBloomFilter(seed, filter, clientSideFilter);
+            addToBloomFilter(seed.getVertex(), filter);
+        }
+
+        @Override
+        protected void updateClientSideFilterIfRequired(final Set<Object> seeds) throws RetrieverException {
+            // The client side Bloom filter is only updated once the batch starts
+            // being read, so that it does not contain any batches that have been
+            // prefetched but not read yet.
+            addToBloomFilter(seeds, clientSideFilter);
         }
 
         @Override
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.apache.hadoop.io.Text;
+
+/**
+ * A {@code ColumnVisibilityCache} caches the parsed {@link ColumnVisibility} for each
+ * visibility expression, so that the expression does not have to be parsed again for
+ * every key that has it. Most graphs only have a small number of distinct visibilities.
+ * <p>
+ * The cache is thread safe and only holds up to a maximum number of expressions.
+ */
+public class ColumnVisibilityCache {
+    public static final int DEFAULT_CACHE_SIZE = 1000;
+
+    private final Cache<Text, ColumnVisibility> cache;
+
+    public ColumnVisibilityCache() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public ColumnVisibilityCache(final int cacheSize) {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    /**
+     * Gets the parsed visibility for an expression.
+     *
+     * @param expression the visibility expression
+     * @return the parsed visibility
+     */
+    public ColumnVisibility get(final Text expression) {
+        ColumnVisibility visibility = cache.getIfPresent(expression);
+        if (null == visibility) {
+            visibility = new ColumnVisibility(expression);
+            cache.put(new Text(expression), visibility);
+        }
+        return visibility;
+    }
+
+    /**
+     * @return the approximate number of expressions in the cache
+     */
+    public long size() {
+        return cache.size();
+    }
+}
@@ -61,9 +61,12 @@ public class AccumuloPropertiesTest {
         final String NUM_THREADS_WRITER = "5";
         final String MAX_TIME_OUT = "500";
         final String MAX_BUFFER = "200000000";
+        final String NUM_THREADS_CONVERSION = "4";
+        final String INGEST_BATCH_SIZE = "500";
         final String ZOOKEEPERS = "accumulo.zookeepers";
         final String INSTANCE = "accumulo.instance";
         final String NUM_THREADS_SCANNER = "8";
+        final String SCANNERS_TO_PREFETCH = "2";
         final String CLIENT_SIDE_BLOOM = "786432000";
         final String FALSE_POSITIVE_RATE = "0.0003";
         final String MAX_BLOOM_FILTER = "7864320";
@@ -75,9 +78,13 @@ public class AccumuloPropertiesTest {
         props.setNumThreadsForBatchWriter(NUM_THREADS_WRITER);
         props.setMaxTimeOutForBatchWriterInMilliseconds(MAX_TIME_OUT);
         props.setMaxBufferSizeForBatchWriterInBytes(MAX_BUFFER);
+        props.setNumThreadsForIngestConversion(NUM_THREADS_CONVERSION);
+        props.setIngestBatchSize(INGEST_BATCH_SIZE);
+        props.setIngestPreAggregation(true);
         props.setZookeepers(ZOOKEEPERS);
         props.setInstance(INSTANCE);
         props.setThreadsForBatchScanner(NUM_THREADS_SCANNER);
+        props.setBatchScannersToPrefetch(SCANNERS_TO_PREFETCH);
         props.setClientSideBloomFilterSize(CLIENT_SIDE_BLOOM);
         props.setFalsePositiveRate(FALSE_POSITIVE_RATE);
         props.setMaxBloomFilterToPassToAnIterator(MAX_BLOOM_FILTER);
@@ -90,9 +97,13 @@ public class AccumuloPropertiesTest {
         assertEquals(Integer.parseInt(NUM_THREADS_WRITER), props.getNumThreadsForBatchWriter());
         assertEquals(Long.parseLong(MAX_TIME_OUT), props.getMaxTimeOutForBatchWriterInMilliseconds().longValue());
         assertEquals(Long.parseLong(MAX_BUFFER), props.getMaxBufferSizeForBatchWriterInBytes().longValue());
+        assertEquals(Integer.parseInt(NUM_THREADS_CONVERSION), props.getNumThreadsForIngestConversion());
+        assertEquals(Integer.parseInt(INGEST_BATCH_SIZE), props.getIngestBatchSize());
+        assertTrue(props.getIngestPreAggregation());
         assertEquals(ZOOKEEPERS, props.getZookeepers());
         assertEquals(INSTANCE, props.getInstance());
         assertEquals(Integer.parseInt(NUM_THREADS_SCANNER), props.getThreadsForBatchScanner());
+        assertEquals(Integer.parseInt(SCANNERS_TO_PREFETCH), props.getBatchScannersToPrefetch());
         assertEquals(Integer.parseInt(CLIENT_SIDE_BLOOM), props.getClientSideBloomFilterSize());
         assertEquals(Double.parseDouble(FALSE_POSITIVE_RATE), props.getFalsePositiveRate(), 0.0001D);
         assertEquals(Integer.parseInt(MAX_BLOOM_FILTER), props.getMaxBloomFilterToPassToAnIterator());
@@ -57,6 +57,7 @@ import uk.gov.gchq.gaffer.operation.impl.Validate;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateElements;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
@@ -80,11 +81,15 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -352,6 +357,65 @@ public class AccumuloStoreTest {
         }
     }
 
+    @Test
+    public void shouldInsertElementsUsingMultipleConversionThreadsAndPreAggregation() throws Exception {
+        // Given
+        final int vertices = 200;
+        final int copies = 10;
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setNumThreadsForIngestConversion("4");
+        properties.setIngestBatchSize("20");
+        properties.setIngestPreAggregation(true);
+        final AccumuloStore store = new SingleUseMiniAccumuloStore();
+        store.initialise("parallelIngestGraph", SCHEMA, properties);
+
+        // Each batch holds many different vertices of the same group, so
+        // several batches of that group are aggregated at the same time
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < vertices * copies; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY, "vertex" + (i % vertices));
+            entity.putProperty(TestPropertyNames.COUNT, 1);
+            elements.add(entity);
+        }
+
+        // When
+        store.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new Context(new User()));
+
+        // Then
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build();
+        try (final CloseableIterable<? extends Element> results = store.execute(getAllElements, new Context(new User()))) {
+            assertEquals(vertices, Iterables.size(results));
+            for (final Element result : results) {
+                assertEquals(copies, result.getProperty(TestPropertyNames.COUNT), result.toString());
+            }
+        }
+    }
+
+    @Test
+    public void shouldShareIngestConversionExecutorUntilStoreIsInitialisedAgain() throws StoreException {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setNumThreadsForIngestConversion("4");
+        final AccumuloStore store = new SingleUseMiniAccumuloStore();
+        store.preInitialise("conversionExecutorGraph", SCHEMA, properties);
+        final ExecutorService executor = store.getIngestConversionExecutor();
+
+        // When
+        store.preInitialise("conversionExecutorGraph", SCHEMA, properties);
+
+        // Then
+        assertNotNull(executor);
+        assertTrue(executor.isShutdown());
+        assertNotSame(executor, store.getIngestConversionExecutor());
+        assertFalse(store.getIngestConversionExecutor().isShutdown());
+    }
+
     @Test
     public void testStoreReturnsHandlersForRegisteredOperationsGaffer1() {
         testStoreReturnsHandlersForRegisteredOperations(GAFFER_1_KEY_STORE);
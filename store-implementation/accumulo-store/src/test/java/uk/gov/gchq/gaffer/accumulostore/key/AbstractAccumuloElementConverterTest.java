@@ -308,6 +308,44 @@ public abstract class AbstractAccumuloElementConverterTest<T extends AccumuloEle
         assertEquals(8, deSerialisedProperties.get(AccumuloPropertyNames.COUNT));
     }
 
+    @Test
+    public void shouldGetSinglePropertyFromValue() {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 60);
+        properties.put(AccumuloPropertyNames.PROP_2, null);
+        properties.put(AccumuloPropertyNames.PROP_3, 299);
+        properties.put(AccumuloPropertyNames.PROP_4, 10);
+        properties.put(AccumuloPropertyNames.COUNT, 8);
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+
+        // When / Then
+        assertEquals(60, converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.PROP_1));
+        assertNull(converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.PROP_2));
+        assertEquals(299, converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.PROP_3));
+        assertEquals(8, converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.COUNT));
+        assertNull(converter.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertNull(converter.getPropertyFromValue(TestGroups.EDGE, value, "unknownProperty"));
+    }
+
+    @Test
+    public void shouldGetSinglePropertyFromColumnQualifier() {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER_2, 2);
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER_3, 3);
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER_4, 4);
+        properties.put(AccumuloPropertyNames.PROP_1, 5);
+        final byte[] columnQualifier = converter.buildColumnQualifier(TestGroups.EDGE, properties);
+
+        // When / Then
+        assertEquals(1, converter.getPropertyFromColumnQualifier(TestGroups.EDGE, columnQualifier, AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertEquals(3, converter.getPropertyFromColumnQualifier(TestGroups.EDGE, columnQualifier, AccumuloPropertyNames.COLUMN_QUALIFIER_3));
+        assertEquals(4, converter.getPropertyFromColumnQualifier(TestGroups.EDGE, columnQualifier, AccumuloPropertyNames.COLUMN_QUALIFIER_4));
+        assertNull(converter.getPropertyFromColumnQualifier(TestGroups.EDGE, columnQualifier, AccumuloPropertyNames.PROP_1));
+    }
+
     @Test
     public void shouldTruncatePropertyBytes() {
         // Given
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class BatchScannerPipelineTest {
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldReturnBatchesInOrderAndCloseEachScannerWhenFinishedWith() throws RetrieverException {
+        shouldReturnBatchesInOrderAndCloseEachScannerWhenFinishedWith(0);
+    }
+
+    @Test
+    public void shouldReturnBatchesInOrderAndCloseEachScannerWhenFinishedWithWhenPrefetching() throws RetrieverException {
+        shouldReturnBatchesInOrderAndCloseEachScannerWhenFinishedWith(2);
+    }
+
+    @Test
+    public void shouldOpenScannersAheadOfTheBatchBeingRead() throws RetrieverException {
+        // Given
+        final Map<Integer, BatchScanner> scanners = new ConcurrentHashMap<>();
+        final BatchScannerPipeline<Integer> pipeline = new BatchScannerPipeline<>(
+                batchSource(1, 2, 3), scannerFactory(scanners), executor, 1);
+
+        // When
+        final BatchScannerPipeline.ScannedBatch<Integer> first = pipeline.nextBatch();
+
+        // Then
+        assertEquals(1, (int) first.getBatch());
+        verify(scanners.computeIfAbsent(2, k -> mockScanner()), timeout(5000)).iterator();
+        pipeline.close();
+    }
+
+    @Test
+    public void shouldCloseCurrentAndPrefetchedScannersWhenClosed() throws RetrieverException {
+        // Given
+        final Map<Integer, BatchScanner> scanners = new ConcurrentHashMap<>();
+        final BatchScannerPipeline<Integer> pipeline = new BatchScannerPipeline<>(
+                batchSource(1, 2, 3), scannerFactory(scanners), executor, 1);
+        pipeline.nextBatch();
+        final BatchScanner second = scanners.computeIfAbsent(2, k -> mockScanner());
+        verify(second, timeout(5000)).iterator();
+
+        // When
+        pipeline.close();
+
+        // Then
+        verify(scanners.get(1)).close();
+        verify(second, timeout(5000)).close();
+        assertNull(pipeline.nextBatch());
+    }
+
+    @Test
+    public void shouldRethrowExceptionFromOpeningScannerOnceEarlierBatchesHaveBeenRead() throws RetrieverException {
+        // Given
+        final TableNotFoundException exception = new TableNotFoundException("id", "table", "not found");
+        final BatchScanner scanner = mockScanner();
+        final BatchScannerPipeline<Integer> pipeline = new BatchScannerPipeline<>(
+                batchSource(1, 2),
+                batch -> {
+                    if (2 == batch) {
+                        throw exception;
+                    }
+                    return scanner;
+                },
+                executor, 2);
+
+        // When
+        final BatchScannerPipeline.ScannedBatch<Integer> first = pipeline.nextBatch();
+        final RetrieverException actual = assertThrows(RetrieverException.class, pipeline::nextBatch);
+
+        // Then
+        assertEquals(1, (int) first.getBatch());
+        assertSame(exception, actual.getCause());
+        verify(scanner).close();
+    }
+
+    @Test
+    public void shouldWaitForPrefetchToStopUsingBatchSourceWhenClosed() throws Exception {
+        // Given
+        final CountDownLatch preparingSecondBatch = new CountDownLatch(1);
+        final AtomicBoolean usingBatchSource = new AtomicBoolean();
+        final AtomicInteger batchCount = new AtomicInteger();
+        final BatchScannerPipeline<Integer> pipeline = new BatchScannerPipeline<>(
+                () -> {
+                    final int batch = batchCount.incrementAndGet();
+                    if (batch > 1) {
+                        usingBatchSource.set(true);
+                        preparingSecondBatch.countDown();
+                        try {
+                            Thread.sleep(200);
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        usingBatchSource.set(false);
+                        return null;
+                    }
+                    return batch;
+                },
+                batch -> mockScanner(), executor, 1);
+        pipeline.nextBatch();
+        assertTrue(preparingSecondBatch.await(5, TimeUnit.SECONDS));
+
+        // When
+        pipeline.close();
+
+        // Then
+        assertFalse(usingBatchSource.get());
+    }
+
+    @Test
+    public void shouldOpenScannersWhenNeededIfExecutorRejectsPrefetch() throws RetrieverException {
+        // Given
+        final ExecutorService rejectingExecutor = mock(ExecutorService.class);
+        given(rejectingExecutor.submit(any(Runnable.class))).willThrow(new RejectedExecutionException());
+        final Map<Integer, BatchScanner> scanners = new ConcurrentHashMap<>();
+        final BatchScannerPipeline<Integer> pipeline = new BatchScannerPipeline<>(
+                batchSource(1, 2), scannerFactory(scanners), rejectingExecutor, 1);
+
+        // When
+        final BatchScannerPipeline.ScannedBatch<Integer> first = pipeline.nextBatch();
+
+        // Then
+        assertEquals(1, (int) first.getBatch());
+        assertFalse(scanners.containsKey(2));
+        assertEquals(2, (int) pipeline.nextBatch().getBatch());
+        assertNull(pipeline.nextBatch());
+        pipeline.close();
+    }
+
+    @Test
+    public void shouldThrowExceptionIfScannersToPrefetchIsNegative() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchScannerPipeline<>(batchSource(1), batch -> mockScanner(), executor, -1));
+    }
+
+    private void shouldReturnBatchesInOrderAndCloseEachScannerWhenFinishedWith(final int scannersToPrefetch)
+            throws RetrieverException {
+        // Given
+        final Map<Integer, BatchScanner> scanners = new ConcurrentHashMap<>();
+        final BatchScannerPipeline<Integer> pipeline = new BatchScannerPipeline<>(
+                batchSource(1, 2, 3), scannerFactory(scanners), executor, scannersToPrefetch);
+
+        // When
+        final List<Integer> batches = new ArrayList<>();
+        BatchScannerPipeline.ScannedBatch<Integer> batch = pipeline.nextBatch();
+        while (null != batch) {
+            batches.add(batch.getBatch());
+            verify(scanners.get(batch.getBatch()), never()).close();
+            batch = pipeline.nextBatch();
+        }
+
+        // Then
+        assertEquals(Arrays.asList(1, 2, 3), batches);
+        for (final BatchScanner scanner : scanners.values()) {
+            verify(scanner).close();
+        }
+        pipeline.close();
+    }
+
+    private static BatchScannerPipeline.BatchSource<Integer> batchSource(final Integer... batches) {
+        final Iterator<Integer> iterator = Arrays.asList(batches).iterator();
+        return () -> iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private static BatchScannerPipeline.ScannerFactory<Integer> scannerFactory(final Map<Integer, BatchScanner> scanners) {
+        return batch -> scanners.computeIfAbsent(batch, k -> mockScanner());
+    }
+
+    private static BatchScanner mockScanner() {
+        final BatchScanner scanner = mock(BatchScanner.class);
+        given(scanner.iterator()).willReturn(Collections.emptyIterator());
+        return scanner;
+    }
+}
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
+import com.google.common.collect.Sets;
 import org.apache.hadoop.util.bloom.BloomFilter;
 import org.apache.hadoop.util.bloom.Key;
 import org.apache.hadoop.util.hash.Hash;
@@ -48,7 +49,9 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -471,6 +474,57 @@ public class AccumuloIDBetweenSetsRetrieverTest {
         assertThat(betweenA0A23_B_Results, IsCollectionContaining.hasItems(AccumuloTestData.A0_ENTITY, AccumuloTestData.A23_ENTITY));
     }
 
+    @Test
+    public void shouldGetCorrectEdgesInChunksOfSetBFromByteEntityStore() throws StoreException {
+        shouldGetCorrectEdgesInChunksOfSetB(BYTE_ENTITY_STORE);
+    }
+
+    @Test
+    public void shouldGetCorrectEdgesInChunksOfSetBFromGaffer1Store() throws StoreException {
+        shouldGetCorrectEdgesInChunksOfSetB(GAFFER_1_KEY_STORE);
+    }
+
+    private void shouldGetCorrectEdgesInChunksOfSetB(final AccumuloStore store) throws StoreException {
+        store.getProperties().setSeedsBPerChunkForBetweenSets("2");
+        try {
+            // Query for all edges between the set {A0} and the set {A1, A2, A3, A23, notpresent},
+            // which is read in 3 chunks
+            final GetElementsBetweenSets op = new GetElementsBetweenSets.Builder()
+                    .input(AccumuloTestData.SEED_A0_SET)
+                    .inputB(new EntitySeed("A1"), new EntitySeed("A2"), new EntitySeed("A3"),
+                            AccumuloTestData.SEED_A23, AccumuloTestData.NOT_PRESENT_ENTITY_SEED)
+                    .view(defaultView)
+                    .build();
+
+            final List<Element> results = new ArrayList<>();
+            AccumuloRetriever<?, Element> retriever = null;
+            try {
+                retriever = new AccumuloIDBetweenSetsRetriever(store, op, new User(), false,
+                        store.getKeyPackage().getIteratorFactory().getEdgeEntityDirectionFilterIteratorSetting(op));
+                for (final Element elm : retriever) {
+                    results.add(elm);
+                }
+            } finally {
+                if (retriever != null) {
+                    retriever.close();
+                }
+            }
+
+            // The entity for A0 should only be returned once, not once per chunk
+            assertEquals(5, results.size());
+            assertThat(results, IsCollectionContaining.hasItems(AccumuloTestData.EDGE_A0_A23, AccumuloTestData.A0_ENTITY));
+            final Set<Object> destinations = new HashSet<>();
+            for (final Element element : results) {
+                if (element instanceof Edge) {
+                    destinations.add(((Edge) element).getDestination());
+                }
+            }
+            assertEquals(Sets.newHashSet("A1", "A2", "A3", "A23"), destinations);
+        } finally {
+            store.getProperties().setSeedsBPerChunkForBetweenSets("0");
+        }
+    }
+
     private Set<Element> returnElementsFromOperation(final AccumuloStore store, final GetElementsBetweenSets operation, final User user, final boolean loadIntoMemory) throws StoreException {
 
         AccumuloRetriever<?, Element> retriever = null;
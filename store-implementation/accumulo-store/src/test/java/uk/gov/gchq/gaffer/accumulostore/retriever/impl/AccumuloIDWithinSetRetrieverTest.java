@@ -427,6 +427,25 @@ public class AccumuloIDWithinSetRetrieverTest {
         shouldLoadElementsWhenMoreElementsThanFitInBatchScanner(false, GAFFER_1_KEY_STORE);
     }
 
+    @Test
+    public void shouldReturnMoreElementsThanFitInBatchScannerWhenPrefetchingScannersByteStore() throws StoreException {
+        shouldLoadElementsWhenMoreElementsThanFitInPrefetchedBatchScanners(BYTE_ENTITY_STORE);
+    }
+
+    @Test
+    public void shouldReturnMoreElementsThanFitInBatchScannerWhenPrefetchingScannersGaffer1Store() throws StoreException {
+        shouldLoadElementsWhenMoreElementsThanFitInPrefetchedBatchScanners(GAFFER_1_KEY_STORE);
+    }
+
+    private void shouldLoadElementsWhenMoreElementsThanFitInPrefetchedBatchScanners(final AccumuloStore store) throws StoreException {
+        store.getProperties().setBatchScannersToPrefetch("2");
+        try {
+            shouldLoadElementsWhenMoreElementsThanFitInBatchScanner(false, store);
+        } finally {
+            store.getProperties().setBatchScannersToPrefetch("0");
+        }
+    }
+
     private void shouldLoadElementsWhenMoreElementsThanFitInBatchScanner(final boolean loadIntoMemory, final AccumuloStore store) throws StoreException {
         store.getProperties().setMaxEntriesForBatchScanner("1");
 
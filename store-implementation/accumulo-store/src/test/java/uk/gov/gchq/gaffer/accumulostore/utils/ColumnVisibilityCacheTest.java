@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ColumnVisibilityCacheTest {
+
+    @Test
+    public void shouldReturnSameVisibilityForSameExpression() {
+        // Given
+        final ColumnVisibilityCache cache = new ColumnVisibilityCache();
+
+        // When
+        final ColumnVisibility first = cache.get(new Text("public|private"));
+        final ColumnVisibility second = cache.get(new Text("public|private"));
+
+        // Then
+        assertSame(first, second);
+        assertArrayEquals(new ColumnVisibility("public|private").getExpression(), first.getExpression());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldNotBeAffectedByChangesToTheExpressionPassedIn() {
+        // Given
+        final ColumnVisibilityCache cache = new ColumnVisibilityCache();
+        final Text expression = new Text("public");
+        final ColumnVisibility publicVisibility = cache.get(expression);
+
+        // When
+        expression.set("private");
+        final ColumnVisibility privateVisibility = cache.get(expression);
+
+        // Then
+        assertArrayEquals("public".getBytes(), publicVisibility.getExpression());
+        assertArrayEquals("private".getBytes(), privateVisibility.getExpression());
+        assertSame(publicVisibility, cache.get(new Text("public")));
+    }
+}
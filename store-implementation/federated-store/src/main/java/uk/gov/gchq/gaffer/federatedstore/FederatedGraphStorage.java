@@ -16,6 +16,8 @@
 
 package uk.gov.gchq.gaffer.federatedstore;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,12 +66,24 @@ public class FederatedGraphStorage {
     public static final String USER_IS_ATTEMPTING_TO_OVERWRITE = "User is attempting to overwrite a graph within FederatedStore. GraphId: %s";
     public static final String ACCESS_IS_NULL = "Can not put graph into storage without a FederatedAccess key.";
     public static final String GRAPH_IDS_NOT_VISIBLE = "The following graphIds are not visible or do not exist: %s";
+    private static final long MERGED_CACHE_SIZE = 100;
     public static final String UNABLE_TO_MERGE_THE_SCHEMAS_FOR_ALL_OF_YOUR_FEDERATED_GRAPHS = "Unable to merge the schemas for all of your federated graphs: %s. You can limit which graphs to query for using the operation option: %s";
     private Map<FederatedAccess, Set<Graph>> storage = new HashMap<>();
     private FederatedStoreCache federatedStoreCache = new FederatedStoreCache();
     private Boolean isCacheEnabled = false;
     private GraphLibrary graphLibrary;
 
+    /**
+     * Merged schemas and common traits keyed on the ordered list of graphIds
+     * they were built from. The order is kept as part of the key because
+     * schemas are merged in graph order. Both caches are replaced whenever
+     * the graphs in storage change. A lookup takes the current cache before
+     * resolving the graphs, so a lookup that resolved the graphs before a
+     * change can only populate the discarded cache.
+     */
+    private volatile Cache<List<String>, Schema> mergedSchemaCache = createMergedCache();
+    private volatile Cache<List<String>, Set<StoreTrait>> mergedTraitsCache = createMergedCache();
+
     protected void startCacheServiceLoader() throws StorageException {
         if (CacheServiceLoader.isEnabled()) {
             isCacheEnabled = true;
@@ -128,6 +142,7 @@ public class FederatedGraphStorage {
                 } else {
                     existingGraphs.add(builtGraph);
                 }
+                invalidateMergedCaches();
             } catch (final Exception e) {
                 throw new StorageException("Error adding graph " + graphId + " to storage due to: " + e.getMessage(), e);
             }
@@ -203,7 +218,7 @@ public class FederatedGraphStorage {
     }
 
     private boolean remove(final String graphId, final Predicate<Entry<FederatedAccess, Set<Graph>>> entryPredicateForGraphRemoval) {
-        return storage.entrySet().stream()
+        final boolean isRemoved = storage.entrySet().stream()
                 .filter(entryPredicateForGraphRemoval)
                 .map(entry -> {
                     boolean isRemoved = false;
@@ -223,6 +238,21 @@ public class FederatedGraphStorage {
                 })
                 .collect(Collectors.toSet())
                 .contains(true);
+        if (isRemoved) {
+            invalidateMergedCaches();
+        }
+        return isRemoved;
+    }
+
+    private void invalidateMergedCaches() {
+        mergedSchemaCache = createMergedCache();
+        mergedTraitsCache = createMergedCache();
+    }
+
+    private static <V> Cache<List<String>, V> createMergedCache() {
+        return CacheBuilder.newBuilder()
+                .maximumSize(MERGED_CACHE_SIZE)
+                .build();
     }
 
     private void deleteFromCache(final String graphId) {
@@ -263,6 +293,7 @@ public class FederatedGraphStorage {
             return getSchema((Map<String, String>) null, context);
         }
 
+        final Cache<List<String>, Schema> cache = mergedSchemaCache;
         final List<String> graphIds = FederatedStoreUtil.getGraphIds(operation.getOptions());
         final Stream<Graph> graphs = getStream(context.getUser(), graphIds);
         final Builder schemaBuilder = new Builder();
@@ -279,7 +310,7 @@ public class FederatedGraphStorage {
                     }
                 });
             } else {
-                graphs.forEach(g -> schemaBuilder.merge(g.getSchema()));
+                return getMergedSchema(cache, graphs.collect(Collectors.toList()));
             }
         } catch (final SchemaException e) {
             final List<String> resultGraphIds = getStream(context.getUser(), graphIds).map(Graph::getGraphId).collect(Collectors.toList());
@@ -308,16 +339,39 @@ public class FederatedGraphStorage {
             return new Schema();
         }
 
+        final Cache<List<String>, Schema> cache = mergedSchemaCache;
         final List<String> graphIds = FederatedStoreUtil.getGraphIds(config);
-        final Stream<Graph> graphs = getStream(user, graphIds);
-        final Builder schemaBuilder = new Builder();
+        final List<Graph> graphs = getStream(user, graphIds).collect(Collectors.toList());
         try {
-            graphs.forEach(g -> schemaBuilder.merge(g.getSchema()));
+            return getMergedSchema(cache, graphs);
         } catch (final SchemaException e) {
-            final List<String> resultGraphIds = getStream(user, graphIds).map(Graph::getGraphId).collect(Collectors.toList());
+            final List<String> resultGraphIds = graphs.stream().map(Graph::getGraphId).collect(Collectors.toList());
             throw new SchemaException(String.format(UNABLE_TO_MERGE_THE_SCHEMAS_FOR_ALL_OF_YOUR_FEDERATED_GRAPHS, resultGraphIds, KEY_OPERATION_OPTIONS_GRAPH_IDS), e);
         }
-        return schemaBuilder.build();
+    }
+
+    /**
+     * Merges the schemas of the given graphs, reusing the result of a
+     * previous merge of the same graphs if the storage has not changed since.
+     *
+     * @param cache  the cache taken before the graphs were resolved.
+     * @param graphs the graphs to merge the schemas of, in merge order.
+     * @return the merged schema.
+     */
+    private static Schema getMergedSchema(final Cache<List<String>, Schema> cache, final List<Graph> graphs) {
+        final List<String> key = getGraphIdsKey(graphs);
+        Schema schema = cache.getIfPresent(key);
+        if (null == schema) {
+            final Builder schemaBuilder = new Builder();
+            graphs.forEach(g -> schemaBuilder.merge(g.getSchema()));
+            schema = schemaBuilder.build();
+            cache.put(key, schema);
+        }
+        return schema;
+    }
+
+    private static List<String> getGraphIdsKey(final Collection<Graph> graphs) {
+        return Collections.unmodifiableList(graphs.stream().map(Graph::getGraphId).collect(Collectors.toList()));
     }
 
     /**
@@ -361,14 +415,22 @@ public class FederatedGraphStorage {
      * @return the set of {@link StoreTrait} that are common for all visible graphs
      */
     public Set<StoreTrait> getTraits(final Map<String, String> config, final User user) {
+        final Cache<List<String>, Set<StoreTrait>> cache = mergedTraitsCache;
         final List<String> graphIds = FederatedStoreUtil.getGraphIds(config);
-        Collection<Graph> graphs = get(user, graphIds);
-
-        final Set<StoreTrait> traits = graphs.isEmpty() ? Sets.newHashSet() : Sets.newHashSet(StoreTrait.values());
-        for (final Graph graph : graphs) {
-            traits.retainAll(graph.getStoreTraits());
+        final Collection<Graph> graphs = get(user, graphIds);
+
+        final List<String> key = getGraphIdsKey(graphs);
+        Set<StoreTrait> traits = cache.getIfPresent(key);
+        if (null == traits) {
+            traits = graphs.isEmpty() ? Sets.newHashSet() : Sets.newHashSet(StoreTrait.values());
+            for (final Graph graph : graphs) {
+                traits.retainAll(graph.getStoreTraits());
+            }
+            traits = Collections.unmodifiableSet(traits);
+            cache.put(key, traits);
         }
-        return traits;
+        // Callers are free to modify the returned set
+        return Sets.newHashSet(traits);
     }
 
     private void validateAllGivenGraphIdsAreVisibleForUser(final User user, final Collection<String> graphIds) {
@@ -570,6 +632,7 @@ public class FederatedGraphStorage {
             for (final Entry<FederatedAccess, Set<Graph>> entry : storage.entrySet()) {
                 entry.getValue().removeIf(graph -> graph.getGraphId().equals(graphId));
             }
+            invalidateMergedCaches();
 
             //add the graph being moved.
             this.put(new GraphSerialisable.Builder().graph(graphToMove).build(), newFederatedAccess);
@@ -610,6 +673,7 @@ public class FederatedGraphStorage {
                     break;
                 }
             }
+            invalidateMergedCaches();
 
             final GraphConfig configWithNewGraphId = new GraphConfig.Builder()
                     .json(new GraphSerialisable.Builder().graph(graphToMove).build().getConfig())
@@ -55,6 +55,7 @@ import uk.gov.gchq.gaffer.federatedstore.operation.handler.impl.FederatedOperati
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.impl.FederatedRemoveGraphHandler;
 import uk.gov.gchq.gaffer.federatedstore.schema.FederatedViewValidator;
 import uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil;
+import uk.gov.gchq.gaffer.federatedstore.util.SubGraphExecutor;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.graph.GraphSerialisable;
 import uk.gov.gchq.gaffer.named.operation.AddNamedOperation;
@@ -116,6 +117,7 @@ public class FederatedStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(Store.class);
     private static final String FEDERATED_STORE_PROCESSED = "FederatedStore.processed.";
     private FederatedGraphStorage graphStorage = new FederatedGraphStorage();
+    private SubGraphExecutor subGraphExecutor = SubGraphExecutor.SEQUENTIAL;
     private Set<String> customPropertiesAuths;
     private Boolean isPublicAccessAllowed = Boolean.valueOf(IS_PUBLIC_ACCESS_ALLOWED_DEFAULT);
     private static final List<Integer> ALL_IDS = new ArrayList<>();
@@ -144,6 +146,15 @@ public class FederatedStore extends Store {
         super.initialise(graphId, new Schema(), properties);
         customPropertiesAuths = getCustomPropertiesAuths();
         isPublicAccessAllowed = Boolean.valueOf(getProperties().getIsPublicAccessAllowed());
+        subGraphExecutor.shutdown();
+        subGraphExecutor = new SubGraphExecutor(getProperties().getThreadsForSubGraphs(), getProperties().getSubGraphTimeoutMillis());
+    }
+
+    /**
+     * @return the executor used to execute operations against the sub-graphs of this store
+     */
+    public SubGraphExecutor getSubGraphExecutor() {
+        return subGraphExecutor;
     }
 
     @Override
@@ -47,6 +47,42 @@ public class FederatedStoreProperties extends StoreProperties {
     public static final String CACHE_SERVICE_CLASS = CacheProperties.CACHE_SERVICE_CLASS;
     public static final String CACHE_SERVICE_CLASS_DEFAULT = null;
 
+    /**
+     * The number of threads used to execute an operation against the
+     * sub-graphs at the same time. If this is 1 then the sub-graphs are
+     * executed against one after another.
+     * e.g gaffer.federatedstore.threadsForSubGraphs=12
+     */
+    public static final String THREADS_FOR_SUB_GRAPHS = "gaffer.federatedstore.threadsForSubGraphs";
+    public static final String THREADS_FOR_SUB_GRAPHS_DEFAULT = String.valueOf(1);
+
+    /**
+     * The time in milliseconds to wait for each sub-graph to execute an
+     * operation, when the sub-graphs are executed against at the same time.
+     * If this is 0 there is no limit.
+     * e.g gaffer.federatedstore.subGraphTimeoutMillis=30000
+     */
+    public static final String SUB_GRAPH_TIMEOUT_MILLIS = "gaffer.federatedstore.subGraphTimeoutMillis";
+    public static final String SUB_GRAPH_TIMEOUT_MILLIS_DEFAULT = String.valueOf(0);
+
+    /**
+     * If true, the elements returned by the sub-graphs are aggregated
+     * together using query time aggregation, so elements held in more than
+     * one sub-graph are only returned once.
+     * e.g gaffer.federatedstore.aggregateResults=true
+     */
+    public static final String AGGREGATE_RESULTS = "gaffer.federatedstore.aggregateResults";
+    public static final String AGGREGATE_RESULTS_DEFAULT = String.valueOf(false);
+
+    /**
+     * The maximum number of aggregated elements to hold in memory when
+     * aggregating the results of the sub-graphs. Beyond this the elements are
+     * sorted and written to temporary files, which are merged afterwards.
+     * e.g gaffer.federatedstore.aggregateResultsMaxElementsInMemory=100000
+     */
+    public static final String AGGREGATE_RESULTS_MAX_ELEMENTS_IN_MEMORY = "gaffer.federatedstore.aggregateResultsMaxElementsInMemory";
+    public static final String AGGREGATE_RESULTS_MAX_ELEMENTS_IN_MEMORY_DEFAULT = String.valueOf(100000);
+
     public FederatedStoreProperties() {
         super(FederatedStore.class);
     }
@@ -94,4 +130,36 @@ public class FederatedStoreProperties extends StoreProperties {
     public void setGraphsCanHavePublicAccess(final boolean b) {
         set(IS_PUBLIC_ACCESS_ALLOWED, Boolean.toString(b));
     }
+
+    public int getThreadsForSubGraphs() {
+        return Integer.parseInt(get(THREADS_FOR_SUB_GRAPHS, THREADS_FOR_SUB_GRAPHS_DEFAULT));
+    }
+
+    public void setThreadsForSubGraphs(final int threads) {
+        set(THREADS_FOR_SUB_GRAPHS, String.valueOf(threads));
+    }
+
+    public long getSubGraphTimeoutMillis() {
+        return Long.parseLong(get(SUB_GRAPH_TIMEOUT_MILLIS, SUB_GRAPH_TIMEOUT_MILLIS_DEFAULT));
+    }
+
+    public void setSubGraphTimeoutMillis(final long timeoutMillis) {
+        set(SUB_GRAPH_TIMEOUT_MILLIS, String.valueOf(timeoutMillis));
+    }
+
+    public boolean getAggregateResults() {
+        return Boolean.parseBoolean(get(AGGREGATE_RESULTS, AGGREGATE_RESULTS_DEFAULT));
+    }
+
+    public void setAggregateResults(final boolean aggregateResults) {
+        set(AGGREGATE_RESULTS, String.valueOf(aggregateResults));
+    }
+
+    public int getAggregateResultsMaxElementsInMemory() {
+        return Integer.parseInt(get(AGGREGATE_RESULTS_MAX_ELEMENTS_IN_MEMORY, AGGREGATE_RESULTS_MAX_ELEMENTS_IN_MEMORY_DEFAULT));
+    }
+
+    public void setAggregateResultsMaxElementsInMemory(final int maxElementsInMemory) {
+        set(AGGREGATE_RESULTS_MAX_ELEMENTS_IN_MEMORY, String.valueOf(maxElementsInMemory));
+    }
 }
@@ -28,7 +28,6 @@ import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import java.util.Collection;
 
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_OPERATION_OPTIONS_GRAPH_IDS;
-import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipFailedFederatedStoreExecute;
 
 /**
  * A handler for Operations with no output for FederatedStore
@@ -39,18 +38,10 @@ import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipF
 public class FederatedOperationHandler implements OperationHandler<Operation> {
     public Object doOperation(final Operation operation, final Context context, final Store store) throws OperationException {
         final Collection<Graph> graphs = ((FederatedStore) store).getGraphs(context.getUser(), operation.getOption(KEY_OPERATION_OPTIONS_GRAPH_IDS), operation);
-        for (final Graph graph : graphs) {
-            final Operation updatedOp = FederatedStoreUtil.updateOperationForGraph(operation, graph);
-            if (null != updatedOp) {
-                try {
-                    graph.execute(updatedOp, context);
-                } catch (final Exception e) {
-                    if (!Boolean.valueOf(getSkipFailedFederatedStoreExecute(updatedOp))) {
-                        throw new OperationException(FederatedStoreUtil.createOperationErrorMsg(operation, graph.getGraphId(), e), e);
-                    }
-                }
-            }
-        }
+        FederatedStoreUtil.getSubGraphExecutor(store).execute(operation, graphs, context, (graph, updatedOp, graphContext) -> {
+            graph.execute(updatedOp, graphContext);
+            return null;
+        });
         return null;
     }
 }
@@ -19,21 +19,68 @@ package uk.gov.gchq.gaffer.federatedstore.operation.handler.impl;
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStoreProperties;
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.FederatedOperationOutputHandler;
+import uk.gov.gchq.gaffer.federatedstore.util.AggregatingMergeIterable;
+import uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil;
+import uk.gov.gchq.gaffer.federatedstore.util.SubGraphExecutor;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.schema.Schema;
 
+import java.util.Collection;
 import java.util.List;
 
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_OPERATION_OPTIONS_GRAPH_IDS;
+
 /**
  * A generic handler for Operations with CloseableIterable of elements for FederatedStore.
  * Simply executes the operation on each delegate graph then chains the results together
- * using a {@link ChainedIterable}.
+ * using a {@link ChainedIterable}, or, if the delegate graphs are executed against
+ * at the same time, in the order the delegate graphs respond.
+ * <p>
+ * If {@link FederatedStoreProperties#AGGREGATE_RESULTS} is set, the elements
+ * from the delegate graphs are also aggregated together using an
+ * {@link AggregatingMergeIterable}. The view's post aggregation filters and
+ * transformations are then applied after the aggregation, rather than by each
+ * delegate graph.
  *
  * @see FederatedOperationOutputHandler
  */
 public class FederatedOperationIterableHandler<OP extends Output<O>, O extends Iterable> extends FederatedOperationOutputHandler<OP, O> {
+    /**
+     * If the sub-graphs are executed against at the same time, the results
+     * are streamed as each sub-graph responds, rather than waiting for all
+     * the sub-graphs before returning the results.
+     */
+    @Override
+    public O doOperation(final OP operation, final Context context, final Store store) throws OperationException {
+        final SubGraphExecutor executor = FederatedStoreUtil.getSubGraphExecutor(store);
+        final boolean aggregate = isAggregateResults(store);
+        if (!executor.isParallel() && !aggregate) {
+            return super.doOperation(operation, context, store);
+        }
+
+        final OP subGraphOperation = aggregate ? getSubGraphOperation(operation) : operation;
+        final Collection<Graph> graphs = ((FederatedStore) store).getGraphs(context.getUser(), operation.getOption(KEY_OPERATION_OPTIONS_GRAPH_IDS), operation);
+        final Iterable<?> results;
+        if (executor.isParallel()) {
+            results = executor.executeAndStream(subGraphOperation, graphs, context,
+                    (graph, updatedOp, graphContext) -> (Iterable<?>) graph.execute(updatedOp, graphContext));
+        } else {
+            final List<Iterable<?>> graphResults = executor.execute(subGraphOperation, graphs, context,
+                    (graph, updatedOp, graphContext) -> (Iterable<?>) graph.execute(updatedOp, graphContext));
+            results = graphResults.isEmpty() ? new EmptyClosableIterable<>() : new ChainedIterable<>(CollectionUtil.toIterableArray(graphResults));
+        }
+        return (O) aggregateIfRequired(results, operation, context, store);
+    }
+
     @Override
     protected O mergeResults(final List<O> results, final OP operation, final Context context, final Store store) {
         if (results.isEmpty()) {
@@ -41,6 +88,50 @@ public class FederatedOperationIterableHandler<OP extends Output<O>, O extends I
         }
 
         // Concatenate all the results into 1 iterable
-        return (O) new ChainedIterable<>(CollectionUtil.toIterableArray(results));
+        return (O) aggregateIfRequired(new ChainedIterable<>(CollectionUtil.toIterableArray(results)), operation, context, store);
+    }
+
+    private static boolean isAggregateResults(final Store store) {
+        final FederatedStoreProperties properties = store instanceof FederatedStore ? ((FederatedStore) store).getProperties() : null;
+        return null != properties && properties.getAggregateResults();
+    }
+
+    /**
+     * @param operation the operation
+     * @return the operation to execute against the delegate graphs, without
+     * the post aggregation filters and transformations, which are applied after
+     * the results have been aggregated
+     */
+    private OP getSubGraphOperation(final OP operation) {
+        if (!(operation instanceof GraphFilters)) {
+            return operation;
+        }
+
+        final View view = ((GraphFilters) operation).getView();
+        final View subGraphView = AggregatingMergeIterable.getSubGraphView(view);
+        if (subGraphView == view) {
+            return operation;
+        }
+
+        final OP subGraphOperation = (OP) operation.shallowClone();
+        ((GraphFilters) subGraphOperation).setView(subGraphView);
+        return subGraphOperation;
+    }
+
+    private Iterable<?> aggregateIfRequired(final Iterable<?> results, final OP operation, final Context context, final Store store) {
+        if (!isAggregateResults(store)) {
+            return results;
+        }
+
+        final FederatedStoreProperties properties = ((FederatedStore) store).getProperties();
+        final Schema schema = ((FederatedStore) store).getSchema(operation, context);
+        View view = operation instanceof GraphFilters ? ((GraphFilters) operation).getView() : null;
+        if (null == view) {
+            view = new View.Builder()
+                    .entities(schema.getEntityGroups())
+                    .edges(schema.getEdgeGroups())
+                    .build();
+        }
+        return new AggregatingMergeIterable(results, schema, view, properties.getAggregateResultsMaxElementsInMemory());
     }
 }
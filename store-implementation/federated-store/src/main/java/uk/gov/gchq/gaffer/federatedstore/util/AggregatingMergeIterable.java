@@ -0,0 +1,468 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import com.google.common.primitives.UnsignedBytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+import uk.gov.gchq.gaffer.store.util.ViewElementPipeline;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.BinaryOperator;
+
+/**
+ * Merges the results of an operation executed against several sub-graphs,
+ * applying query time aggregation across the sub-graphs, so an element held
+ * in more than one sub-graph is only returned once.
+ * <p>
+ * Elements in groups that are aggregated are grouped and aggregated in the same
+ * way as {@link AggregatorUtil#queryAggregate(Iterable, Schema, View)}. Everything
+ * else, including non-aggregated groups and non-element results, is returned as
+ * it is read. The aggregated elements are returned after all the results have
+ * been read.
+ * <p>
+ * At most {@code maxElementsInMemory} aggregated elements are held in memory.
+ * When there are more, the elements held are sorted by their aggregation key
+ * and written to a temporary file. The files are then merged, aggregating
+ * elements with the same key, as they are read back. The files are deleted
+ * when the iterator is exhausted or closed.
+ * <p>
+ * The view's post aggregation filters, transformations and post transform
+ * filters must only be applied once the elements have been aggregated across
+ * all the sub-graphs, so they are applied here as each element is returned.
+ * The sub-graphs should be queried using {@link #getSubGraphView(View)}, which
+ * leaves them out.
+ */
+public class AggregatingMergeIterable implements CloseableIterable<Object> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AggregatingMergeIterable.class);
+    private static final String MATCHED_VERTEX = "matchedVertex";
+    private static final Comparator<byte[]> KEY_COMPARATOR = UnsignedBytes.lexicographicalComparator();
+
+    private final Iterable<?> results;
+    private final Schema schema;
+    private final View view;
+    private final Collection<String> aggregatedGroups;
+    private final int maxElementsInMemory;
+
+    public AggregatingMergeIterable(final Iterable<?> results, final Schema schema, final View view, final int maxElementsInMemory) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        if (null == view) {
+            throw new IllegalArgumentException("View is required");
+        }
+        if (maxElementsInMemory < 1) {
+            throw new IllegalArgumentException("maxElementsInMemory must be at least 1");
+        }
+        this.results = results;
+        this.schema = schema;
+        this.view = new View.Builder()
+                .merge(view)
+                .expandGlobalDefinitions()
+                .build();
+        this.aggregatedGroups = new HashSet<>(schema.getAggregatedGroups());
+        this.maxElementsInMemory = maxElementsInMemory;
+    }
+
+    /**
+     * Gets the view to query each sub-graph with. The post aggregation
+     * filters, transformations and post transform filters are removed, as they
+     * are applied after the results are aggregated. Groups that have any of
+     * them also return all their properties, so the properties used are
+     * available; the properties not in the view are removed after they have
+     * been applied.
+     *
+     * @param view the view of the operation
+     * @return the view for the sub-graphs, or the given view if it has nothing to remove
+     */
+    public static View getSubGraphView(final View view) {
+        if (null == view) {
+            return null;
+        }
+
+        final View expanded = new View.Builder()
+                .merge(view)
+                .expandGlobalDefinitions()
+                .build();
+        boolean changed = false;
+        final View.Builder builder = new View.Builder().merge(expanded);
+        for (final Map.Entry<String, ViewElementDefinition> entry : expanded.getEntities().entrySet()) {
+            if (hasPostAggregation(entry.getValue())) {
+                builder.entity(entry.getKey(), removePostAggregation(entry.getValue()));
+                changed = true;
+            }
+        }
+        for (final Map.Entry<String, ViewElementDefinition> entry : expanded.getEdges().entrySet()) {
+            if (hasPostAggregation(entry.getValue())) {
+                builder.edge(entry.getKey(), removePostAggregation(entry.getValue()));
+                changed = true;
+            }
+        }
+        return changed ? builder.build() : view;
+    }
+
+    private static boolean hasPostAggregation(final ViewElementDefinition elementDef) {
+        return elementDef.hasPostAggregationFilters()
+                || (null != elementDef.getTransformer() && !elementDef.getTransformer().getComponents().isEmpty())
+                || elementDef.hasPostTransformFilters();
+    }
+
+    private static ViewElementDefinition removePostAggregation(final ViewElementDefinition elementDef) {
+        // Copied through json, as merging an element definition does not copy its aggregator
+        return new ViewElementDefinition.Builder()
+                .json(elementDef.toJson(false))
+                .clearPostAggregationFilter()
+                .clearTransform()
+                .clearPostTransformFilter()
+                .allProperties()
+                .build();
+    }
+
+    /**
+     * @param view the view of the operation
+     * @return a view of just the post aggregation filters, transformations and
+     * post transform filters
+     */
+    private static View getPostAggregationView(final View view) {
+        final View.Builder builder = new View.Builder();
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEntities().entrySet()) {
+            builder.entity(entry.getKey(), getPostAggregation(entry.getValue()));
+        }
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEdges().entrySet()) {
+            builder.edge(entry.getKey(), getPostAggregation(entry.getValue()));
+        }
+        return builder.build();
+    }
+
+    private static ViewElementDefinition getPostAggregation(final ViewElementDefinition elementDef) {
+        return new ViewElementDefinition.Builder()
+                .postAggregationFilter(elementDef.getPostAggregationFilter())
+                .transformer(elementDef.getTransformer())
+                .postTransformFilter(elementDef.getPostTransformFilter())
+                .build();
+    }
+
+    @Override
+    public CloseableIterator<Object> iterator() {
+        return new AggregatingMergeIterator(results.iterator());
+    }
+
+    @Override
+    public void close() {
+        CloseableUtil.close(results);
+    }
+
+    private boolean isAggregated(final Object item) {
+        if (!(item instanceof Element)) {
+            return false;
+        }
+        final String group = ((Element) item).getGroup();
+        return aggregatedGroups.contains(group) && null != view.getElement(group);
+    }
+
+    private final class AggregatingMergeIterator implements CloseableIterator<Object> {
+        private final Iterator<?> input;
+        private final AggregatorUtil.ToQueryElementKey toKey = new AggregatorUtil.ToQueryElementKey(schema, view);
+        private final BinaryOperator<Element> aggregator = new AggregatorUtil.QueryElementBinaryOperator(schema, view);
+        // Compiled from a copy of the view, as the filters and transformers are not thread safe
+        private final ViewElementPipeline postAggregation = ViewElementPipeline.of(getPostAggregationView(view.clone()));
+        private final List<Run> runs = new ArrayList<>();
+        private Map<Element, Element> aggregated = new HashMap<>();
+        private Iterator<Element> output;
+        private Object next;
+
+        private AggregatingMergeIterator(final Iterator<?> input) {
+            this.input = input;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next) {
+                if (null == output) {
+                    if (input.hasNext()) {
+                        final Object item = input.next();
+                        if (isAggregated(item)) {
+                            add((Element) item);
+                        } else {
+                            next = applyPostAggregation(item);
+                        }
+                    } else {
+                        CloseableUtil.close(input);
+                        output = getAggregatedElements();
+                    }
+                } else if (output.hasNext()) {
+                    next = applyPostAggregation(output.next());
+                } else {
+                    close();
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Object item = next;
+            next = null;
+            return item;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(input);
+            for (final Run run : runs) {
+                run.delete();
+            }
+            runs.clear();
+            aggregated = new HashMap<>();
+            output = Collections.emptyIterator();
+        }
+
+        /**
+         * @param item the item to return
+         * @return the item after the post aggregation filters and
+         * transformations have been applied, or null if it has been filtered out
+         */
+        private Object applyPostAggregation(final Object item) {
+            if (!(item instanceof Element) || null == view.getElement(((Element) item).getGroup())) {
+                return item;
+            }
+
+            final Element element = postAggregation.apply((Element) item);
+            if (null != element) {
+                ViewUtil.removeProperties(view, element);
+            }
+            return element;
+        }
+
+        private void add(final Element element) {
+            final Element key = toKey.apply(element);
+            final Element existing = aggregated.get(key);
+            aggregated.put(key, null == existing ? element : aggregator.apply(existing, element));
+            if (aggregated.size() >= maxElementsInMemory) {
+                spill();
+            }
+        }
+
+        private Iterator<Element> getAggregatedElements() {
+            if (runs.isEmpty()) {
+                return aggregated.values().iterator();
+            }
+
+            if (!aggregated.isEmpty()) {
+                spill();
+            }
+            return new MergeIterator(runs, aggregator);
+        }
+
+        /**
+         * Writes the elements held in memory to a new file, sorted by their
+         * serialised aggregation key.
+         */
+        private void spill() {
+            final List<Map.Entry<byte[], Element>> sorted = new ArrayList<>(aggregated.size());
+            for (final Map.Entry<Element, Element> entry : aggregated.entrySet()) {
+                sorted.add(new SimpleImmutableEntry<>(serialiseKey(entry.getKey()), entry.getValue()));
+            }
+            sorted.sort((a, b) -> KEY_COMPARATOR.compare(a.getKey(), b.getKey()));
+
+            final Run run = new Run();
+            runs.add(run);
+            try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(run.file)))) {
+                for (final Map.Entry<byte[], Element> entry : sorted) {
+                    write(out, entry.getKey());
+                    write(out, JSONSerialiser.serialise(entry.getValue()));
+                }
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to write aggregated elements to " + run.file, e);
+            }
+            run.size = sorted.size();
+            LOGGER.debug("Wrote {} aggregated elements to {}", run.size, run.file);
+            aggregated = new HashMap<>();
+        }
+
+        private byte[] serialiseKey(final Element key) {
+            try {
+                // The matched vertex does not affect element equality so it is left out of the key
+                return JSONSerialiser.serialise(key, MATCHED_VERTEX);
+            } catch (final SerialisationException e) {
+                close();
+                throw new GafferRuntimeException("Unable to serialise element key: " + key, e);
+            }
+        }
+
+        private void write(final DataOutputStream out, final byte[] bytes) throws IOException {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * A file of elements sorted by their serialised aggregation key.
+     */
+    private static final class Run {
+        private final File file;
+        private int size;
+        private DataInputStream in;
+
+        private Run() {
+            try {
+                file = File.createTempFile("federatedAggregation", ".run");
+            } catch (final IOException e) {
+                throw new GafferRuntimeException("Unable to create a temporary file for aggregated elements", e);
+            }
+        }
+
+        private void open() throws IOException {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        }
+
+        private void delete() {
+            CloseableUtil.close(in);
+            in = null;
+            if (file.exists() && !file.delete()) {
+                LOGGER.warn("Unable to delete {}", file);
+            }
+        }
+    }
+
+    /**
+     * Reads the next element of a {@link Run}.
+     */
+    private static final class RunReader {
+        private final Run run;
+        private int remaining;
+        private byte[] key;
+        private Element element;
+
+        private RunReader(final Run run) throws IOException {
+            this.run = run;
+            this.remaining = run.size;
+            run.open();
+        }
+
+        private boolean advance() {
+            if (0 == remaining) {
+                run.delete();
+                key = null;
+                element = null;
+                return false;
+            }
+            try {
+                key = read(run.in);
+                element = JSONSerialiser.deserialise(read(run.in), Element.class);
+            } catch (final IOException e) {
+                run.delete();
+                throw new GafferRuntimeException("Unable to read aggregated elements from " + run.file, e);
+            }
+            remaining--;
+            return true;
+        }
+
+        private static byte[] read(final DataInputStream in) throws IOException {
+            final byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return bytes;
+        }
+    }
+
+    /**
+     * Merges sorted {@link Run}s, aggregating the elements with the same key.
+     */
+    private static final class MergeIterator implements Iterator<Element> {
+        private final PriorityQueue<RunReader> readers;
+        private final BinaryOperator<Element> aggregator;
+
+        private MergeIterator(final List<Run> runs, final BinaryOperator<Element> aggregator) {
+            this.aggregator = aggregator;
+            this.readers = new PriorityQueue<>(runs.size(), (a, b) -> KEY_COMPARATOR.compare(a.key, b.key));
+            for (final Run run : runs) {
+                final RunReader reader;
+                try {
+                    reader = new RunReader(run);
+                } catch (final IOException e) {
+                    throw new GafferRuntimeException("Unable to read aggregated elements from " + run.file, e);
+                }
+                if (reader.advance()) {
+                    readers.add(reader);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !readers.isEmpty();
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final RunReader first = readers.poll();
+            final byte[] key = first.key;
+            Element element = first.element;
+            if (first.advance()) {
+                readers.add(first);
+            }
+            while (!readers.isEmpty() && 0 == KEY_COMPARATOR.compare(key, readers.peek().key)) {
+                final RunReader reader = readers.poll();
+                element = aggregator.apply(element, reader.element);
+                if (reader.advance()) {
+                    readers.add(reader);
+                }
+            }
+            return element;
+        }
+    }
+}
@@ -23,12 +23,14 @@ import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.Operations;
 import uk.gov.gchq.gaffer.operation.graph.OperationView;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.util.ArrayList;
@@ -80,6 +82,15 @@ public final class FederatedStoreUtil {
         return values;
     }
 
+    /**
+     * @param store the FederatedStore
+     * @return the executor to use to execute operations against the sub-graphs of the store
+     */
+    public static SubGraphExecutor getSubGraphExecutor(final Store store) {
+        final SubGraphExecutor executor = store instanceof FederatedStore ? ((FederatedStore) store).getSubGraphExecutor() : null;
+        return null != executor ? executor : SubGraphExecutor.SEQUENTIAL;
+    }
+
     /**
      * <p>
      * Within FederatedStore an {@link Operation} is executed against a
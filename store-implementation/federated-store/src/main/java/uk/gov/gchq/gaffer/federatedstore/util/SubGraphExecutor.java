@@ -0,0 +1,444 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.Context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipFailedFederatedStoreExecute;
+
+/**
+ * Executes an operation against each of the sub-graphs of a FederatedStore.
+ * <p>
+ * If more than one thread is available the sub-graphs are executed against at
+ * the same time on a pool of threads owned by the store, so an operation takes
+ * as long as the slowest sub-graph rather than the sum of them all. Each
+ * sub-graph is given the configured timeout, measured from when the operation
+ * was submitted to the sub-graphs. A sub-graph that fails or times out is
+ * skipped if the skipFailedFederatedStoreExecute option is set, otherwise the
+ * whole operation fails. With a single thread the sub-graphs are executed
+ * against one after another on the calling thread.
+ */
+public class SubGraphExecutor {
+    public static final SubGraphExecutor SEQUENTIAL = new SubGraphExecutor(1, 0);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubGraphExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    /**
+     * @param threads       the number of sub-graphs to execute against at once
+     * @param timeoutMillis the time to wait for each sub-graph, or 0 to wait indefinitely
+     */
+    public SubGraphExecutor(final int threads, final long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        if (threads > 1) {
+            final AtomicInteger threadNumber = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        final Thread thread = new Thread(runnable, "federated-sub-graph-executor-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        } else {
+            executor = null;
+        }
+    }
+
+    /**
+     * Executes the operation against each of the graphs and waits for the results.
+     *
+     * @param operation      the operation to execute
+     * @param graphs         the graphs to execute the operation against
+     * @param context        the context of the operation
+     * @param graphOperation executes the operation, updated for a graph, against that graph
+     * @param <OP>           the operation type
+     * @param <O>            the output type
+     * @return the non-null results from each graph, in the order of the graphs
+     * @throws OperationException if a graph failed and failed graphs are not to be skipped
+     */
+    public <OP extends Operation, O> List<O> execute(final OP operation, final Collection<Graph> graphs,
+                                                     final Context context, final GraphOperation<OP, O> graphOperation)
+            throws OperationException {
+        final List<O> results = new ArrayList<>(graphs.size());
+        if (null == executor) {
+            for (final Graph graph : graphs) {
+                final OP updatedOp = FederatedStoreUtil.updateOperationForGraph(operation, graph);
+                if (null != updatedOp) {
+                    O result = null;
+                    try {
+                        result = graphOperation.execute(graph, updatedOp, context);
+                    } catch (final Exception e) {
+                        handleFailure(operation, updatedOp, graph, e);
+                    }
+                    if (null != result) {
+                        results.add(result);
+                    }
+                }
+            }
+            return results;
+        }
+
+        final List<SubmittedGraph<OP, O>> submitted = submit(operation, graphs, context, graphOperation, null);
+        final long deadline = getDeadline();
+        try {
+            for (final SubmittedGraph<OP, O> graph : submitted) {
+                final O result = graph.get(deadline);
+                if (null != result) {
+                    results.add(result);
+                }
+            }
+        } finally {
+            for (final SubmittedGraph<OP, O> graph : submitted) {
+                graph.future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Executes the operation against each of the graphs and returns an
+     * {@link Iterable} of the items in their results. The results of each
+     * graph are returned as soon as that graph has responded, so the items
+     * from the fastest graphs are returned first. If the sub-graphs are
+     * executed against one after another then the results are chained in the
+     * order of the graphs.
+     * <p>
+     * When the sub-graphs are executed against at the same time this returns
+     * as soon as the operation has been submitted to them, so a graph that
+     * fails or times out is only found once the iteration reaches it. Unless
+     * failed graphs are to be skipped, the failure is then thrown from
+     * {@code hasNext()} or {@code next()} as a {@link GafferRuntimeException}
+     * wrapping the {@link OperationException}, and the remaining graphs are
+     * cancelled. Closing the returned iterable cancels the graphs that have
+     * not yet responded, and it cannot be iterated over again once closed.
+     * Closing one of its iterators only closes that iterator.
+     *
+     * @param operation      the operation to execute
+     * @param graphs         the graphs to execute the operation against
+     * @param context        the context of the operation
+     * @param graphOperation executes the operation, updated for a graph, against that graph
+     * @param <OP>           the operation type
+     * @param <O>            the output type
+     * @return the items from the results of all the graphs
+     * @throws OperationException if a graph failed and failed graphs are not to be skipped, when
+     *                            the graphs are executed against one after another
+     */
+    public <OP extends Operation, O extends Iterable<?>> CloseableIterable<Object> executeAndStream(
+            final OP operation, final Collection<Graph> graphs, final Context context,
+            final GraphOperation<OP, O> graphOperation) throws OperationException {
+        if (null == executor) {
+            final List<O> results = execute(operation, graphs, context, graphOperation);
+            return new SubGraphResultsIterable<>(results, Collections.emptyList(), null, 0);
+        }
+
+        final CompletionService<O> completionService = new ExecutorCompletionService<>(executor);
+        final List<SubmittedGraph<OP, O>> submitted = submit(operation, graphs, context, graphOperation, completionService);
+        return new SubGraphResultsIterable<>(new ArrayList<>(), submitted, completionService, getDeadline());
+    }
+
+    /**
+     * @return true if the sub-graphs are executed against at the same time
+     */
+    public boolean isParallel() {
+        return null != executor;
+    }
+
+    /**
+     * @return the number of sub-graph executions waiting for a thread
+     */
+    public int getQueueSize() {
+        return null == executor ? 0 : executor.getQueue().size();
+    }
+
+    /**
+     * @return the number of sub-graph executions currently running
+     */
+    public int getActiveCount() {
+        return null == executor ? 0 : executor.getActiveCount();
+    }
+
+    public void shutdown() {
+        if (null != executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private <OP extends Operation, O> List<SubmittedGraph<OP, O>> submit(final OP operation,
+                                                                         final Collection<Graph> graphs,
+                                                                         final Context context,
+                                                                         final GraphOperation<OP, O> graphOperation,
+                                                                         final CompletionService<O> completionService) {
+        final List<SubmittedGraph<OP, O>> submitted = new ArrayList<>(graphs.size());
+        for (final Graph graph : graphs) {
+            // The operations are updated on the calling thread, as the same
+            // operation is shared between all the graphs.
+            final OP updatedOp = FederatedStoreUtil.updateOperationForGraph(operation, graph);
+            if (null != updatedOp) {
+                // Each graph gets its own context as executing an operation
+                // updates the context.
+                final Context graphContext = context.shallowClone();
+                final Callable<O> task = () -> graphOperation.execute(graph, updatedOp, graphContext);
+                final Future<O> future = null != completionService ? completionService.submit(task) : executor.submit(task);
+                submitted.add(new SubmittedGraph<>(operation, updatedOp, graph, future));
+            }
+        }
+        LOGGER.debug("Submitted {} to {} sub-graphs, sub-graph executions queued: {}, active: {}",
+                operation.getClass().getSimpleName(), submitted.size(), getQueueSize(), getActiveCount());
+        return submitted;
+    }
+
+    private long getDeadline() {
+        return timeoutMillis > 0 ? System.currentTimeMillis() + timeoutMillis : Long.MAX_VALUE;
+    }
+
+    private static void handleFailure(final Operation operation, final Operation updatedOp, final Graph graph,
+                                      final Exception e) throws OperationException {
+        if (!Boolean.valueOf(getSkipFailedFederatedStoreExecute(updatedOp))) {
+            throw new OperationException(FederatedStoreUtil.createOperationErrorMsg(operation, graph.getGraphId(), e), e);
+        }
+        LOGGER.debug("Skipping failed execution of {} on graph {}", operation.getClass().getSimpleName(), graph.getGraphId(), e);
+    }
+
+    /**
+     * Executes an operation, that has been updated for a graph, against that graph.
+     *
+     * @param <OP> the operation type
+     * @param <O>  the output type
+     */
+    @FunctionalInterface
+    public interface GraphOperation<OP extends Operation, O> {
+        O execute(final Graph graph, final OP updatedOp, final Context context) throws Exception;
+    }
+
+    private static final class SubmittedGraph<OP extends Operation, O> {
+        private final OP operation;
+        private final OP updatedOp;
+        private final Graph graph;
+        private final Future<O> future;
+
+        private SubmittedGraph(final OP operation, final OP updatedOp, final Graph graph, final Future<O> future) {
+            this.operation = operation;
+            this.updatedOp = updatedOp;
+            this.graph = graph;
+            this.future = future;
+        }
+
+        /**
+         * @param deadline the time to wait until
+         * @return the result of the graph, or null if it failed and failed graphs are to be skipped
+         * @throws OperationException if the graph failed and failed graphs are not to be skipped
+         */
+        private O get(final long deadline) throws OperationException {
+            try {
+                return future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OperationException("Interrupted whilst waiting for graph " + graph.getGraphId(), e);
+            } catch (final ExecutionException e) {
+                final Throwable cause = e.getCause();
+                handleFailure(operation, updatedOp, graph, cause instanceof Exception ? (Exception) cause : e);
+            } catch (final TimeoutException e) {
+                future.cancel(true);
+                handleFailure(operation, updatedOp, graph, e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The items in the results of the sub-graphs. The results are added to
+     * the list of completed results as the sub-graphs respond, so they can be
+     * iterated over again.
+     */
+    private static final class SubGraphResultsIterable<OP extends Operation, O extends Iterable<?>> implements CloseableIterable<Object> {
+        private final List<O> completed;
+        private final Map<Future<O>, SubmittedGraph<OP, O>> pending = new HashMap<>();
+        private final CompletionService<O> completionService;
+        private final long deadline;
+        private boolean closed;
+
+        private SubGraphResultsIterable(final List<O> completed, final List<SubmittedGraph<OP, O>> submitted,
+                                        final CompletionService<O> completionService, final long deadline) {
+            this.completed = completed;
+            this.completionService = completionService;
+            this.deadline = deadline;
+            for (final SubmittedGraph<OP, O> graph : submitted) {
+                pending.put(graph.future, graph);
+            }
+        }
+
+        @Override
+        public synchronized CloseableIterator<Object> iterator() {
+            if (closed) {
+                throw new IllegalStateException("The sub-graph results have been closed");
+            }
+
+            return new CloseableIterator<Object>() {
+                private int resultIndex;
+                private Iterator<?> currentIterator = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!currentIterator.hasNext()) {
+                        CloseableUtil.close(currentIterator);
+                        final O result = getResult(resultIndex);
+                        if (null == result) {
+                            return false;
+                        }
+                        resultIndex++;
+                        currentIterator = result.iterator();
+                    }
+                    return true;
+                }
+
+                @Override
+                public Object next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return currentIterator.next();
+                }
+
+                @Override
+                public void close() {
+                    CloseableUtil.close(currentIterator);
+                }
+            };
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            cancelPending();
+            for (final O result : completed) {
+                CloseableUtil.close(result);
+            }
+        }
+
+        /**
+         * Cancels the graphs that have not yet responded. Any of them that
+         * have responded but not yet been added to the completed results have
+         * their results closed.
+         */
+        private synchronized void cancelPending() {
+            for (final Future<O> future : pending.keySet()) {
+                if (!future.cancel(true)) {
+                    closeResult(future);
+                }
+            }
+            pending.clear();
+        }
+
+        /**
+         * Gets the result at the given index in the order the sub-graphs
+         * responded, waiting for the next sub-graph to respond if required.
+         * The wait is done without holding the lock, so the results can be
+         * closed from another thread whilst waiting.
+         *
+         * @param index the index of the result
+         * @return the result, or null if there are no more results
+         */
+        private O getResult(final int index) {
+            while (true) {
+                synchronized (this) {
+                    if (index < completed.size()) {
+                        return completed.get(index);
+                    }
+                    if (pending.isEmpty()) {
+                        return null;
+                    }
+                }
+
+                final Future<O> future;
+                try {
+                    future = completionService.poll(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new GafferRuntimeException("Interrupted whilst waiting for sub-graph results", e);
+                }
+
+                synchronized (this) {
+                    try {
+                        if (null == future) {
+                            // All the remaining graphs have timed out.
+                            for (final SubmittedGraph<OP, O> graph : new ArrayList<>(pending.values())) {
+                                pending.remove(graph.future);
+                                graph.get(deadline);
+                            }
+                        } else {
+                            final SubmittedGraph<OP, O> graph = pending.remove(future);
+                            if (null == graph) {
+                                // The pending graphs were cancelled whilst waiting
+                                closeResult(future);
+                            } else {
+                                final O result = graph.get(deadline);
+                                if (null != result) {
+                                    completed.add(result);
+                                }
+                            }
+                        }
+                    } catch (final OperationException e) {
+                        close();
+                        throw new GafferRuntimeException(e.getMessage(), e);
+                    }
+                }
+            }
+        }
+
+        private static void closeResult(final Future<?> future) {
+            if (future.isDone() && !future.isCancelled()) {
+                try {
+                    CloseableUtil.close(future.get());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (final ExecutionException e) {
+                    // The graph failed, so there is no result to close
+                }
+            }
+        }
+    }
+}
@@ -49,6 +49,7 @@ import java.util.Set;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -362,6 +363,37 @@ public class FederatedGraphStorageTest {
         assertEquals(e2, schemaAB.getElement("e2"));
     }
 
+    @Test
+    public void shouldReuseMergedSchemaUntilGraphsChange() throws Exception {
+        graphStorage.put(a, access);
+        graphStorage.put(b, access);
+        final Schema schemaAB = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+        assertSame(schemaAB, graphStorage.getSchema((Map<String, String>) null, testUserContext));
+        assertSame(schemaAB, graphStorage.getSchema((Map<String, String>) null, authUserContext));
+
+        graphStorage.remove(GRAPH_ID_B, testUser);
+        final Schema schemaA = graphStorage.getSchema((Map<String, String>) null, testUserContext);
+        assertNotSame(schemaAB, schemaA);
+        assertEquals(1, schemaA.getTypes().size());
+        assertEquals(e1, schemaA.getElement("e1"));
+    }
+
+    @Test
+    public void shouldNotReuseMergedSchemaOrTraitsAfterChangingGraphAccess() throws Exception {
+        graphStorage.put(a, access);
+        graphStorage.put(b, access);
+        assertEquals(2, graphStorage.getSchema((Map<String, String>) null, authUserContext).getTypes().size());
+        assertEquals(10, graphStorage.getTraits(null, authUser).size());
+
+        graphStorage.changeGraphAccess(GRAPH_ID_B, new FederatedAccess(Sets.newHashSet(X), X), testUser);
+
+        final Schema schema = graphStorage.getSchema((Map<String, String>) null, authUserContext);
+        assertEquals(1, schema.getTypes().size());
+        assertEquals(e1, schema.getElement("e1"));
+        graphStorage.remove(GRAPH_ID_A, testUser);
+        assertEquals(0, graphStorage.getTraits(null, authUser).size());
+    }
+
 
     @Test
     public void shouldGetSchemaForAddingUser() throws Exception {
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AggregatingMergeIterableTest {
+    private static final String STRING = "string";
+    private static final String INTEGER = "integer";
+    private static final String AGGREGATED = "aggregated";
+    private static final String NON_AGGREGATED = "nonAggregated";
+    private static final String COUNT = "count";
+
+    private final Schema schema = new Schema.Builder()
+            .entity(AGGREGATED, new SchemaEntityDefinition.Builder()
+                    .vertex(STRING)
+                    .property(COUNT, INTEGER)
+                    .build())
+            .entity(NON_AGGREGATED, new SchemaEntityDefinition.Builder()
+                    .vertex(STRING)
+                    .property(COUNT, INTEGER)
+                    .aggregate(false)
+                    .build())
+            .type(STRING, String.class)
+            .type(INTEGER, new TypeDefinition.Builder()
+                    .clazz(Integer.class)
+                    .aggregateFunction(new Sum())
+                    .build())
+            .build();
+
+    private final View view = new View.Builder()
+            .entity(AGGREGATED)
+            .entity(NON_AGGREGATED)
+            .build();
+
+    private final List<Object> graph1Results = Lists.newArrayList(
+            entity(AGGREGATED, "a", 1),
+            entity(AGGREGATED, "b", 1),
+            entity(NON_AGGREGATED, "a", 1),
+            new EntitySeed("a"));
+
+    private final List<Object> graph2Results = Lists.newArrayList(
+            entity(AGGREGATED, "c", 1),
+            entity(AGGREGATED, "a", 2),
+            entity(NON_AGGREGATED, "a", 1));
+
+    private final List<Object> graph3Results = Lists.newArrayList(
+            entity(AGGREGATED, "b", 3),
+            entity(AGGREGATED, "a", 4));
+
+    @Test
+    public void shouldAggregateElementsFromAllResultsInMemory() {
+        // When
+        final List<Object> results = mergeResults(100);
+
+        // Then
+        assertEquals(Sets.newHashSet(entity(AGGREGATED, "a", 7), entity(AGGREGATED, "b", 4), entity(AGGREGATED, "c", 1)),
+                Sets.newHashSet(results.subList(3, results.size())));
+        assertEquals(6, results.size());
+    }
+
+    @Test
+    public void shouldReturnNonAggregatedItemsUnchangedBeforeAggregatedElements() {
+        // When
+        final List<Object> results = mergeResults(100);
+
+        // Then
+        assertEquals(Lists.newArrayList(
+                entity(NON_AGGREGATED, "a", 1),
+                new EntitySeed("a"),
+                entity(NON_AGGREGATED, "a", 1)),
+                results.subList(0, 3));
+    }
+
+    @Test
+    public void shouldAggregateElementsWrittenToDiskInKeyOrder() {
+        // When
+        final List<Object> results = mergeResults(1);
+
+        // Then
+        assertEquals(Lists.newArrayList(entity(AGGREGATED, "a", 7), entity(AGGREGATED, "b", 4), entity(AGGREGATED, "c", 1)),
+                results.subList(3, results.size()));
+    }
+
+    @Test
+    public void shouldGiveTheSameResultsWhenIteratedAgain() {
+        // Given
+        final AggregatingMergeIterable iterable = new AggregatingMergeIterable(
+                new ChainedIterable<>(copyOf(graph1Results), copyOf(graph2Results)), schema, view, 1);
+
+        // When
+        final List<Object> first = Lists.newArrayList(iterable);
+        final List<Object> second = Lists.newArrayList(iterable);
+
+        // Then
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void shouldApplyPostAggregationFilterToElementsAggregatedAcrossResults() {
+        // Given
+        final View countMoreThan5 = new View.Builder()
+                .entity(AGGREGATED, new ViewElementDefinition.Builder()
+                        .postAggregationFilter(new ElementFilter.Builder()
+                                .select(COUNT)
+                                .execute(new IsMoreThan(5))
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Object> results;
+        try (final AggregatingMergeIterable iterable = new AggregatingMergeIterable(new ChainedIterable<>(
+                Lists.newArrayList(entity(AGGREGATED, "a", 3), entity(AGGREGATED, "b", 3)),
+                Lists.newArrayList(entity(AGGREGATED, "a", 3))), schema, countMoreThan5, 100)) {
+            results = Lists.newArrayList(iterable);
+        }
+
+        // Then
+        assertEquals(Lists.newArrayList(entity(AGGREGATED, "a", 6)), results);
+    }
+
+    @Test
+    public void shouldRemovePostAggregationFiltersFromSubGraphView() {
+        // Given
+        final View viewWithFilters = new View.Builder()
+                .entity(AGGREGATED, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(COUNT)
+                                .execute(new IsMoreThan(0))
+                                .build())
+                        .postAggregationFilter(new ElementFilter.Builder()
+                                .select(COUNT)
+                                .execute(new IsMoreThan(5))
+                                .build())
+                        .excludeProperties(COUNT)
+                        .build())
+                .entity(NON_AGGREGATED)
+                .build();
+
+        // When
+        final View subGraphView = AggregatingMergeIterable.getSubGraphView(viewWithFilters);
+
+        // Then
+        final ViewElementDefinition elementDef = subGraphView.getElement(AGGREGATED);
+        assertTrue(elementDef.hasPreAggregationFilters());
+        assertFalse(elementDef.hasPostAggregationFilters());
+        assertTrue(elementDef.isAllProperties());
+        assertEquals(viewWithFilters.getElement(NON_AGGREGATED), subGraphView.getElement(NON_AGGREGATED));
+        assertSame(view, AggregatingMergeIterable.getSubGraphView(view));
+    }
+
+    @Test
+    public void shouldRequireAPositiveMemoryLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new AggregatingMergeIterable(graph1Results, schema, view, 0));
+    }
+
+    private List<Object> mergeResults(final int maxElementsInMemory) {
+        try (final AggregatingMergeIterable iterable = new AggregatingMergeIterable(
+                new ChainedIterable<>(graph1Results, graph2Results, graph3Results), schema, view, maxElementsInMemory)) {
+            return Lists.newArrayList(iterable);
+        }
+    }
+
+    private static Entity entity(final String group, final String vertex, final int count) {
+        return new Entity.Builder()
+                .group(group)
+                .vertex(vertex)
+                .property(COUNT, count)
+                .build();
+    }
+
+    /**
+     * Aggregation updates the elements it is given, so each iteration needs
+     * its own copies of the elements.
+     */
+    private static Iterable<Object> copyOf(final List<Object> items) {
+        return () -> items.stream()
+                .map(item -> item instanceof Entity ? ((Entity) item).shallowClone() : item)
+                .iterator();
+    }
+}
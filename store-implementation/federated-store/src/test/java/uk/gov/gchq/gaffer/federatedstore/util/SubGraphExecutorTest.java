@@ -0,0 +1,272 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE;
+import static uk.gov.gchq.gaffer.user.StoreUser.testUser;
+
+public class SubGraphExecutorTest {
+    private final Context context = new Context(testUser());
+    private final List<Graph> graphs = Arrays.asList(createGraph("graph1"), createGraph("graph2"), createGraph("graph3"));
+    private SubGraphExecutor executor;
+
+    @AfterEach
+    public void after() {
+        if (null != executor) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldExecuteAgainstGraphsAtTheSameTimeAndReturnResultsInGraphOrder() throws OperationException {
+        // Given
+        executor = new SubGraphExecutor(3, 0);
+        final CountDownLatch allStarted = new CountDownLatch(3);
+
+        // When
+        final List<String> results = executor.execute(new GetAllElements(), graphs, context, (graph, op, graphContext) -> {
+            allStarted.countDown();
+            // Only completes if all the graphs are being executed against at once
+            assertTrue(allStarted.await(10, TimeUnit.SECONDS));
+            return graph.getGraphId();
+        });
+
+        // Then
+        assertEquals(Arrays.asList("graph1", "graph2", "graph3"), results);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenGraphFails() {
+        // Given
+        executor = new SubGraphExecutor(3, 0);
+
+        // When / Then
+        final OperationException exception = assertThrows(OperationException.class,
+                () -> executor.execute(new GetAllElements(), graphs, context, (graph, op, graphContext) -> {
+                    if ("graph2".equals(graph.getGraphId())) {
+                        throw new RuntimeException("Test Exception");
+                    }
+                    return graph.getGraphId();
+                }));
+        assertEquals("Test Exception", exception.getCause().getMessage());
+    }
+
+    @Test
+    public void shouldSkipGraphThatTimesOutWhenSkipFlagSet() throws OperationException {
+        // Given
+        executor = new SubGraphExecutor(3, 100);
+        final GetAllElements operation = new GetAllElements.Builder()
+                .option(KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE, "true")
+                .build();
+
+        // When
+        final List<String> results = executor.execute(operation, graphs, context, (graph, op, graphContext) -> {
+            if ("graph2".equals(graph.getGraphId())) {
+                Thread.sleep(10000);
+            }
+            return graph.getGraphId();
+        });
+
+        // Then
+        assertEquals(Arrays.asList("graph1", "graph3"), results);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenGraphTimesOut() {
+        // Given
+        executor = new SubGraphExecutor(3, 100);
+
+        // When / Then
+        assertThrows(OperationException.class,
+                () -> executor.execute(new GetAllElements(), graphs, context, (graph, op, graphContext) -> {
+                    Thread.sleep(10000);
+                    return graph.getGraphId();
+                }));
+    }
+
+    @Test
+    public void shouldStreamResultsInTheOrderGraphsRespond() throws OperationException {
+        // Given
+        executor = new SubGraphExecutor(3, 0);
+        final CountDownLatch graph1CanRespond = new CountDownLatch(1);
+
+        // When
+        final List<Object> results = new ArrayList<>();
+        try (final CloseableIterable<Object> stream = executor.executeAndStream(new GetAllElements(), graphs, context, (graph, op, graphContext) -> {
+            if ("graph1".equals(graph.getGraphId())) {
+                assertTrue(graph1CanRespond.await(10, TimeUnit.SECONDS));
+            }
+            return Lists.newArrayList(graph.getGraphId() + "a", graph.getGraphId() + "b");
+        })) {
+            for (final Object result : stream) {
+                results.add(result);
+                if (4 == results.size()) {
+                    // graph2 and graph3 have responded before graph1
+                    graph1CanRespond.countDown();
+                }
+            }
+        }
+
+        // Then
+        assertEquals(6, results.size());
+        assertEquals(Arrays.asList("graph1a", "graph1b"), results.subList(4, 6));
+    }
+
+    @Test
+    public void shouldStreamResultsInGraphOrderWhenSequential() throws OperationException {
+        // Given
+        executor = new SubGraphExecutor(1, 0);
+
+        // When
+        final List<Object> results = new ArrayList<>();
+        try (final CloseableIterable<Object> stream = executor.executeAndStream(new GetAllElements(), graphs, context,
+                (graph, op, graphContext) -> Lists.newArrayList(graph.getGraphId()))) {
+            for (final Object result : stream) {
+                results.add(result);
+            }
+        }
+
+        // Then
+        assertEquals(Arrays.asList("graph1", "graph2", "graph3"), results);
+    }
+
+    @Test
+    public void shouldCancelGraphsThatHaveNotRespondedWhenClosed() throws Exception {
+        // Given
+        executor = new SubGraphExecutor(3, 0);
+        final CountDownLatch slowGraphsStarted = new CountDownLatch(2);
+        final CountDownLatch slowGraphsInterrupted = new CountDownLatch(2);
+        final CloseableIterable<Object> stream = executor.executeAndStream(new GetAllElements(), graphs, context, (graph, op, graphContext) -> {
+            if (!"graph1".equals(graph.getGraphId())) {
+                slowGraphsStarted.countDown();
+                try {
+                    Thread.sleep(10000);
+                } catch (final InterruptedException e) {
+                    slowGraphsInterrupted.countDown();
+                    throw e;
+                }
+            }
+            return Lists.newArrayList(graph.getGraphId());
+        });
+
+        // When
+        final CloseableIterator<Object> iterator = stream.iterator();
+        assertEquals("graph1", iterator.next());
+        assertTrue(slowGraphsStarted.await(10, TimeUnit.SECONDS));
+        stream.close();
+
+        // Then
+        assertTrue(slowGraphsInterrupted.await(10, TimeUnit.SECONDS));
+        assertThrows(IllegalStateException.class, stream::iterator);
+    }
+
+    @Test
+    public void shouldReturnAllResultsWhenIteratedAgainAfterAnIteratorIsClosed() throws Exception {
+        // Given
+        executor = new SubGraphExecutor(3, 0);
+        final CountDownLatch firstIteratorClosed = new CountDownLatch(1);
+        final CloseableIterable<Object> stream = executor.executeAndStream(new GetAllElements(), graphs, context, (graph, op, graphContext) -> {
+            if (!"graph1".equals(graph.getGraphId())) {
+                firstIteratorClosed.await(10, TimeUnit.SECONDS);
+            }
+            return Lists.newArrayList(graph.getGraphId());
+        });
+
+        // When
+        final CloseableIterator<Object> iterator = stream.iterator();
+        assertEquals("graph1", iterator.next());
+        iterator.close();
+        firstIteratorClosed.countDown();
+        final List<Object> results = Lists.newArrayList(stream);
+        stream.close();
+
+        // Then
+        assertEquals(3, results.size());
+        assertEquals("graph1", results.get(0));
+        assertEquals(Sets.newHashSet("graph1", "graph2", "graph3"), Sets.newHashSet(results));
+    }
+
+    @Test
+    public void shouldStopWaitingForResultsWhenClosedByAnotherThread() throws Exception {
+        // Given
+        executor = new SubGraphExecutor(3, 0);
+        final CountDownLatch graphsStarted = new CountDownLatch(3);
+        final CloseableIterable<Object> stream = executor.executeAndStream(new GetAllElements(), graphs, context, (graph, op, graphContext) -> {
+            graphsStarted.countDown();
+            Thread.sleep(10000);
+            return Lists.newArrayList(graph.getGraphId());
+        });
+        assertTrue(graphsStarted.await(10, TimeUnit.SECONDS));
+        final ExecutorService reader = Executors.newSingleThreadExecutor();
+
+        try {
+            final Future<Boolean> hasNext = reader.submit(() -> stream.iterator().hasNext());
+
+            // When
+            Thread.sleep(100);
+            assertTimeoutPreemptively(Duration.ofSeconds(5), stream::close);
+
+            // Then
+            assertFalse(hasNext.get(5, TimeUnit.SECONDS));
+        } finally {
+            reader.shutdownNow();
+        }
+    }
+
+    private Graph createGraph(final String graphId) {
+        final Store store = mock(Store.class);
+        given(store.getSchema()).willReturn(new Schema());
+        given(store.getProperties()).willReturn(new StoreProperties());
+        return new Graph.Builder()
+                .config(new GraphConfig(graphId))
+                .store(store)
+                .build();
+    }
+}
@@ -42,9 +42,11 @@ public class HBaseProperties extends StoreProperties {
     public static final String WRITE_BUFFER_SIZE = "hbase.writeBufferSize";
     public static final String DEPENDENCY_JARS_HDFS_DIR_PATH = "hbase.hdfs.jars.path";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "hbase.entriesForBatchScanner";
+    public static final String NUM_THREADS_FOR_INGEST_CONVERSION = "hbase.numThreadsForIngestConversion";
 
     public static final int WRITE_BUFFER_SIZE_DEFAULT = 1000000;
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    public static final String NUM_THREADS_FOR_INGEST_CONVERSION_DEFAULT = "1";
 
     public HBaseProperties() {
         super(HBaseStore.class);
@@ -164,6 +166,27 @@ public class HBaseProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Get the number of threads that should be used to aggregate and convert
+     * batches of elements into puts when adding elements. If this is 1 then
+     * each batch is converted and put on the thread adding the elements.
+     *
+     * @return The number of threads to use to convert elements into puts
+     */
+    public int getNumThreadsForIngestConversion() {
+        return Integer.parseInt(get(NUM_THREADS_FOR_INGEST_CONVERSION, NUM_THREADS_FOR_INGEST_CONVERSION_DEFAULT));
+    }
+
+    /**
+     * Set the number of threads that should be used to aggregate and convert
+     * batches of elements into puts when adding elements.
+     *
+     * @param numThreadsForIngestConversion the number of threads to use to convert elements into puts
+     */
+    public void setNumThreadsForIngestConversion(final String numThreadsForIngestConversion) {
+        set(NUM_THREADS_FOR_INGEST_CONVERSION, numThreadsForIngestConversion);
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
@@ -69,6 +69,9 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
 import static uk.gov.gchq.gaffer.store.StoreTrait.MATCHED_VERTEX;
@@ -108,6 +111,7 @@ public class HBaseStore extends Store {
                     MATCHED_VERTEX
             ));
     private Connection connection;
+    private ExecutorService ingestConversionExecutor;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties)
@@ -138,6 +142,36 @@ public class HBaseStore extends Store {
         } else {
             super.initialise(graphId, schema, getProperties());
         }
+        initialiseIngestConversionExecutor();
+    }
+
+    private void initialiseIngestConversionExecutor() {
+        if (null != ingestConversionExecutor) {
+            ingestConversionExecutor.shutdownNow();
+            ingestConversionExecutor = null;
+        }
+
+        final int numThreads = getProperties().getNumThreadsForIngestConversion();
+        if (numThreads > 1) {
+            final AtomicInteger threadNumber = new AtomicInteger();
+            ingestConversionExecutor = Executors.newFixedThreadPool(numThreads, runnable -> {
+                final Thread thread = new Thread(runnable, "hbase-ingest-conversion-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Gets the executor used to convert elements into puts when they are
+     * added to the store. The executor is shared by all the inserts into the
+     * store and is replaced when the store is initialised again.
+     *
+     * @return the conversion executor, or null if elements are converted on
+     * the thread adding them
+     */
+    public ExecutorService getIngestConversionExecutor() {
+        return ingestConversionExecutor;
     }
 
     public Configuration getConfiguration() {
@@ -16,6 +16,8 @@
 
 package uk.gov.gchq.gaffer.hbasestore.operation.handler;
 
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
 import org.apache.hadoop.hbase.client.HTable;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Table;
@@ -32,15 +34,29 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * HBase will skip 'puts' if there are multiple 'puts' with the same rowId and column qualifier.
  * To work around this issue, we need to aggregate elements within each batch before adding them to HBase.
  * Due to this, optimising the batch size could have a big impact on performance.
  * Configure the batch size using store property: hbase.writeBufferSize
+ * <p>
+ * If the store property hbase.numThreadsForIngestConversion is greater than 1
+ * then the elements are added in a pipeline. The thread adding the elements
+ * splits them into batches, and the store's pool of conversion threads, which
+ * is shared by all the inserts into the store, converts each batch into puts
+ * and passes them to a shared {@link BufferedMutator}. The elements are
+ * converted in the same way as when they are added on a single thread.
+ * The {@link BufferedMutator} groups the puts by region server and sends them
+ * in the background, so serialisation overlaps with the RPCs.
  */
 public class AddElementsHandler implements OperationHandler<AddElements> {
     @Override
@@ -57,6 +73,11 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             return;
         }
 
+        if (null != store.getIngestConversionExecutor()) {
+            addElementsInPipeline(addElementsOperation, store);
+            return;
+        }
+
         try {
             final Table table = store.getTable();
             final Iterator<? extends Element> elements = addElementsOperation.getInput().iterator();
@@ -97,6 +118,87 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         }
     }
 
+    private void addElementsInPipeline(final AddElements addElementsOperation, final HBaseStore store)
+            throws OperationException {
+        final int numThreads = store.getProperties().getNumThreadsForIngestConversion();
+        final int batchSize = store.getProperties().getWriteBufferSize();
+        final ElementSerialisation serialisation = new ElementSerialisation(store.getSchema());
+        final ExecutorService executor = store.getIngestConversionExecutor();
+        // Only a limited number of batches are held in memory at once;
+        // reading the elements waits while that many batches are waiting to
+        // be converted.
+        final Deque<Future<?>> batchesInProgress = new ArrayDeque<>();
+        try (final BufferedMutator mutator = store.getConnection().getBufferedMutator(
+                new BufferedMutatorParams(store.getTableName()))) {
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : addElementsOperation.getInput()) {
+                if (null == element) {
+                    continue;
+                }
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    submitBatch(batch, addElementsOperation, serialisation, mutator, executor, batchesInProgress, 2 * numThreads);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submitBatch(batch, addElementsOperation, serialisation, mutator, executor, batchesInProgress, 2 * numThreads);
+            }
+            while (!batchesInProgress.isEmpty()) {
+                waitForBatch(batchesInProgress.poll());
+            }
+        } catch (final IOException | StoreException e) {
+            throw new OperationException("Failed to add elements", e);
+        } finally {
+            // Stop any batches still in progress if one of them failed
+            for (final Future<?> batchInProgress : batchesInProgress) {
+                batchInProgress.cancel(true);
+            }
+        }
+    }
+
+    private void submitBatch(final List<Element> batch,
+                             final AddElements addElementsOperation,
+                             final ElementSerialisation serialisation,
+                             final BufferedMutator mutator,
+                             final ExecutorService executor,
+                             final Deque<Future<?>> batchesInProgress,
+                             final int maxBatchesInProgress) throws OperationException {
+        while (batchesInProgress.size() >= maxBatchesInProgress) {
+            waitForBatch(batchesInProgress.poll());
+        }
+        batchesInProgress.add(executor.submit(() -> {
+            final List<Put> puts = new ArrayList<>(batch.size());
+            for (final Element element : batch) {
+                try {
+                    final Pair<Put, Put> putPair = serialisation.getPuts(element);
+                    puts.add(putPair.getFirst());
+                    if (null != putPair.getSecond()) {
+                        puts.add(putPair.getSecond());
+                    }
+                } catch (final Exception e) {
+                    if (addElementsOperation.isValidate() && !addElementsOperation.isSkipInvalidElements()) {
+                        throw e;
+                    }
+                    // otherwise just ignore the error
+                }
+            }
+            mutator.mutate(puts);
+            return null;
+        }));
+    }
+
+    private void waitForBatch(final Future<?> batch) throws OperationException {
+        try {
+            batch.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted whilst adding elements", e);
+        } catch (final ExecutionException e) {
+            throw new OperationException("Failed to add elements", e.getCause());
+        }
+    }
+
     private void executePuts(final Table table, final List<Put> puts) throws IOException {
         if (!puts.isEmpty()) {
             table.put(puts);
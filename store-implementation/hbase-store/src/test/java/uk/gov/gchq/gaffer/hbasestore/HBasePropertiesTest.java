@@ -39,11 +39,13 @@ public class HBasePropertiesTest {
         properties.setDependencyJarsHdfsDirPath("pathTo/jars");
         properties.setWriteBufferSize(10);
         properties.setZookeepers("zookeeper1,zookeeper2");
+        properties.setNumThreadsForIngestConversion("4");
 
         // Then
         assertEquals(new Path("pathTo/jars"), properties.getDependencyJarsHdfsDirPath());
         assertEquals(10, properties.getWriteBufferSize());
         assertEquals("zookeeper1,zookeeper2", properties.getZookeepers());
+        assertEquals(4, properties.getNumThreadsForIngestConversion());
     }
 
     @Test
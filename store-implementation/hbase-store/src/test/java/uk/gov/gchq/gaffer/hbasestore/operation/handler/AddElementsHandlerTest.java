@@ -17,6 +17,10 @@
 package uk.gov.gchq.gaffer.hbasestore.operation.handler;
 
 import com.google.common.collect.Lists;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.HTable;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Table;
@@ -49,6 +53,8 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -174,6 +180,64 @@ public class AddElementsHandlerTest {
         assertThat(elementsAdded, IsCollectionContaining.hasItems(expectedElementsArr));
     }
 
+    @Test
+    public void shouldAddElementsInPipeline() throws OperationException, StoreException, IOException {
+        // Given
+        final AddElementsHandler handler = new AddElementsHandler();
+        final List<Element> elements = createElements();
+        final List<Element> elementsWithNull = new ArrayList<>(elements);
+        elementsWithNull.add(null); // null should be skipped
+
+        final AddElements addElements = new AddElements.Builder()
+                .input(elementsWithNull)
+                .build();
+        final Context context = mock(Context.class);
+        final HBaseStore store = mock(HBaseStore.class);
+
+        final Connection connection = mock(Connection.class);
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        given(store.getConnection()).willReturn(connection);
+        given(store.getTableName()).willReturn(TableName.valueOf("table"));
+        given(connection.getBufferedMutator(any(BufferedMutatorParams.class))).willReturn(mutator);
+
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setWriteBufferSize(2);
+        properties.setNumThreadsForIngestConversion("2");
+        given(store.getProperties()).willReturn(properties);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        given(store.getIngestConversionExecutor()).willReturn(executor);
+
+        given(store.getSchema()).willReturn(SCHEMA);
+
+        // When
+        try {
+            handler.doOperation(addElements, context, store);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        final ArgumentCaptor<List<Put>> putsCaptor = (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+        verify(mutator, times(3)).mutate(putsCaptor.capture());
+        verify(mutator).close();
+        final List<Put> combinedPuts = new ArrayList<>();
+        for (final List<Put> puts : putsCaptor.getAllValues()) {
+            combinedPuts.addAll(puts);
+        }
+
+        final List<Element> expectedElements = new ArrayList<>();
+        for (final Element element : elements) {
+            expectedElements.add(element);
+            if (element instanceof Edge && !((Edge) element).getSource().equals(((Edge) element).getDestination())) {
+                expectedElements.add(element);
+            }
+        }
+        final Element[] expectedElementsArr = expectedElements.toArray(new Element[expectedElements.size()]);
+        final List<Element> elementsAdded = CellUtil.getElements(combinedPuts, new ElementSerialisation(SCHEMA), false);
+        assertEquals(expectedElements.size(), elementsAdded.size());
+        assertThat(elementsAdded, IsCollectionContaining.hasItems(expectedElementsArr));
+    }
+
     @Test
     public void shouldDoNothingIfNoElementsProvided() throws OperationException, StoreException, IOException {
         // Given
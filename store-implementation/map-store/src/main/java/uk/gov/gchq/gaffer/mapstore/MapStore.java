@@ -47,6 +47,9 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Arrays.asList;
 
@@ -74,6 +77,7 @@ public class MapStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(MapStore.class);
     private static MapImpl staticMapImpl;
     private MapImpl mapImpl;
+    private ExecutorService ingestExecutor;
 
     public static void resetStaticMap() {
         staticMapImpl = null;
@@ -89,12 +93,44 @@ public class MapStore extends Store {
 
         // Initialise maps
         mapImpl = createMapImpl();
+
+        initialiseIngestExecutor();
     }
 
     public MapImpl getMapImpl() {
         return mapImpl;
     }
 
+    /**
+     * @return the pool of threads used to add batches of elements concurrently,
+     * or null if elements are added on the calling thread
+     */
+    public ExecutorService getIngestExecutor() {
+        return ingestExecutor;
+    }
+
+    private void initialiseIngestExecutor() throws StoreException {
+        if (null != ingestExecutor) {
+            ingestExecutor.shutdown();
+            ingestExecutor = null;
+        }
+
+        final int ingestThreads = getProperties().getIngestThreads();
+        if (ingestThreads > 1 && getProperties().getIngestBufferSize() > 0) {
+            if (!mapImpl.isThreadSafe()) {
+                throw new StoreException(MapStoreProperties.INGEST_THREADS + " is set to " + ingestThreads
+                        + " but the maps created by the map factory are not thread safe");
+            }
+
+            final AtomicInteger threadCount = new AtomicInteger();
+            ingestExecutor = Executors.newFixedThreadPool(ingestThreads, runnable -> {
+                final Thread thread = new Thread(runnable, "mapstore-ingest-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
     @Override
     public Set<StoreTrait> getTraits() {
         return TRAITS;
@@ -47,6 +47,50 @@ public class MapStoreProperties extends StoreProperties {
     public static final String INGEST_BUFFER_SIZE = "gaffer.store.mapstore.map.ingest.buffer.size";
     public static final int INGEST_BUFFER_SIZE_DEFAULT = 0;
 
+    /**
+     * Property name for the number of threads used to aggregate and add
+     * batches of elements. This only applies when an ingest buffer is used.
+     * If the value is greater than 1 the maps must be thread safe, so the
+     * {@link SimpleMapFactory} defaults to using a
+     * {@link java.util.concurrent.ConcurrentHashMap} and the store fails to
+     * initialise if the map factory is not thread safe. The threads are
+     * owned by the store and shared between AddElements operations.
+     */
+    public static final String INGEST_THREADS = "gaffer.store.mapstore.map.ingest.threads";
+    public static final int INGEST_THREADS_DEFAULT = 1;
+
+    /**
+     * Property name for whether elements are deep copied, using the schema
+     * serialisers, before they are returned by the get operations. This is
+     * the safe default. If set to false then elements are returned as
+     * shallow copies which share their property values with the stored
+     * elements, so the property values must not be modified in place.
+     */
+    public static final String DEEP_COPY_ON_READ = "gaffer.store.mapstore.map.read.deepCopy";
+    public static final String DEEP_COPY_ON_READ_DEFAULT = "true";
+
+    /**
+     * Property name for the number of threads used to apply the view to the
+     * elements scanned by the get operations. If the value is 1 or less the
+     * view is applied sequentially on the calling thread. Otherwise the
+     * scanned elements are read in batches and each batch is split across a
+     * {@link java.util.concurrent.ForkJoinPool}. The order of the results is
+     * preserved and batches are only read as the results are consumed, so
+     * limits on the number of results still apply.
+     */
+    public static final String READ_PARALLELISM = "gaffer.store.mapstore.map.read.parallelism";
+    public static final int READ_PARALLELISM_DEFAULT = 1;
+
+    /**
+     * Property name for the number of seeds looked up together by the seeded
+     * get operations, and the number of scanned elements in each batch when
+     * the read parallelism is greater than 1. Duplicate seeds within a batch
+     * are only looked up in the index once, but their elements are still
+     * returned for each copy of the seed.
+     */
+    public static final String READ_BATCH_SIZE = "gaffer.store.mapstore.map.read.batch.size";
+    public static final int READ_BATCH_SIZE_DEFAULT = 10000;
+
     public MapStoreProperties() {
         super(MapStore.class);
     }
@@ -113,6 +157,53 @@ public class MapStoreProperties extends StoreProperties {
         set(INGEST_BUFFER_SIZE, String.valueOf(ingestBufferSize));
     }
 
+    public int getIngestThreads() {
+        final String threads = get(INGEST_THREADS, null);
+        if (null == threads) {
+            return INGEST_THREADS_DEFAULT;
+        }
+
+        return Integer.parseInt(threads);
+    }
+
+    public void setIngestThreads(final int ingestThreads) {
+        set(INGEST_THREADS, String.valueOf(ingestThreads));
+    }
+
+    public boolean isDeepCopyOnRead() {
+        return Boolean.parseBoolean(get(DEEP_COPY_ON_READ, DEEP_COPY_ON_READ_DEFAULT));
+    }
+
+    public void setDeepCopyOnRead(final boolean deepCopyOnRead) {
+        set(DEEP_COPY_ON_READ, Boolean.toString(deepCopyOnRead));
+    }
+
+    public int getReadParallelism() {
+        final String parallelism = get(READ_PARALLELISM, null);
+        if (null == parallelism) {
+            return READ_PARALLELISM_DEFAULT;
+        }
+
+        return Integer.parseInt(parallelism);
+    }
+
+    public void setReadParallelism(final int readParallelism) {
+        set(READ_PARALLELISM, String.valueOf(readParallelism));
+    }
+
+    public int getReadBatchSize() {
+        final String size = get(READ_BATCH_SIZE, null);
+        if (null == size) {
+            return READ_BATCH_SIZE_DEFAULT;
+        }
+
+        return Integer.parseInt(size);
+    }
+
+    public void setReadBatchSize(final int readBatchSize) {
+        set(READ_BATCH_SIZE, String.valueOf(readBatchSize));
+    }
+
     public boolean isStaticMap() {
         return Boolean.parseBoolean(get(STATIC_MAP, STATIC_MAP_DEFAULT));
     }
@@ -77,6 +77,17 @@ public interface MapFactory {
         // no action required.
     }
 
+    /**
+     * Whether the maps created by this factory can be updated by more than
+     * one thread at once, as required when
+     * {@link MapStoreProperties#INGEST_THREADS} is set above 1.
+     *
+     * @return true if the maps are thread safe
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+
     /**
      * Clear any currently configured Maps.
      */
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.multimap.SerialisedIndexMultiMap;
+import uk.gov.gchq.gaffer.mapstore.multimap.SerialisedMultiMap;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementBytesSerialiser;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.mapstore.utils.GroupedPropertiesBytesSerialiser;
+import uk.gov.gchq.gaffer.mapstore.utils.SerialisedMap;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.store.serialiser.EdgeIdSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.EntityIdSerialiser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link MapFactory} which creates maps that hold the stored elements in
+ * their serialised form, using the serialisers from the schema.
+ * <p>
+ * Holding each element as a byte array rather than as a graph of objects uses
+ * a fraction of the heap and greatly reduces garbage collection pauses for
+ * large graphs, at the cost of deserialising elements each time they are read.
+ * The vertex serialiser and all property serialisers in the schema must be
+ * {@link ToBytesSerialiser}s, and the vertex and group-by property serialisers
+ * must be consistent, as map keys are compared using their serialised form.
+ * <p>
+ * The maps created by this factory are not thread safe, so the
+ * {@link uk.gov.gchq.gaffer.mapstore.MapStore} cannot be initialised with
+ * {@link MapStoreProperties#INGEST_THREADS} set above 1.
+ * <p>
+ * To use this factory set {@link MapStoreProperties#MAP_FACTORY} to this class.
+ */
+public class SerialisedMapFactory implements MapFactory {
+    private final ElementCloner cloner;
+
+    private Map<Class<?>, ToBytesSerialiser<?>> serialisers = new HashMap<>();
+
+    private Map<String, Map> maps = new HashMap<>();
+    private Map<String, MultiMap> multiMaps = new HashMap<>();
+
+    public SerialisedMapFactory() {
+        this(new ElementCloner());
+    }
+
+    protected SerialisedMapFactory(final ElementCloner cloner) {
+        this.cloner = cloner;
+    }
+
+    @Override
+    public void initialise(final Schema schema, final MapStoreProperties properties) {
+        validateSchema(schema);
+
+        serialisers = new HashMap<>();
+        serialisers.put(Element.class, new ElementBytesSerialiser(schema));
+        serialisers.put(GroupedProperties.class, new GroupedPropertiesBytesSerialiser(schema));
+        serialisers.put(EntityId.class, new EntityIdSerialiser(schema));
+        serialisers.put(EdgeId.class, new EdgeIdSerialiser(schema));
+        serialisers.put(Long.class, new CompactRawLongSerialiser());
+    }
+
+    @Override
+    public <K, V> Map<K, V> getMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return maps.computeIfAbsent(mapName, n -> new SerialisedMap<>(getSerialiser(keyClass), getSerialiser(valueClass)));
+    }
+
+    @Override
+    public <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return multiMaps.computeIfAbsent(mapName, n -> {
+            // Edges held in the index get their matched vertex from the key
+            if (ElementId.class.isAssignableFrom(keyClass) && Element.class.equals(valueClass)) {
+                return new SerialisedIndexMultiMap(getSerialiser(keyClass), getSerialiser(Element.class));
+            }
+            return new SerialisedMultiMap<>(getSerialiser(keyClass), getSerialiser(valueClass));
+        });
+    }
+
+    @Override
+    public void clear() {
+        maps.clear();
+        multiMaps.clear();
+    }
+
+    @Override
+    public Element cloneElement(final Element element, final Schema schema) {
+        return cloner.cloneElement(element, schema);
+    }
+
+    private <T> ToBytesSerialiser<T> getSerialiser(final Class<T> clazz) {
+        for (final Map.Entry<Class<?>, ToBytesSerialiser<?>> entry : serialisers.entrySet()) {
+            if (entry.getKey().isAssignableFrom(clazz)) {
+                return (ToBytesSerialiser<T>) entry.getValue();
+            }
+        }
+        throw new IllegalArgumentException("Unable to create a serialised map for class: " + clazz.getName());
+    }
+
+    private void validateSchema(final Schema schema) {
+        if (!(schema.getVertexSerialiser() instanceof ToBytesSerialiser)) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + " requires the vertex serialiser to be a " + ToBytesSerialiser.class.getSimpleName());
+        }
+
+        for (final String group : schema.getGroups()) {
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            for (final String property : elementDef.getProperties()) {
+                final TypeDefinition typeDef = elementDef.getPropertyTypeDef(property);
+                if (null == typeDef || !(typeDef.getSerialiser() instanceof ToBytesSerialiser)) {
+                    throw new IllegalArgumentException(getClass().getSimpleName() + " requires the serialiser for property "
+                            + property + " in group " + group + " to be a " + ToBytesSerialiser.class.getSimpleName());
+                }
+            }
+        }
+    }
+}
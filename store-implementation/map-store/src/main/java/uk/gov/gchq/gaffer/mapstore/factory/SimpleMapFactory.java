@@ -25,6 +25,8 @@ import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Default implementation of the {@link MapFactory} interface, used to create map
@@ -33,6 +35,7 @@ import java.util.Map;
 public class SimpleMapFactory implements MapFactory {
     public static final String MAP_CLASS = "gaffer.store.mapstore.map.class";
     public static final String MAP_CLASS_DEFAULT = HashMap.class.getName();
+    public static final String CONCURRENT_MAP_CLASS_DEFAULT = ConcurrentHashMap.class.getName();
 
     private final ElementCloner cloner;
     private Class<? extends Map> mapClass = HashMap.class;
@@ -50,7 +53,8 @@ public class SimpleMapFactory implements MapFactory {
 
     @Override
     public void initialise(final Schema schema, final MapStoreProperties properties) {
-        final String mapClassName = properties.get(MAP_CLASS, MAP_CLASS_DEFAULT);
+        final String defaultMapClassName = properties.getIngestThreads() > 1 ? CONCURRENT_MAP_CLASS_DEFAULT : MAP_CLASS_DEFAULT;
+        final String mapClassName = properties.get(MAP_CLASS, defaultMapClassName);
         try {
             mapClass = Class.forName(SimpleClassNameIdResolver.getClassName(mapClassName)).asSubclass(Map.class);
         } catch (final ClassNotFoundException | ClassCastException e) {
@@ -58,6 +62,11 @@ public class SimpleMapFactory implements MapFactory {
         }
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return ConcurrentMap.class.isAssignableFrom(mapClass);
+    }
+
     @Override
     public <K, V> Map<K, V> getMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
         Map map = maps.get(mapName);
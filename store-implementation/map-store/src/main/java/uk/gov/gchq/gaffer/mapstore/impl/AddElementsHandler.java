@@ -38,10 +38,23 @@ import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 
 /**
  * An {@link OperationHandler} for the {@link AddElements} operation on the {@link MapStore}.
+ * <p>
+ * If an ingest buffer size and more than one ingest thread are configured in the
+ * {@link uk.gov.gchq.gaffer.mapstore.MapStoreProperties} then the batches of
+ * elements are aggregated and added concurrently, on a pool of threads owned
+ * by the store. This requires the maps created by the
+ * {@link uk.gov.gchq.gaffer.mapstore.factory.MapFactory} to be thread safe.
  */
 public class AddElementsHandler implements OperationHandler<AddElements> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AddElementsHandler.class);
@@ -57,15 +70,18 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         return null;
     }
 
-    private void addElements(final Iterable<? extends Element> elements, final MapStore mapStore) {
+    private void addElements(final Iterable<? extends Element> elements, final MapStore mapStore) throws OperationException {
         final MapImpl mapImpl = mapStore.getMapImpl();
         final Schema schema = mapStore.getSchema();
 
         final int bufferSize = mapStore.getProperties().getIngestBufferSize();
+        final int ingestThreads = mapStore.getProperties().getIngestThreads();
 
         if (bufferSize < 1) {
             // Add all elements directly
             addBatch(mapImpl, schema, elements);
+        } else if (ingestThreads > 1 && null != mapStore.getIngestExecutor()) {
+            addBatchesConcurrently(elements, mapImpl, schema, bufferSize, ingestThreads, mapStore.getIngestExecutor());
         } else {
             LOGGER.info("Adding elements in batches, batch size = " + bufferSize);
             int count = 0;
@@ -88,6 +104,93 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         }
     }
 
+    /**
+     * Aggregates and adds batches of elements using the store's pool of ingest
+     * threads. The number of batches held in memory is bounded to twice the
+     * number of threads, so reading from the input blocks until a thread is
+     * free. The first batch to fail stops the input being read any further and
+     * cancels the batches that have not yet been added.
+     *
+     * @param elements      the elements to add
+     * @param mapImpl       the map implementation to add the elements to
+     * @param schema        the schema
+     * @param bufferSize    the number of elements in each batch
+     * @param ingestThreads the number of threads to add batches with
+     * @param executor      the store's pool of ingest threads
+     * @throws OperationException if a batch could not be added
+     */
+    private void addBatchesConcurrently(final Iterable<? extends Element> elements, final MapImpl mapImpl, final Schema schema,
+                                        final int bufferSize, final int ingestThreads, final ExecutorService executor) throws OperationException {
+        LOGGER.info("Adding elements in batches, batch size = {}, threads = {}", bufferSize, ingestThreads);
+        final Semaphore pendingBatches = new Semaphore(ingestThreads * 2);
+        final List<Future<?>> futures = new LinkedList<>();
+        try {
+            List<Element> batch = new ArrayList<>(bufferSize);
+            for (final Element element : elements) {
+                if (null != element) {
+                    batch.add(element);
+                    if (batch.size() >= bufferSize) {
+                        futures.add(submitBatch(executor, pendingBatches, mapImpl, schema, batch));
+                        batch = new ArrayList<>(bufferSize);
+                        checkCompletedBatches(futures, false);
+                    }
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                futures.add(submitBatch(executor, pendingBatches, mapImpl, schema, batch));
+            }
+
+            checkCompletedBatches(futures, true);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted whilst adding elements", e);
+        } catch (final ExecutionException e) {
+            throw new OperationException("Failed to add elements: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            for (final Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Removes the batches that have been added, throwing the error from the
+     * first batch that failed.
+     *
+     * @param futures the batches that have not yet been checked
+     * @param wait    true to wait for all the batches to complete
+     * @throws InterruptedException if interrupted whilst waiting
+     * @throws ExecutionException   if a batch failed
+     */
+    private void checkCompletedBatches(final List<Future<?>> futures, final boolean wait) throws InterruptedException, ExecutionException {
+        final Iterator<Future<?>> itr = futures.iterator();
+        while (itr.hasNext()) {
+            final Future<?> future = itr.next();
+            if (wait || future.isDone()) {
+                future.get();
+                itr.remove();
+            }
+        }
+    }
+
+    private Future<?> submitBatch(final ExecutorService executor, final Semaphore pendingBatches, final MapImpl mapImpl,
+                                  final Schema schema, final List<Element> batch) throws InterruptedException {
+        pendingBatches.acquire();
+        try {
+            return executor.submit(() -> {
+                try {
+                    addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema));
+                } finally {
+                    pendingBatches.release();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            pendingBatches.release();
+            throw e;
+        }
+    }
+
     private void addBatch(final MapImpl mapImpl, final Schema schema, final Iterable<? extends Element> elements) {
         for (final Element element : elements) {
             if (null != element) {
@@ -23,7 +23,6 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
@@ -79,11 +78,8 @@ public class GetAdjacentIdsHandler implements
             // Create full Element
             // Apply view
             // Extract adjacent vertices
-            Stream<Element> elementStream = Streams.toStream(getAdjacentIds.getInput())
-                    .flatMap(entityId ->
-                            GetElementsUtil.getRelevantElements(mapImpl, entityId, getAdjacentIds.getView(), getAdjacentIds.getDirectedType(), getAdjacentIds.getIncludeIncomingOutGoing(), SeedMatching.SeedMatchingType.RELATED)
-                                    .stream()
-                                    .map(mapImpl::getAggElement));
+            Stream<Element> elementStream = GetElementsUtil.getRelevantElements(mapImpl, getAdjacentIds.getInput(), getAdjacentIds.getView(), getAdjacentIds.getDirectedType(), getAdjacentIds.getIncludeIncomingOutGoing(), SeedMatching.SeedMatchingType.RELATED)
+                    .map(mapImpl::getAggElement);
 
             // Apply the view
             elementStream = GetElementsUtil.applyView(elementStream, schema, getAdjacentIds.getView());
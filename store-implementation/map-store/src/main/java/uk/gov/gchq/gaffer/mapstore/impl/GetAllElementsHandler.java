@@ -60,14 +60,20 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
 
         @Override
         public CloseableIterator<Element> iterator() {
-            Stream<Element> elements = mapImpl.getAllElements(getAllElements.getView().getGroups());
-            elements = GetElementsUtil.applyDirectedTypeFilter(elements, getAllElements.getView().hasEdges(), getAllElements.getDirectedType());
-            elements = GetElementsUtil.applyView(elements, schema, getAllElements.getView());
-            elements = elements.map(element -> mapImpl.cloneElement(element, schema));
-            elements = elements.map(element -> {
-                ViewUtil.removeProperties(getAllElements.getView(), element);
-                return element;
-            });
+            final Stream<Element> elements = GetElementsUtil.applyPipeline(
+                    mapImpl.getAllElements(getAllElements.getView().getGroups()),
+                    getAllElements.getView(),
+                    view -> stream -> {
+                        Stream<Element> filtered = GetElementsUtil.applyDirectedTypeFilter(stream, view.hasEdges(), getAllElements.getDirectedType());
+                        filtered = GetElementsUtil.applyView(filtered, schema, view);
+                        return filtered.map(element -> {
+                            final Element copy = mapImpl.copyForRead(element);
+                            ViewUtil.removeProperties(view, copy);
+                            return copy;
+                        });
+                    },
+                    mapImpl.getReadPool(),
+                    mapImpl.getReadBatchSize());
             return new WrappedCloseableIterator<>(elements.iterator());
         }
     }
@@ -73,15 +73,19 @@ public class GetElementsHandler
 
         @Override
         public CloseableIterator<Element> iterator() {
-            Stream<Element> elements = Streams.toStream(getElements.getInput())
-                    .flatMap(elementId -> GetElementsUtil.getRelevantElements(mapImpl, elementId, getElements.getView(), getElements.getDirectedType(), getElements.getIncludeIncomingOutGoing(), getElements.getSeedMatching()).stream());
+            Stream<Element> elements = GetElementsUtil.getRelevantElements(mapImpl, getElements.getInput(), getElements.getView(), getElements.getDirectedType(), getElements.getIncludeIncomingOutGoing(), getElements.getSeedMatching());
             elements = elements.flatMap(e -> Streams.toStream(mapImpl.getElements(e)));
-            elements = GetElementsUtil.applyView(elements, schema, getElements.getView());
-            elements = elements.map(element -> mapImpl.cloneElement(element, schema));
-            elements = elements.map(element -> {
-                ViewUtil.removeProperties(getElements.getView(), element);
-                return element;
-            });
+            elements = GetElementsUtil.applyPipeline(
+                    elements,
+                    getElements.getView(),
+                    view -> stream -> GetElementsUtil.applyView(stream, schema, view)
+                            .map(element -> {
+                                final Element copy = mapImpl.copyForRead(element);
+                                ViewUtil.removeProperties(view, copy);
+                                return copy;
+                            }),
+                    mapImpl.getReadPool(),
+                    mapImpl.getReadBatchSize());
             return new WrappedCloseableIterator<>(elements.iterator());
         }
     }
@@ -16,27 +16,30 @@
 
 package uk.gov.gchq.gaffer.mapstore.impl;
 
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
-import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
-import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
-import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
-import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
-import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
-import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.ViewElementPipeline;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.function.Predicate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -55,69 +58,31 @@ public final class GetElementsUtil {
                                                    final DirectedType directedType,
                                                    final IncludeIncomingOutgoingType inOutType,
                                                    final SeedMatchingType seedMatchingType) {
-        final Set<Element> relevantElements;
-
-        final Set<String> groups = view.getGroups();
-        Predicate<Element> isFiltered = e -> !groups.contains(e.getGroup());
-
-        if (elementId instanceof EntityId) {
-            final Collection<Element> elements = mapImpl.lookup(new EntitySeed(((EntityId) elementId).getVertex()));
-            if (elements.isEmpty()) {
-                return Collections.emptySet();
-            }
-
-            relevantElements = new HashSet<>(elements);
-
-            // Apply inOutType options - if option is EITHER then nothing to do
-            if (inOutType == IncludeIncomingOutgoingType.INCOMING) {
-                isFiltered = isFiltered.or(e -> e instanceof Edge
-                        && ((Edge) e).isDirected()
-                        && (EdgeId.MatchedVertex.SOURCE == ((Edge) e).getMatchedVertex()));
-            } else if (inOutType == IncludeIncomingOutgoingType.OUTGOING) {
-                isFiltered = isFiltered.or(e -> e instanceof Edge
-                        && ((Edge) e).isDirected()
-                        && (EdgeId.MatchedVertex.DESTINATION == ((Edge) e).getMatchedVertex()));
-            }
-            // Apply seedMatching option - if option is RELATED then nothing to do
-            if (seedMatchingType == SeedMatchingType.EQUAL) {
-                isFiltered = isFiltered.or(e -> e instanceof Edge);
-            }
-        } else {
-            relevantElements = new HashSet<>();
-
-            final EdgeId edgeId = (EdgeSeed) elementId;
-            if (DirectedType.isEither(edgeId.getDirectedType())) {
-                relevantElements.addAll(mapImpl.lookup(new EdgeSeed(edgeId.getSource(), edgeId.getDestination(), false)));
-                relevantElements.addAll(mapImpl.lookup(new EdgeSeed(edgeId.getSource(), edgeId.getDestination(), true)));
-            } else {
-                relevantElements.addAll(mapImpl.lookup(edgeId));
-            }
-
-            mapImpl.lookup(new EntitySeed(edgeId.getSource()))
-                    .stream()
-                    .filter(e -> e instanceof Entity)
-                    .forEach(relevantElements::add);
-            mapImpl.lookup(new EntitySeed(edgeId.getDestination()))
-                    .stream()
-                    .filter(e -> e instanceof Entity)
-                    .forEach(relevantElements::add);
-
-            // Apply seedMatching option
-            // If option is RELATED then nothing to do
-            if (seedMatchingType == SeedMatchingType.EQUAL) {
-                isFiltered = isFiltered.or(e -> e instanceof Entity);
-            }
-        }
-
-        // Apply directedType flag
-        if (directedType == DirectedType.DIRECTED) {
-            isFiltered = isFiltered.or(e -> e instanceof Edge && !((Edge) e).isDirected());
-        } else if (directedType == DirectedType.UNDIRECTED) {
-            isFiltered = isFiltered.or(e -> e instanceof Edge && ((Edge) e).isDirected());
-        }
+        return new RelevantElementsLookup(mapImpl, view, directedType, inOutType, seedMatchingType).lookup(elementId);
+    }
 
-        relevantElements.removeIf(isFiltered);
-        return relevantElements;
+    /**
+     * Gets the elements relevant to each of the provided seeds. The seeds are
+     * read lazily and looked up in batches, with duplicate seeds in a batch
+     * only being looked up once. The elements are returned for every seed,
+     * including duplicates.
+     *
+     * @param mapImpl          the map implementation to look the seeds up in
+     * @param elementIds       the seeds
+     * @param view             the view
+     * @param directedType     the directed type
+     * @param inOutType        the in/out type
+     * @param seedMatchingType the seed matching type
+     * @return the relevant elements, in seed order
+     */
+    public static Stream<Element> getRelevantElements(final MapImpl mapImpl,
+                                                      final Iterable<? extends ElementId> elementIds,
+                                                      final View view,
+                                                      final DirectedType directedType,
+                                                      final IncludeIncomingOutgoingType inOutType,
+                                                      final SeedMatchingType seedMatchingType) {
+        return new RelevantElementsLookup(mapImpl, view, directedType, inOutType, seedMatchingType)
+                .lookup(elementIds, mapImpl.getReadBatchSize());
     }
 
     public static Stream<Element> applyDirectedTypeFilter(final Stream<Element> elements,
@@ -134,45 +99,87 @@ public final class GetElementsUtil {
         return filteredElements;
     }
 
-    public static Stream<Element> applyView(final Stream<Element> elementStream,
-                                            final Schema schema,
-                                            final View view) {
-        final Set<String> viewGroups = view.getGroups();
-        Stream<Element> stream = elementStream;
-        // Check group is valid
-        if (!view.getEntityGroups().equals(schema.getEntityGroups())
-                || !view.getEdgeGroups().equals(schema.getEdgeGroups())) {
-            stream = stream.filter(e -> viewGroups.contains(e.getGroup()));
+    /**
+     * Applies a pipeline of per element operations, such as
+     * {@link #applyView(Stream, Schema, View)}, to a stream of elements.
+     * <p>
+     * If a pool is provided the elements are read in batches and each batch is
+     * split into a chunk per thread in the pool. The order of the elements is
+     * preserved and a batch is only read when the results of the previous
+     * batch have been consumed. The filters and transformers in a
+     * {@link View} hold state whilst they are applied, so each thread builds
+     * its own pipeline from a clone of the view.
+     *
+     * @param elements        the elements to apply the pipeline to
+     * @param view            the view to build the pipeline from
+     * @param pipelineFactory creates the pipeline for a given view
+     * @param pool            the pool to apply the pipeline with, or null to
+     *                        apply it sequentially
+     * @param batchSize       the number of elements to read in each batch
+     * @return the elements after the pipeline has been applied
+     */
+    public static Stream<Element> applyPipeline(final Stream<Element> elements,
+                                                final View view,
+                                                final Function<View, UnaryOperator<Stream<Element>>> pipelineFactory,
+                                                final ForkJoinPool pool,
+                                                final int batchSize) {
+        if (null == pool) {
+            return pipelineFactory.apply(view).apply(elements);
         }
 
-        // Apply pre-aggregation filter
-        stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            return ved.getPreAggregationFilter() == null || ved.getPreAggregationFilter().test(e);
-        });
-
-        // Apply post-aggregation filter
-        stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            return ved.getPostAggregationFilter() == null || ved.getPostAggregationFilter().test(e);
-        });
-
-        // Apply transform
-        stream = stream.map(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            final ElementTransformer transformer = ved.getTransformer();
-            if (transformer != null) {
-                transformer.apply(e);
+        final Map<Thread, UnaryOperator<Stream<Element>>> pipelines = new ConcurrentHashMap<>();
+        final Iterator<Element> source = elements.iterator();
+        final Iterable<List<Element>> batches = () -> new Iterator<List<Element>>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
             }
-            return e;
-        });
 
-        // Apply post transform filter
-        stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
-            return ved.getPostTransformFilter() == null || ved.getPostTransformFilter().test(e);
-        });
+            @Override
+            public List<Element> next() {
+                if (!source.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                final List<Element> batch = new ArrayList<>();
+                while (source.hasNext() && batch.size() < batchSize) {
+                    batch.add(source.next());
+                }
+                return batch;
+            }
+        };
+
+        return Streams.toStream(batches)
+                .flatMap(batch -> {
+                    final int chunkSize = Math.max(1, (batch.size() + pool.getParallelism() - 1) / pool.getParallelism());
+                    final List<ForkJoinTask<List<Element>>> tasks = new ArrayList<>();
+                    for (int i = 0; i < batch.size(); i += chunkSize) {
+                        final List<Element> chunk = batch.subList(i, Math.min(batch.size(), i + chunkSize));
+                        tasks.add(pool.submit(() -> pipelines.computeIfAbsent(Thread.currentThread(), t -> pipelineFactory.apply(view.clone()))
+                                .apply(chunk.stream())
+                                .collect(Collectors.toList())));
+                    }
+
+                    final List<Element> results = new ArrayList<>(batch.size());
+                    for (final ForkJoinTask<List<Element>> task : tasks) {
+                        results.addAll(task.join());
+                    }
+                    return results.stream();
+                });
+    }
 
-        return stream;
+    /**
+     * Applies the filters and transformers in the view to a stream of
+     * elements, using the {@link ViewElementPipeline} compiled for the view.
+     *
+     * @param elementStream the elements to filter and transform
+     * @param schema        the schema
+     * @param view          the view to apply
+     * @return the filtered and transformed elements
+     */
+    public static Stream<Element> applyView(final Stream<Element> elementStream,
+                                            final Schema schema,
+                                            final View view) {
+        return ViewElementPipeline.of(view).apply(elementStream);
     }
 }
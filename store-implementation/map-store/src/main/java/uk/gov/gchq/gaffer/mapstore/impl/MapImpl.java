@@ -36,6 +36,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 /**
@@ -60,6 +62,14 @@ public class MapImpl {
     public static final String ENTITY_ID_TO_ELEMENTS = "entityIdToElements";
     public static final String EDGE_ID_TO_ELEMENTS = "edgeIdToElements";
 
+    /**
+     * The pools used to apply views in parallel, shared by every MapImpl with
+     * the same read parallelism. Stores are often re-initialised, so a pool per
+     * MapImpl would leave a pool behind each time. Idle pool threads are
+     * daemons and are released by the pool after a short time.
+     */
+    private static final Map<Integer, ForkJoinPool> READ_POOLS = new ConcurrentHashMap<>();
+
     /**
      * aggElements maps from an Element group to a map of Elements containing the group-by properties
      * to a Properties object without the group-by properties
@@ -89,6 +99,9 @@ public class MapImpl {
     private final List<String> aggregatedGroups;
     private final Schema schema;
     private final boolean maintainIndex;
+    private final boolean deepCopyOnRead;
+    private final ForkJoinPool readPool;
+    private final int readBatchSize;
     private final AggregatorUtil.IngestPropertiesBinaryOperator propertyAggregator;
 
     public MapImpl(final Schema schema, final MapStoreProperties mapStoreProperties) {
@@ -96,6 +109,9 @@ public class MapImpl {
         propertyAggregator = new AggregatorUtil.IngestPropertiesBinaryOperator(schema);
         mapFactory = createMapFactory(schema, mapStoreProperties);
         maintainIndex = mapStoreProperties.getCreateIndex();
+        deepCopyOnRead = mapStoreProperties.isDeepCopyOnRead();
+        readPool = mapStoreProperties.getReadParallelism() > 1 ? READ_POOLS.computeIfAbsent(mapStoreProperties.getReadParallelism(), ForkJoinPool::new) : null;
+        readBatchSize = mapStoreProperties.getReadBatchSize();
 
         for (final String group : schema.getGroups()) {
             aggElements.put(group, mapFactory.getMap(group + "|" + AGG_ELEMENTS, Element.class, GroupedProperties.class));
@@ -115,6 +131,13 @@ public class MapImpl {
         schema.getEdgeGroups().forEach(this::addToGroupByMap);
     }
 
+    /**
+     * @return true if the maps can be updated by more than one thread at once
+     */
+    public boolean isThreadSafe() {
+        return mapFactory.isThreadSafe();
+    }
+
     public void clear() {
         aggElements.clear();
         nonAggElements.clear();
@@ -158,7 +181,8 @@ public class MapImpl {
         if (null == count || count < 1) {
             return Collections.emptyList();
         }
-        return new RepeatItemIterable<>(element, count);
+        // Without a deep copy on read the stored element must not be exposed to the view transforms
+        return new RepeatItemIterable<>(deepCopyOnRead ? element : element.shallowClone(), count);
     }
 
     Element getAggElement(final Element element) {
@@ -185,7 +209,7 @@ public class MapImpl {
                     final Element element = x.getKey().emptyClone();
                     element.copyProperties(x.getKey().getProperties());
                     element.copyProperties(x.getValue());
-                    return cloneElement(element, schema);
+                    return deepCopyOnRead ? cloneElement(element, schema) : element;
                 });
     }
 
@@ -194,7 +218,7 @@ public class MapImpl {
                 .filter(entry -> groups.contains(entry.getKey()))
                 .map(Map.Entry::getValue)
                 .flatMap(map -> map.entrySet().stream())
-                .map(x -> new RepeatItemIterable<>(cloneElement(x.getKey(), schema), x.getValue()))
+                .map(x -> new RepeatItemIterable<>(deepCopyOnRead ? cloneElement(x.getKey(), schema) : x.getKey().shallowClone(), x.getValue()))
                 .flatMap(Streams::toStream);
     }
 
@@ -214,10 +238,35 @@ public class MapImpl {
         return maintainIndex;
     }
 
+    /**
+     * @return the pool used to apply views in parallel, or null if views
+     * should be applied sequentially
+     */
+    ForkJoinPool getReadPool() {
+        return readPool;
+    }
+
+    int getReadBatchSize() {
+        return readBatchSize;
+    }
+
     Element cloneElement(final Element element, final Schema schema) {
         return mapFactory.cloneElement(element, schema);
     }
 
+    /**
+     * Copies an element before it is returned from a get operation. If deep
+     * copies on read are disabled the element is returned as is, as the read
+     * methods of this class already return shallow copies of the stored
+     * elements.
+     *
+     * @param element the element to copy
+     * @return the element to return to the caller
+     */
+    Element copyForRead(final Element element) {
+        return deepCopyOnRead ? cloneElement(element, schema) : element;
+    }
+
     Set<String> getGroupByProperties(final String group) {
         return groupToGroupByProperties.get(group);
     }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Looks up the elements in the {@link MapImpl} index that are relevant to
+ * seeds, for a single query.
+ * <p>
+ * The group, directed type, in/out type and seed matching filters only depend
+ * on the query and the type of seed, so they are combined into one filter for
+ * entity seeds and one for edge seeds when the lookup is created.
+ * <p>
+ * Seeds are looked up in batches. Within a batch each distinct seed and each
+ * vertex is only looked up in the index once, so duplicate seeds and edge
+ * seeds sharing a vertex do not repeat the lookup. As before batching, the
+ * relevant elements are returned for every seed, including duplicates, so
+ * the results do not depend on the batch size.
+ */
+final class RelevantElementsLookup {
+    private final MapImpl mapImpl;
+    private final Predicate<Element> entitySeedFilter;
+    private final Predicate<Element> edgeSeedFilter;
+
+    RelevantElementsLookup(final MapImpl mapImpl,
+                           final View view,
+                           final DirectedType directedType,
+                           final IncludeIncomingOutgoingType inOutType,
+                           final SeedMatchingType seedMatchingType) {
+        this.mapImpl = mapImpl;
+
+        final Set<String> groups = view.getGroups();
+        final boolean includeDirected = directedType != DirectedType.UNDIRECTED;
+        final boolean includeUndirected = directedType != DirectedType.DIRECTED;
+        final boolean equalOnly = seedMatchingType == SeedMatchingType.EQUAL;
+        final boolean excludeIncoming = inOutType == IncludeIncomingOutgoingType.OUTGOING;
+        final boolean excludeOutgoing = inOutType == IncludeIncomingOutgoingType.INCOMING;
+
+        entitySeedFilter = e -> {
+            if (!groups.contains(e.getGroup())) {
+                return false;
+            }
+            if (e instanceof Edge) {
+                final Edge edge = (Edge) e;
+                if (equalOnly || !(edge.isDirected() ? includeDirected : includeUndirected)) {
+                    return false;
+                }
+                if (edge.isDirected()) {
+                    if (excludeOutgoing && EdgeId.MatchedVertex.SOURCE == edge.getMatchedVertex()) {
+                        return false;
+                    }
+                    if (excludeIncoming && EdgeId.MatchedVertex.DESTINATION == edge.getMatchedVertex()) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        };
+
+        edgeSeedFilter = e -> {
+            if (!groups.contains(e.getGroup())) {
+                return false;
+            }
+            if (e instanceof Edge) {
+                return ((Edge) e).isDirected() ? includeDirected : includeUndirected;
+            }
+            return !equalOnly;
+        };
+    }
+
+    /**
+     * Looks up the relevant elements for a single seed.
+     *
+     * @param elementId the seed
+     * @return the relevant elements
+     */
+    Set<Element> lookup(final ElementId elementId) {
+        final Set<Element> relevantElements = new HashSet<>();
+        lookup(elementId, new HashMap<>()).forEach(relevantElements::add);
+        return relevantElements;
+    }
+
+    /**
+     * Looks up the relevant elements for each of the provided seeds. The seeds
+     * are read lazily in batches of the given size.
+     *
+     * @param elementIds the seeds
+     * @param batchSize  the number of seeds to look up together
+     * @return the relevant elements for each seed, in seed order
+     */
+    Stream<Element> lookup(final Iterable<? extends ElementId> elementIds, final int batchSize) {
+        final Iterable<List<ElementId>> batches = () -> new Iterator<List<ElementId>>() {
+            private final Iterator<? extends ElementId> seeds = elementIds.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return seeds.hasNext();
+            }
+
+            @Override
+            public List<ElementId> next() {
+                if (!seeds.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                final List<ElementId> batch = new ArrayList<>(batchSize);
+                while (seeds.hasNext() && batch.size() < batchSize) {
+                    batch.add(seeds.next());
+                }
+                return batch;
+            }
+        };
+
+        return Streams.toStream(batches)
+                .flatMap(batch -> {
+                    final Map<Object, Collection<Element>> vertexLookups = new HashMap<>();
+                    final Map<ElementId, List<Element>> seedLookups = new HashMap<>();
+                    return batch.stream().flatMap(elementId -> seedLookups.computeIfAbsent(elementId,
+                            id -> lookup(id, vertexLookups).collect(Collectors.toList())).stream());
+                });
+    }
+
+    private Stream<Element> lookup(final ElementId elementId, final Map<Object, Collection<Element>> vertexLookups) {
+        if (elementId instanceof EntityId) {
+            return lookupVertex(((EntityId) elementId).getVertex(), vertexLookups)
+                    .stream()
+                    .distinct()
+                    .filter(entitySeedFilter);
+        }
+
+        final EdgeId edgeId = (EdgeId) elementId;
+        final Set<Element> relevantElements = new HashSet<>();
+        if (DirectedType.isEither(edgeId.getDirectedType())) {
+            relevantElements.addAll(mapImpl.lookup(new EdgeSeed(edgeId.getSource(), edgeId.getDestination(), false)));
+            relevantElements.addAll(mapImpl.lookup(new EdgeSeed(edgeId.getSource(), edgeId.getDestination(), true)));
+        } else {
+            relevantElements.addAll(mapImpl.lookup(edgeId));
+        }
+
+        for (final Element element : lookupVertex(edgeId.getSource(), vertexLookups)) {
+            if (element instanceof Entity) {
+                relevantElements.add(element);
+            }
+        }
+        for (final Element element : lookupVertex(edgeId.getDestination(), vertexLookups)) {
+            if (element instanceof Entity) {
+                relevantElements.add(element);
+            }
+        }
+
+        return relevantElements.stream().filter(edgeSeedFilter);
+    }
+
+    private Collection<Element> lookupVertex(final Object vertex, final Map<Object, Collection<Element>> vertexLookups) {
+        return vertexLookups.computeIfAbsent(vertex, v -> mapImpl.lookup(new EntitySeed(v)));
+    }
+}
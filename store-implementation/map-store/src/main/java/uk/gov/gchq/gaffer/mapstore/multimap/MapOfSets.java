@@ -22,13 +22,16 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class MapOfSets<K, V> implements MultiMap<K, V> {
     private final Map<K, Set<V>> multiMap;
 
     /**
      * The type of Set to use.
-     * If null then a {@link HashSet} will be used.
+     * If null then a {@link HashSet} will be used, or a concurrent set if the
+     * wrapped map is a {@link ConcurrentMap}.
      */
     private final Class<? extends Set> setClass;
 
@@ -49,6 +52,11 @@ public class MapOfSets<K, V> implements MultiMap<K, V> {
 
     @Override
     public void put(final K key, final Collection<V> value) {
+        if (multiMap instanceof ConcurrentMap) {
+            multiMap.computeIfAbsent(key, k -> createSet()).addAll(value);
+            return;
+        }
+
         final Set<V> existingValue = multiMap.get(key);
         if (null == existingValue) {
             if (value instanceof Set) {
@@ -83,7 +91,11 @@ public class MapOfSets<K, V> implements MultiMap<K, V> {
     protected Set<V> createSet() {
         final Set<V> values;
         if (null == setClass) {
-            values = new HashSet<>();
+            if (multiMap instanceof ConcurrentMap) {
+                values = ConcurrentHashMap.newKeySet();
+            } else {
+                values = new HashSet<>();
+            }
         } else {
             try {
                 values = setClass.newInstance();
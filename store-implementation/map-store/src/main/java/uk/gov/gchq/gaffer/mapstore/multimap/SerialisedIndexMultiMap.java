@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * A {@link SerialisedMultiMap} for the MapStore index, from element ids to
+ * the elements they match.
+ * <p>
+ * The matched vertex of an {@link Edge} is not serialised, so the copies of a
+ * self-loop edge matched on its source and on its destination are held once,
+ * as they are in a set of edges. Instead the matched vertex is restored from
+ * the key when the edges are read: an edge found from an {@link EntityId} is
+ * matched on its source if the source is that vertex, otherwise on its
+ * destination, and an edge found from an {@link EdgeId} is matched on its
+ * source.
+ *
+ * @param <K> the type of key
+ */
+public class SerialisedIndexMultiMap<K extends ElementId> extends SerialisedMultiMap<K, Element> {
+    public SerialisedIndexMultiMap(final ToBytesSerialiser<K> keySerialiser, final ToBytesSerialiser<Element> valueSerialiser) {
+        super(keySerialiser, valueSerialiser);
+    }
+
+    @Override
+    public Collection<Element> get(final K key) {
+        final Collection<Element> values = super.get(key);
+        if (null != values) {
+            for (final Element value : values) {
+                if (value instanceof Edge) {
+                    final Edge edge = (Edge) value;
+                    edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(), getMatchedVertex(key, edge));
+                }
+            }
+        }
+        return values;
+    }
+
+    private EdgeId.MatchedVertex getMatchedVertex(final K key, final Edge edge) {
+        if (key instanceof EntityId && !Objects.deepEquals(((EntityId) key).getVertex(), edge.getSource())) {
+            return EdgeId.MatchedVertex.DESTINATION;
+        }
+        return EdgeId.MatchedVertex.SOURCE;
+    }
+}
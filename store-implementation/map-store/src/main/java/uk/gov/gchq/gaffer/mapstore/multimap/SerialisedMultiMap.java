@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import uk.gov.gchq.gaffer.mapstore.utils.SerialisedMap;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link MultiMap} which holds its keys and values in their serialised form.
+ * Each key maps to a set of distinct serialised values.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ * @see SerialisedMap
+ */
+public class SerialisedMultiMap<K, V> implements MultiMap<K, V> {
+    private final Map<ByteBuffer, Set<ByteBuffer>> multiMap = new HashMap<>();
+    private final ToBytesSerialiser<K> keySerialiser;
+    private final ToBytesSerialiser<V> valueSerialiser;
+
+    public SerialisedMultiMap(final ToBytesSerialiser<K> keySerialiser, final ToBytesSerialiser<V> valueSerialiser) {
+        if (null == keySerialiser || null == valueSerialiser) {
+            throw new IllegalArgumentException("Key and value serialisers are required");
+        }
+        this.keySerialiser = keySerialiser;
+        this.valueSerialiser = valueSerialiser;
+    }
+
+    @Override
+    public boolean put(final K key, final V value) {
+        return multiMap.computeIfAbsent(SerialisedMap.serialise(keySerialiser, key), k -> new HashSet<>())
+                .add(SerialisedMap.serialise(valueSerialiser, value));
+    }
+
+    @Override
+    public void put(final K key, final Collection<V> values) {
+        final Set<ByteBuffer> existingValues = multiMap.computeIfAbsent(SerialisedMap.serialise(keySerialiser, key), k -> new HashSet<>());
+        for (final V value : values) {
+            existingValues.add(SerialisedMap.serialise(valueSerialiser, value));
+        }
+    }
+
+    @Override
+    public Collection<V> get(final K key) {
+        final Set<ByteBuffer> values = multiMap.get(SerialisedMap.serialise(keySerialiser, key));
+        if (null == values) {
+            return null;
+        }
+
+        final List<V> result = new ArrayList<>(values.size());
+        for (final ByteBuffer value : values) {
+            result.add(SerialisedMap.deserialise(valueSerialiser, value.array()));
+        }
+        return result;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        final Set<K> keys = new HashSet<>(multiMap.size());
+        for (final ByteBuffer key : multiMap.keySet()) {
+            keys.add(SerialisedMap.deserialise(keySerialiser, key.array()));
+        }
+        return keys;
+    }
+
+    @Override
+    public void clear() {
+        multiMap.clear();
+    }
+}
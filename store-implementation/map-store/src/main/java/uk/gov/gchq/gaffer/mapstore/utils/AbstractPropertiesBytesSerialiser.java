@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Base class for the serialisers used by the
+ * {@link uk.gov.gchq.gaffer.mapstore.factory.SerialisedMapFactory}.
+ * <p>
+ * Unlike the schema based serialisers in the store module, a property is only
+ * written if it is present, so an element containing only its group-by
+ * properties is deserialised to an element containing only those properties.
+ *
+ * @param <T> the type of object to serialise
+ */
+public abstract class AbstractPropertiesBytesSerialiser<T> implements ToBytesSerialiser<T> {
+    private static final long serialVersionUID = -2017954419577335129L;
+    private static final byte ABSENT = 0;
+    private static final byte PRESENT = 1;
+
+    protected final StringSerialiser stringSerialiser = new StringSerialiser();
+    protected final Schema schema;
+
+    protected AbstractPropertiesBytesSerialiser(final Schema schema) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        this.schema = schema;
+    }
+
+    @Override
+    public boolean preservesObjectOrdering() {
+        return false;
+    }
+
+    @Override
+    public boolean isConsistent() {
+        return false;
+    }
+
+    @Override
+    public T deserialiseEmpty() throws SerialisationException {
+        return null;
+    }
+
+    protected SchemaElementDefinition getElementDefinition(final String group) throws SerialisationException {
+        final SchemaElementDefinition elementDefinition = schema.getElement(group);
+        if (null == elementDefinition) {
+            throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema?");
+        }
+        return elementDefinition;
+    }
+
+    protected void serialiseProperties(final Properties properties, final SchemaElementDefinition elementDefinition, final ByteArrayOutputStream out) throws SerialisationException {
+        for (final String propertyName : elementDefinition.getProperties()) {
+            final Object value = properties.get(propertyName);
+            if (null == value) {
+                out.write(ABSENT);
+            } else {
+                out.write(PRESENT);
+                LengthValueBytesSerialiserUtil.serialise(getPropertySerialiser(elementDefinition, propertyName), value, out);
+            }
+        }
+    }
+
+    protected void deserialiseProperties(final byte[] bytes, final Properties properties, final SchemaElementDefinition elementDefinition, final int[] delimiter) throws SerialisationException {
+        for (final String propertyName : elementDefinition.getProperties()) {
+            if (delimiter[0] >= bytes.length) {
+                break;
+            }
+            if (PRESENT == bytes[delimiter[0]++]) {
+                properties.put(propertyName, LengthValueBytesSerialiserUtil.deserialise(getPropertySerialiser(elementDefinition, propertyName), bytes, delimiter));
+            }
+        }
+    }
+
+    private ToBytesSerialiser<Object> getPropertySerialiser(final SchemaElementDefinition elementDefinition, final String propertyName) throws SerialisationException {
+        final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+        if (null == typeDefinition || !(typeDefinition.getSerialiser() instanceof ToBytesSerialiser)) {
+            throw new SerialisationException("Property " + propertyName + " requires a " + ToBytesSerialiser.class.getSimpleName());
+        }
+        return (ToBytesSerialiser<Object>) typeDefinition.getSerialiser();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.BooleanSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Serialiser to serialise and deserialise {@link Element}s held by the
+ * {@link uk.gov.gchq.gaffer.mapstore.factory.SerialisedMapFactory}.
+ * <p>
+ * The matched vertex of an {@link Edge} is not serialised, as
+ * {@link Edge#equals(Object)} ignores it.
+ */
+public class ElementBytesSerialiser extends AbstractPropertiesBytesSerialiser<Element> {
+    private static final long serialVersionUID = 4384402962306127311L;
+    private static final byte ENTITY = 0;
+    private static final byte EDGE = 1;
+
+    private final BooleanSerialiser booleanSerialiser = new BooleanSerialiser();
+    private final ToBytesSerialiser<Object> vertexSerialiser;
+
+    public ElementBytesSerialiser(final Schema schema) {
+        super(schema);
+        if (!(schema.getVertexSerialiser() instanceof ToBytesSerialiser)) {
+            throw new IllegalArgumentException("Vertex serialiser must be a " + ToBytesSerialiser.class.getSimpleName());
+        }
+        vertexSerialiser = (ToBytesSerialiser<Object>) schema.getVertexSerialiser();
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Element.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final Element element) throws SerialisationException {
+        final SchemaElementDefinition elementDefinition = getElementDefinition(element.getGroup());
+        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            if (element instanceof Entity) {
+                out.write(ENTITY);
+                LengthValueBytesSerialiserUtil.serialise(stringSerialiser, element.getGroup(), out);
+                LengthValueBytesSerialiserUtil.serialise(vertexSerialiser, ((Entity) element).getVertex(), out);
+            } else {
+                final Edge edge = (Edge) element;
+                out.write(EDGE);
+                LengthValueBytesSerialiserUtil.serialise(stringSerialiser, edge.getGroup(), out);
+                LengthValueBytesSerialiserUtil.serialise(vertexSerialiser, edge.getSource(), out);
+                LengthValueBytesSerialiserUtil.serialise(vertexSerialiser, edge.getDestination(), out);
+                LengthValueBytesSerialiserUtil.serialise(booleanSerialiser, edge.isDirected(), out);
+            }
+            serialiseProperties(element.getProperties(), elementDefinition, out);
+            return out.toByteArray();
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to serialise element into bytes", e);
+        }
+    }
+
+    @Override
+    public Element deserialise(final byte[] bytes) throws SerialisationException {
+        final byte type = bytes[0];
+        final int[] delimiter = {1};
+        final String group = LengthValueBytesSerialiserUtil.deserialise(stringSerialiser, bytes, delimiter);
+        final SchemaElementDefinition elementDefinition = getElementDefinition(group);
+
+        final Element element;
+        if (ENTITY == type) {
+            final Object vertex = LengthValueBytesSerialiserUtil.deserialise(vertexSerialiser, bytes, delimiter);
+            element = new Entity(group, vertex);
+        } else {
+            final Object source = LengthValueBytesSerialiserUtil.deserialise(vertexSerialiser, bytes, delimiter);
+            final Object destination = LengthValueBytesSerialiserUtil.deserialise(vertexSerialiser, bytes, delimiter);
+            final boolean directed = LengthValueBytesSerialiserUtil.deserialise(booleanSerialiser, bytes, delimiter);
+            element = new Edge(group, source, destination, directed);
+        }
+
+        deserialiseProperties(bytes, element.getProperties(), elementDefinition, delimiter);
+        return element;
+    }
+}
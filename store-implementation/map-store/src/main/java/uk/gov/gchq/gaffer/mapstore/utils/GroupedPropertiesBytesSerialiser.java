@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Serialiser to serialise and deserialise {@link GroupedProperties} held by the
+ * {@link uk.gov.gchq.gaffer.mapstore.factory.SerialisedMapFactory}.
+ */
+public class GroupedPropertiesBytesSerialiser extends AbstractPropertiesBytesSerialiser<GroupedProperties> {
+    private static final long serialVersionUID = -5238330693467536402L;
+
+    public GroupedPropertiesBytesSerialiser(final Schema schema) {
+        super(schema);
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return GroupedProperties.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final GroupedProperties properties) throws SerialisationException {
+        final SchemaElementDefinition elementDefinition = getElementDefinition(properties.getGroup());
+        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            LengthValueBytesSerialiserUtil.serialise(stringSerialiser, properties.getGroup(), out);
+            serialiseProperties(properties, elementDefinition, out);
+            return out.toByteArray();
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to serialise properties into bytes", e);
+        }
+    }
+
+    @Override
+    public GroupedProperties deserialise(final byte[] bytes) throws SerialisationException {
+        final int[] delimiter = {0};
+        final String group = LengthValueBytesSerialiserUtil.deserialise(stringSerialiser, bytes, delimiter);
+        final GroupedProperties properties = new GroupedProperties(group);
+        deserialiseProperties(bytes, properties, getElementDefinition(group), delimiter);
+        return properties;
+    }
+}
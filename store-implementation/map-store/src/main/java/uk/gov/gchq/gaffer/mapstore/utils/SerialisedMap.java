@@ -0,0 +1,157 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link Map} which holds its keys and values in their serialised form.
+ * <p>
+ * Each entry is held as two byte arrays rather than as a graph of objects,
+ * which considerably reduces the heap used by large maps and the work the
+ * garbage collector has to do. Keys and values are deserialised each time they
+ * are read, so changes to a returned value are not reflected in the map unless
+ * the value is put back into the map.
+ * <p>
+ * Keys are compared using their serialised form, so the key serialiser must
+ * produce the same bytes for equal keys.
+ *
+ * @param <K> the type of key in the map
+ * @param <V> the type of value in the map
+ */
+public class SerialisedMap<K, V> extends AbstractMap<K, V> {
+    private final Map<ByteBuffer, byte[]> map = new HashMap<>();
+    private final ToBytesSerialiser<K> keySerialiser;
+    private final ToBytesSerialiser<V> valueSerialiser;
+
+    public SerialisedMap(final ToBytesSerialiser<K> keySerialiser, final ToBytesSerialiser<V> valueSerialiser) {
+        if (null == keySerialiser || null == valueSerialiser) {
+            throw new IllegalArgumentException("Key and value serialisers are required");
+        }
+        this.keySerialiser = keySerialiser;
+        this.valueSerialiser = valueSerialiser;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return isKey(key) && map.containsKey(serialise(keySerialiser, (K) key));
+    }
+
+    @Override
+    public V get(final Object key) {
+        if (!isKey(key)) {
+            return null;
+        }
+        return deserialise(valueSerialiser, map.get(serialise(keySerialiser, (K) key)));
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        final byte[] previous = map.put(serialise(keySerialiser, key), serialise(valueSerialiser, value).array());
+        return deserialise(valueSerialiser, previous);
+    }
+
+    @Override
+    public V remove(final Object key) {
+        if (!isKey(key)) {
+            return null;
+        }
+        return deserialise(valueSerialiser, map.remove(serialise(keySerialiser, (K) key)));
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                final Iterator<Entry<ByteBuffer, byte[]>> itr = map.entrySet().iterator();
+                return new Iterator<Entry<K, V>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return itr.hasNext();
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        final Entry<ByteBuffer, byte[]> entry = itr.next();
+                        return new SimpleImmutableEntry<>(
+                                deserialise(keySerialiser, entry.getKey().array()),
+                                deserialise(valueSerialiser, entry.getValue()));
+                    }
+
+                    @Override
+                    public void remove() {
+                        itr.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+
+            @Override
+            public void clear() {
+                map.clear();
+            }
+        };
+    }
+
+    private boolean isKey(final Object key) {
+        return null == key || keySerialiser.canHandle(key.getClass());
+    }
+
+    public static <T> ByteBuffer serialise(final ToBytesSerialiser<T> serialiser, final T value) {
+        try {
+            return ByteBuffer.wrap(null == value ? serialiser.serialiseNull() : serialiser.serialise(value));
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("SerialisationException converting elements", e);
+        }
+    }
+
+    public static <T> T deserialise(final ToBytesSerialiser<T> serialiser, final byte[] bytes) {
+        if (null == bytes) {
+            return null;
+        }
+
+        try {
+            return 0 == bytes.length ? serialiser.deserialiseEmpty() : serialiser.deserialise(bytes);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("SerialisationException converting elements", e);
+        }
+    }
+}
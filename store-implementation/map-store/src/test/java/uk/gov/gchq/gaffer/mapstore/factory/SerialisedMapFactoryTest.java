@@ -0,0 +1,228 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.tostring.StringToStringSerialiser;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SerialisedMapFactoryTest {
+    private static final String ENTITY = "BasicEntity";
+    private static final String PROPERTY = "property1";
+    private static final String COUNT = "count";
+
+    @Test
+    public void shouldRoundTripElementsAndPropertiesThroughMap() throws StoreException {
+        // Given
+        final SerialisedMapFactory factory = createFactory(getSchema());
+        final Map<Element, GroupedProperties> map = factory.getMap("map", Element.class, GroupedProperties.class);
+        final Entity key = new Entity.Builder()
+                .group(ENTITY)
+                .vertex("vertex")
+                .property(PROPERTY, "a")
+                .build();
+        final GroupedProperties value = new GroupedProperties(ENTITY);
+        value.put(COUNT, 1);
+
+        // When
+        map.put(key, value);
+        map.merge(key.shallowClone(), value, (a, b) -> {
+            final GroupedProperties merged = new GroupedProperties(ENTITY);
+            merged.put(COUNT, (Integer) a.get(COUNT) + (Integer) b.get(COUNT));
+            return merged;
+        });
+
+        // Then
+        assertEquals(1, map.size());
+        assertEquals(2, map.get(key).get(COUNT));
+        assertNotSame(map.get(key), map.get(key));
+        final Element storedKey = map.keySet().iterator().next();
+        assertEquals(key, storedKey);
+        assertEquals(Sets.newHashSet(PROPERTY), storedKey.getProperties().keySet());
+        assertNull(map.get(new Entity(ENTITY, "unknown")));
+    }
+
+    @Test
+    public void shouldRetainMatchedVertexInMultiMapValues() throws StoreException {
+        // Given
+        final SerialisedMapFactory factory = createFactory(getSchema());
+        final MultiMap<EntityId, Element> multiMap = factory.getMultiMap("index", EntityId.class, Element.class);
+        final Edge edge = new Edge("BasicEdge", "A", "B", true, EdgeId.MatchedVertex.DESTINATION, null);
+
+        // When
+        multiMap.put(new EntitySeed("B"), edge);
+        multiMap.put(new EntitySeed("B"), edge);
+
+        // Then
+        final Collection<Element> values = multiMap.get(new EntitySeed("B"));
+        assertEquals(1, values.size());
+        assertEquals(EdgeId.MatchedVertex.DESTINATION, ((Edge) values.iterator().next()).getMatchedVertex());
+        assertNull(multiMap.get(new EntitySeed("A")));
+        assertEquals(Sets.newHashSet(new EntitySeed("B")), multiMap.keySet());
+    }
+
+    @Test
+    public void shouldHoldSelfLoopEdgeOnceInMultiMapValues() throws StoreException {
+        // Given
+        final SerialisedMapFactory factory = createFactory(getSchema());
+        final MultiMap<EntityId, Element> multiMap = factory.getMultiMap("index", EntityId.class, Element.class);
+
+        // When
+        multiMap.put(new EntitySeed("A"), new Edge("BasicEdge", "A", "A", true, EdgeId.MatchedVertex.SOURCE, null));
+        multiMap.put(new EntitySeed("A"), new Edge("BasicEdge", "A", "A", true, EdgeId.MatchedVertex.DESTINATION, null));
+
+        // Then
+        final Collection<Element> values = multiMap.get(new EntitySeed("A"));
+        assertEquals(1, values.size());
+        assertEquals(EdgeId.MatchedVertex.SOURCE, ((Edge) values.iterator().next()).getMatchedVertex());
+    }
+
+    @Test
+    public void shouldGetSelfLoopEdgeOnceUsingSerialisedMapFactory() throws OperationException {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setMapFactory(SerialisedMapFactory.class);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("serialisedGraph")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+        final Edge selfLoop = new Edge.Builder()
+                .group("BasicEdge")
+                .source("A")
+                .dest("A")
+                .directed(true)
+                .property(PROPERTY, "q")
+                .property(COUNT, 1)
+                .build();
+        graph.execute(new AddElements.Builder()
+                .input(selfLoop)
+                .build(), new User());
+
+        // When
+        final List<Element> results = Lists.newArrayList(graph.execute(new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .build(), new User()));
+
+        // Then
+        assertEquals(Lists.newArrayList(selfLoop), results);
+    }
+
+    @Test
+    public void shouldThrowExceptionIfPropertySerialiserIsNotToBytes() {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .entity(ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(PROPERTY, "toString")
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("toString", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringToStringSerialiser())
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+        final SerialisedMapFactory factory = new SerialisedMapFactory();
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> factory.initialise(schema, new MapStoreProperties()));
+    }
+
+    @Test
+    public void shouldAddAndGetElementsUsingSerialisedMapFactory() throws OperationException {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setMapFactory(SerialisedMapFactory.class);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("serialisedGraph")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+        graph.execute(new AddElements.Builder()
+                .input(GetAllElementsHandlerTest.getElements())
+                .build(), new User());
+
+        // When
+        final Set<Element> allElements = Sets.newHashSet(graph.execute(new GetAllElements(), new User()));
+        final Iterable<? extends Element> seeded = graph.execute(new GetElements.Builder()
+                .input(new EntitySeed("B1"))
+                .build(), new User());
+
+        // Then
+        assertEquals(new HashSet<>(GetAllElementsHandlerTest.getElements()), allElements);
+        final Edge edge = (Edge) Lists.newArrayList(seeded).get(0);
+        assertEquals("B1", edge.getDestination());
+        assertEquals(EdgeId.MatchedVertex.DESTINATION, edge.getMatchedVertex());
+    }
+
+    private Schema getSchema() throws StoreException {
+        // Use the schema from an initialised store so it contains the default serialisers
+        final MapStore store = new MapStore();
+        store.initialise("graphId", GetAllElementsHandlerTest.getSchema(), new MapStoreProperties());
+        return store.getSchema();
+    }
+
+    private SerialisedMapFactory createFactory(final Schema schema) {
+        final SerialisedMapFactory factory = new SerialisedMapFactory();
+        factory.initialise(schema, new MapStoreProperties());
+        return factory;
+    }
+}
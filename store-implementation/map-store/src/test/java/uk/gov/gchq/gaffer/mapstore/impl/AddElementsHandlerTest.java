@@ -15,20 +15,40 @@
  */
 package uk.gov.gchq.gaffer.mapstore.impl;
 
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.SingleUseMapStore;
+import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -47,4 +67,137 @@ public class AddElementsHandlerTest {
         // When / Then - should not throw NPE
         handler.doOperation(addElements, context, store);
     }
+
+    @Test
+    public void shouldAddBatchesConcurrentlyAndGetSameResultsAsSequentialIngest() throws OperationException {
+        // Given
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            elements.addAll(GetAllElementsHandlerTest.getElements());
+        }
+        final MapStoreProperties sequentialProperties = new MapStoreProperties();
+        sequentialProperties.setIngestBufferSize(7);
+        final MapStoreProperties concurrentProperties = new MapStoreProperties();
+        concurrentProperties.setIngestBufferSize(7);
+        concurrentProperties.setIngestThreads(4);
+        final Graph sequentialGraph = createGraph("sequentialGraph", sequentialProperties);
+        final Graph concurrentGraph = createGraph("concurrentGraph", concurrentProperties);
+
+        // When
+        sequentialGraph.execute(new AddElements.Builder().input(elements).build(), new User());
+        concurrentGraph.execute(new AddElements.Builder().input(elements).build(), new User());
+
+        // Then
+        assertEquals(getAllElements(sequentialGraph), getAllElements(concurrentGraph));
+        assertEquals(getElements(sequentialGraph, "A"), getElements(concurrentGraph, "A"));
+        assertEquals(getElements(sequentialGraph, "B1"), getElements(concurrentGraph, "B1"));
+    }
+
+    @Test
+    public void shouldAggregateManyKeysOfOneGroupFromSeveralThreads() throws OperationException {
+        // Given
+        final int vertices = 1000;
+        final int copies = 50;
+        final List<Element> elements = new ArrayList<>();
+        for (int copy = 0; copy < copies; copy++) {
+            for (int i = 0; i < vertices; i++) {
+                elements.add(new Entity.Builder()
+                        .group(GetAllElementsHandlerTest.BASIC_ENTITY)
+                        .vertex("" + i)
+                        .property(GetAllElementsHandlerTest.PROPERTY1, "p")
+                        .property(GetAllElementsHandlerTest.COUNT, 1)
+                        .build());
+            }
+        }
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setIngestBufferSize(10);
+        properties.setIngestThreads(8);
+        final Graph graph = createGraph("concurrentGraph", properties);
+
+        // When
+        graph.execute(new AddElements.Builder().input(elements).build(), new User());
+
+        // Then
+        final List<Element> results = getAllElements(graph);
+        assertEquals(vertices, results.size());
+        for (final Element result : results) {
+            assertEquals(copies, result.getProperty(GetAllElementsHandlerTest.COUNT), result.toString());
+        }
+    }
+
+    @Test
+    public void shouldStopReadingInputWhenABatchFails() throws StoreException {
+        // Given
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setIngestBufferSize(1);
+        properties.setIngestThreads(2);
+        final MapStore store = new MapStore() {
+            @Override
+            protected MapImpl createMapImpl() {
+                return new MapImpl(getSchema(), getProperties()) {
+                    @Override
+                    void addAggElement(final Element elementWithGroupByProperties, final GroupedProperties groupedProperties) {
+                        throw new RuntimeException("Test Exception");
+                    }
+
+                    @Override
+                    void addNonAggElement(final Element element) {
+                        throw new RuntimeException("Test Exception");
+                    }
+                };
+            }
+        };
+        store.initialise("graphId1", GetAllElementsHandlerTest.getSchema(), properties);
+
+        final Element element = GetAllElementsHandlerTest.getElements().get(0);
+        final AtomicInteger elementsRead = new AtomicInteger();
+        final Iterable<Element> input = () -> Stream.generate(() -> {
+            elementsRead.incrementAndGet();
+            return element;
+        }).limit(100000).iterator();
+
+        // When
+        final OperationException exception = assertThrows(OperationException.class,
+                () -> new AddElementsHandler().doOperation(new AddElements.Builder().input(input).build(), new Context(), store));
+
+        // Then
+        assertEquals("Test Exception", exception.getCause().getMessage());
+        assertTrue(elementsRead.get() < 100000);
+    }
+
+    @Test
+    public void shouldNotInitialiseWithIngestThreadsWhenMapsAreNotThreadSafe() {
+        // Given
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setIngestBufferSize(10);
+        properties.setIngestThreads(2);
+        properties.set(SimpleMapFactory.MAP_CLASS, HashMap.class.getName());
+
+        // When / Then
+        assertThrows(StoreException.class, () -> new MapStore().initialise("graphId1", GetAllElementsHandlerTest.getSchema(), properties));
+    }
+
+    private Graph createGraph(final String graphId, final MapStoreProperties properties) {
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(graphId)
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(properties)
+                .build();
+    }
+
+    private List<Element> getAllElements(final Graph graph) throws OperationException {
+        final List<Element> results = Lists.newArrayList(graph.execute(new GetAllElements(), new User()));
+        results.sort(Comparator.comparing(Element::toString));
+        return results;
+    }
+
+    private List<Element> getElements(final Graph graph, final String vertex) throws OperationException {
+        final List<Element> results = Lists.newArrayList(graph.execute(new GetElements.Builder()
+                .input(new EntitySeed(vertex))
+                .build(), new User()));
+        results.sort(Comparator.comparing(Element::toString));
+        return results;
+    }
 }
@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.mapstore.impl;
 
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
@@ -25,21 +26,26 @@ import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.graph.GraphConfig;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.function.ToString;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -57,6 +63,7 @@ public class GetAllElementsHandlerTest {
     static final String PROPERTY1 = "property1";
     static final String PROPERTY2 = "property2";
     static final String COUNT = "count";
+    static final String COUNT_STRING = "countString";
     private static final int NUM_LOOPS = 10;
 
     @Test
@@ -343,6 +350,88 @@ public class GetAllElementsHandlerTest {
         assertEquals(expectedResults, resultsSet);
     }
 
+    @Test
+    public void shouldGetAllElementsWithoutDeepCopyOnRead() throws OperationException {
+        for (final Schema schema : Arrays.asList(getSchema(), getSchemaNoAggregation())) {
+            // Given
+            final MapStoreProperties storeProperties = new MapStoreProperties();
+            storeProperties.setDeepCopyOnRead(false);
+            final Graph graph = new Graph.Builder()
+                    .config(new GraphConfig.Builder()
+                            .graphId("graphWithoutDeepCopy")
+                            .build())
+                    .addSchema(schema)
+                    .storeProperties(storeProperties)
+                    .build();
+            graph.execute(new AddElements.Builder()
+                    .input(getElements())
+                    .build(), new User());
+
+            // When
+            final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements(), new User());
+            Streams.toStream(results).forEach(element -> element.getProperties().clear());
+
+            // Then - clearing the returned properties does not modify the stored elements
+            final Set<Element> resultsSet = new HashSet<>();
+            Streams.toStream(results).forEach(resultsSet::add);
+            assertEquals(new HashSet<>(getElements()), resultsSet);
+        }
+    }
+
+    @Test
+    public void shouldGetAllElementsInParallelInSameOrderAsSequentialScan() throws OperationException {
+        // Given
+        final MapStoreProperties parallelProperties = new MapStoreProperties();
+        parallelProperties.setReadParallelism(4);
+        parallelProperties.setReadBatchSize(7);
+        final Graph sequentialGraph = getGraph();
+        final Graph parallelGraph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("parallelGraph")
+                        .build())
+                .addSchema(getSchema())
+                .storeProperties(parallelProperties)
+                .build();
+        for (final Graph graph : Arrays.asList(sequentialGraph, parallelGraph)) {
+            graph.execute(new AddElements.Builder()
+                    .input(getElements())
+                    .build(), new User());
+        }
+        final View view = new View.Builder()
+                .entity(BASIC_ENTITY)
+                .edge(BASIC_EDGE1, new ViewElementDefinition.Builder()
+                        .transientProperty(COUNT_STRING, String.class)
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(COUNT)
+                                .execute(new IsMoreThan(2))
+                                .build())
+                        .transformer(new ElementTransformer.Builder()
+                                .select(COUNT)
+                                .execute(new ToString())
+                                .project(COUNT_STRING)
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Element> sequentialResults = Lists.newArrayList(sequentialGraph.execute(
+                new GetAllElements.Builder().view(view).build(), new User()));
+        final List<Element> parallelResults = Lists.newArrayList(parallelGraph.execute(
+                new GetAllElements.Builder().view(view).build(), new User()));
+        final List<Element> limitedResults = Lists.newArrayList(parallelGraph.execute(new OperationChain.Builder()
+                .first(new GetAllElements.Builder().view(view).build())
+                .then(new Limit<>(3, true))
+                .build(), new User()));
+
+        // Then
+        assertEquals(17, parallelResults.size());
+        assertEquals(sequentialResults, parallelResults);
+        assertEquals(sequentialResults.subList(0, 3), limitedResults);
+        parallelResults.stream()
+                .filter(element -> BASIC_EDGE1.equals(element.getGroup()))
+                .forEach(element -> assertEquals(element.getProperty(COUNT).toString(), element.getProperty(COUNT_STRING)));
+    }
+
     public static Schema getSchema() {
         return Schema.fromJson(StreamUtil.schemas(GetAllElementsHandlerTest.class));
     }
@@ -33,6 +33,8 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -79,6 +81,21 @@ public class MapImplTest {
         verify(mockMapFactory).getMultiMap(MapImpl.EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class);
     }
 
+    @Test
+    public void shouldShareReadPoolBetweenMapsWithTheSameReadParallelism() {
+        // Given
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setReadParallelism(3);
+
+        // When
+        final MapImpl first = new MapImpl(new Schema(), properties);
+        final MapImpl second = new MapImpl(new Schema(), properties);
+
+        // Then
+        assertNotNull(first.getReadPool());
+        assertSame(first.getReadPool(), second.getReadPool());
+    }
+
     @Test
     public void shouldNotCreateIndexesIfNotRequired() throws StoreException {
         // Given
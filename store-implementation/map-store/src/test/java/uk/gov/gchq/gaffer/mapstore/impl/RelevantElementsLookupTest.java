@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class RelevantElementsLookupTest {
+    private static final Entity ENTITY_A = new Entity(TestGroups.ENTITY, "A");
+    private static final Entity ENTITY_B = new Entity(TestGroups.ENTITY, "B");
+    private static final Edge OUTGOING_EDGE_A = new Edge(TestGroups.EDGE, "A", "B", true, EdgeId.MatchedVertex.SOURCE, null);
+    private static final Edge INCOMING_EDGE_A = new Edge(TestGroups.EDGE, "C", "A", true, EdgeId.MatchedVertex.DESTINATION, null);
+    private static final Edge UNDIRECTED_EDGE_A = new Edge(TestGroups.EDGE, "A", "D", false, EdgeId.MatchedVertex.SOURCE, null);
+    private static final Edge EDGE_AB = new Edge(TestGroups.EDGE, "A", "B", true, EdgeId.MatchedVertex.SOURCE, null);
+
+    @Test
+    public void shouldLookUpDuplicateSeedsAndVerticesOnceInABatchButReturnResultsForEachSeed() {
+        // Given
+        final MapImpl mapImpl = createMapImpl();
+        final RelevantElementsLookup lookup = new RelevantElementsLookup(mapImpl, createView(), DirectedType.EITHER,
+                IncludeIncomingOutgoingType.EITHER, SeedMatchingType.RELATED);
+        final List<ElementId> seeds = Arrays.asList(new EntitySeed("A"), new EntitySeed("A"), new EdgeSeed("A", "B", true));
+
+        // When
+        final List<Element> results = lookup.lookup(seeds, 10).collect(Collectors.toList());
+
+        // Then
+        assertEquals(11, results.size());
+        assertEquals(Sets.newHashSet(ENTITY_A, OUTGOING_EDGE_A, INCOMING_EDGE_A, UNDIRECTED_EDGE_A), Sets.newHashSet(results.subList(0, 4)));
+        assertEquals(results.subList(0, 4), results.subList(4, 8));
+        assertEquals(Sets.newHashSet(ENTITY_A, ENTITY_B, EDGE_AB), Sets.newHashSet(results.subList(8, 11)));
+        verify(mapImpl, times(1)).lookup(new EntitySeed("A"));
+        verify(mapImpl, times(1)).lookup(new EntitySeed("B"));
+    }
+
+    @Test
+    public void shouldLookUpSeedsAgainInLaterBatches() {
+        // Given
+        final MapImpl mapImpl = createMapImpl();
+        final RelevantElementsLookup lookup = new RelevantElementsLookup(mapImpl, createView(), DirectedType.EITHER,
+                IncludeIncomingOutgoingType.EITHER, SeedMatchingType.RELATED);
+        final List<ElementId> seeds = Arrays.asList(new EntitySeed("A"), new EntitySeed("A"), new EntitySeed("A"));
+
+        // When
+        final List<Element> results = lookup.lookup(seeds, 2).collect(Collectors.toList());
+
+        // Then
+        assertEquals(12, results.size());
+        verify(mapImpl, times(2)).lookup(new EntitySeed("A"));
+    }
+
+    @Test
+    public void shouldReturnTheSameResultsWhateverTheBatchSize() {
+        // Given
+        final RelevantElementsLookup lookup = new RelevantElementsLookup(createMapImpl(), createView(), DirectedType.EITHER,
+                IncludeIncomingOutgoingType.EITHER, SeedMatchingType.RELATED);
+        final List<ElementId> seeds = Arrays.asList(new EntitySeed("A"), new EdgeSeed("A", "B", true), new EntitySeed("B"),
+                new EntitySeed("A"), new EdgeSeed("A", "B", true));
+
+        // When
+        final List<Element> unbatched = lookup.lookup(seeds, 1).collect(Collectors.toList());
+        final List<Element> batched = lookup.lookup(seeds, 10).collect(Collectors.toList());
+
+        // Then
+        assertEquals(15, unbatched.size());
+        assertEquals(Sets.newHashSet(unbatched), Sets.newHashSet(batched));
+        assertEquals(unbatched.size(), batched.size());
+    }
+
+    @Test
+    public void shouldDeduplicateElementsFoundForAnEntitySeed() {
+        // Given
+        final MapImpl mapImpl = createMapImpl();
+        final Edge selfLoopMatchedSource = new Edge(TestGroups.EDGE, "L", "L", true, EdgeId.MatchedVertex.SOURCE, null);
+        final Edge selfLoopMatchedDestination = new Edge(TestGroups.EDGE, "L", "L", true, EdgeId.MatchedVertex.DESTINATION, null);
+        given(mapImpl.lookup(new EntitySeed("L"))).willReturn(Arrays.asList(selfLoopMatchedSource, selfLoopMatchedDestination));
+        final RelevantElementsLookup lookup = new RelevantElementsLookup(mapImpl, createView(), DirectedType.EITHER,
+                IncludeIncomingOutgoingType.EITHER, SeedMatchingType.RELATED);
+
+        // When
+        final List<Element> results = lookup.lookup(Collections.singletonList(new EntitySeed("L")), 10).collect(Collectors.toList());
+
+        // Then
+        assertEquals(Collections.singletonList(selfLoopMatchedSource), results);
+    }
+
+    @Test
+    public void shouldApplyDirectedTypeAndInOutTypeFilters() {
+        // Given
+        final MapImpl mapImpl = createMapImpl();
+        final RelevantElementsLookup incomingLookup = new RelevantElementsLookup(mapImpl, createView(), DirectedType.EITHER,
+                IncludeIncomingOutgoingType.INCOMING, SeedMatchingType.RELATED);
+        final RelevantElementsLookup outgoingDirectedLookup = new RelevantElementsLookup(mapImpl, createView(), DirectedType.DIRECTED,
+                IncludeIncomingOutgoingType.OUTGOING, SeedMatchingType.RELATED);
+        final RelevantElementsLookup equalLookup = new RelevantElementsLookup(mapImpl, createView(), DirectedType.EITHER,
+                IncludeIncomingOutgoingType.EITHER, SeedMatchingType.EQUAL);
+
+        // When / Then
+        assertEquals(Sets.newHashSet(ENTITY_A, INCOMING_EDGE_A, UNDIRECTED_EDGE_A), incomingLookup.lookup(new EntitySeed("A")));
+        assertEquals(Sets.newHashSet(ENTITY_A, OUTGOING_EDGE_A), outgoingDirectedLookup.lookup(new EntitySeed("A")));
+        assertEquals(Sets.newHashSet(ENTITY_A), equalLookup.lookup(new EntitySeed("A")));
+        assertEquals(Sets.newHashSet(EDGE_AB), equalLookup.lookup(new EdgeSeed("A", "B", true)));
+    }
+
+    @Test
+    public void shouldOnlyReturnElementsInViewGroups() {
+        // Given
+        final MapImpl mapImpl = createMapImpl();
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+        final RelevantElementsLookup lookup = new RelevantElementsLookup(mapImpl, view, DirectedType.EITHER,
+                IncludeIncomingOutgoingType.EITHER, SeedMatchingType.RELATED);
+
+        // When / Then
+        assertEquals(Sets.newHashSet(OUTGOING_EDGE_A, INCOMING_EDGE_A, UNDIRECTED_EDGE_A), lookup.lookup(new EntitySeed("A")));
+    }
+
+    private MapImpl createMapImpl() {
+        final MapImpl mapImpl = mock(MapImpl.class);
+        given(mapImpl.lookup(any(EdgeId.class))).willReturn(Collections.emptySet());
+        given(mapImpl.lookup(new EntitySeed("A"))).willReturn(Sets.newHashSet(ENTITY_A, OUTGOING_EDGE_A, INCOMING_EDGE_A, UNDIRECTED_EDGE_A));
+        given(mapImpl.lookup(new EntitySeed("B"))).willReturn(Sets.newHashSet(ENTITY_B));
+        given(mapImpl.lookup(new EdgeSeed("A", "B", true))).willReturn(Sets.newHashSet(EDGE_AB));
+        return mapImpl;
+    }
+
+    private View createView() {
+        return new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .edge(TestGroups.EDGE)
+                .build();
+    }
+}
@@ -20,12 +20,14 @@ import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.store.StoreException;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -87,6 +89,22 @@ public class MapOfSetsTest {
         assertEquals(Sets.newLinkedHashSet(Collections.singleton(value)), map.get(key));
     }
 
+    @Test
+    public void shouldPutValuesInConcurrentSetWhenWrappedMapIsConcurrent() throws StoreException {
+        // Given
+        final String key = "key1";
+        final Map<String, Set<String>> map = new ConcurrentHashMap<>();
+        final MapOfSets<String, String> mapOfSets = new MapOfSets<>(map);
+
+        // When
+        mapOfSets.put(key, "value1");
+        mapOfSets.put(key, Arrays.asList("value2", "value3"));
+
+        // Then
+        assertEquals(Sets.newHashSet("value1", "value2", "value3"), mapOfSets.get(key));
+        assertEquals(ConcurrentHashMap.newKeySet().getClass(), map.get(key).getClass());
+    }
+
     @Test
     public void shouldGetSetFromMap() throws StoreException {
         // Given
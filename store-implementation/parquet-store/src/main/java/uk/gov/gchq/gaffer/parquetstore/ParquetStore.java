@@ -40,6 +40,7 @@ import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.GetDataFrameOfEle
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.ImportJavaRDDOfElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.ImportRDDOfElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculatePartitioner;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.ParquetReaderPool;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GroupPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
@@ -145,6 +146,7 @@ public class ParquetStore extends Store {
     private long currentSnapshot;
     private SchemaUtils schemaUtils;
     private FileSystem fs;
+    private ParquetReaderPool readerPool;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -165,6 +167,10 @@ public class ParquetStore extends Store {
         try {
             fs = FileSystem.get(new Configuration());
             schemaUtils = new SchemaUtils(getSchema());
+            if (null != readerPool) {
+                readerPool.shutdown();
+            }
+            readerPool = new ParquetReaderPool(parquetStoreProperties.getThreadsAvailable());
             initialise();
             loadGraphPartitioner();
         } catch (final IOException e) {
@@ -279,6 +285,13 @@ public class ParquetStore extends Store {
         return fs;
     }
 
+    /**
+     * @return the pool of threads used to read files for get elements queries on this store
+     */
+    public ParquetReaderPool getReaderPool() {
+        return readerPool;
+    }
+
     public SchemaUtils getSchemaUtils() {
         return schemaUtils;
     }
@@ -41,10 +41,13 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String PARQUET_ROW_GROUP_SIZE_IN_BYTES = "parquet.add_elements.row_group.size";
     public static final String PARQUET_PAGE_SIZE_IN_BYTES = "parquet.add_elements.page.size";
     public static final String PARQUET_THREADS_AVAILABLE = "parquet.threadsAvailable";
+    public static final String PARQUET_RESULT_QUEUE_SIZE = "parquet.get_elements.result_queue.size";
     public static final String PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP = "parquet.add_elements.output_files_per_group";
     public static final String SPARK_MASTER = "spark.master";
     public static final String PARQUET_SKIP_VALIDATION = "parquet.skip_validation";
     public static final String COMPRESSION_CODEC = "parquet.compression.codec";
+    public static final String PARQUET_WRITE_VERTEX_INDEX = "parquet.add_elements.vertex_index";
+    public static final String PARQUET_VERTEX_INDEX_FALSE_POSITIVE_RATE = "parquet.add_elements.vertex_index.false_positive_rate";
 
     // Default values - NB No default values for DATA_DIR or TEMP_FILES_DIR to
     // avoid the inadvertent storage of data in unexpected folders.
@@ -54,10 +57,13 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String PARQUET_SORT_BY_SPLITS_ON_INGEST_DEFAULT = "false";
     private static final String PARQUET_SPLIT_POINTS_SAMPLE_RATE_DEFAULT = "10";
     private static final String PARQUET_THREADS_AVAILABLE_DEFAULT = "3";
+    private static final String PARQUET_RESULT_QUEUE_SIZE_DEFAULT = "10000";
     private static final String PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP_DEFAULT = "10";
     private static final String SPARK_MASTER_DEFAULT = "local[*]";
     private static final String PARQUET_SKIP_VALIDATION_DEFAULT = "false";
     private static final String COMPRESSION_CODEC_DEFAULT = "GZIP";
+    private static final String PARQUET_WRITE_VERTEX_INDEX_DEFAULT = "false";
+    private static final String PARQUET_VERTEX_INDEX_FALSE_POSITIVE_RATE_DEFAULT = "0.01";
     private static final long serialVersionUID = 7695540336792378185L;
 
     public ParquetStoreProperties() {
@@ -104,6 +110,20 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
         set(PARQUET_THREADS_AVAILABLE, threadsAvailable.toString());
     }
 
+    /**
+     * The maximum number of elements that can be read from files ahead of the consumer
+     * of the results of a query, before the threads reading the files block.
+     *
+     * @return The size of the queue used to pass results to the consumer.
+     */
+    public int getResultQueueSize() {
+        return Integer.parseInt(get(PARQUET_RESULT_QUEUE_SIZE, PARQUET_RESULT_QUEUE_SIZE_DEFAULT));
+    }
+
+    public void setResultQueueSize(final int resultQueueSize) {
+        set(PARQUET_RESULT_QUEUE_SIZE, String.valueOf(resultQueueSize));
+    }
+
     public Integer getRowGroupSize() {
         return Integer.parseInt(get(PARQUET_ROW_GROUP_SIZE_IN_BYTES, PARQUET_ROW_GROUP_SIZE_IN_BYTES_DEFAULT));
     }
@@ -155,6 +175,28 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
         set(PARQUET_SKIP_VALIDATION, String.valueOf(skipValidation));
     }
 
+    /**
+     * If true then a {@link uk.gov.gchq.gaffer.parquetstore.query.VertexIndex} is written for each
+     * file when elements are added, so that seeded queries can skip files that do not contain the seeds.
+     *
+     * @return whether vertex indexes are written when elements are added
+     */
+    public boolean getWriteVertexIndex() {
+        return Boolean.parseBoolean(get(PARQUET_WRITE_VERTEX_INDEX, PARQUET_WRITE_VERTEX_INDEX_DEFAULT));
+    }
+
+    public void setWriteVertexIndex(final boolean writeVertexIndex) {
+        set(PARQUET_WRITE_VERTEX_INDEX, String.valueOf(writeVertexIndex));
+    }
+
+    public double getVertexIndexFalsePositiveRate() {
+        return Double.parseDouble(get(PARQUET_VERTEX_INDEX_FALSE_POSITIVE_RATE, PARQUET_VERTEX_INDEX_FALSE_POSITIVE_RATE_DEFAULT));
+    }
+
+    public void setVertexIndexFalsePositiveRate(final double falsePositiveRate) {
+        set(PARQUET_VERTEX_INDEX_FALSE_POSITIVE_RATE, String.valueOf(falsePositiveRate));
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
@@ -20,34 +20,64 @@ import org.apache.parquet.hadoop.api.InitContext;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.io.api.RecordMaterializer;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class provides the {@link ReadSupport} required by the {@link ParquetElementReader} making use of the
  * {@link ElementRecordMaterialiser} to directly build the Gaffer Elements from the Parquet types.
+ * <p>
+ * If a set of fields to read is provided then only those top level fields of the file schema are
+ * requested, so the column chunks of the other fields are not read or decoded.
  */
 public class ElementReadSupport extends ReadSupport<Element> {
     private final boolean isEntity;
     private final GafferGroupObjectConverter converter;
+    private final Set<String> fieldsToRead;
 
     public ElementReadSupport(final boolean isEntity, final GafferGroupObjectConverter converter) {
+        this(isEntity, converter, null);
+    }
+
+    /**
+     * @param isEntity     true if the file contains entities
+     * @param converter    the converter for the group in the file
+     * @param fieldsToRead the names of the top level fields of the Parquet schema to read, or null to read all
+     *                     the fields
+     */
+    public ElementReadSupport(final boolean isEntity, final GafferGroupObjectConverter converter,
+                              final Set<String> fieldsToRead) {
         super();
         this.isEntity = isEntity;
         this.converter = converter;
+        this.fieldsToRead = fieldsToRead;
     }
 
     @Override
     public RecordMaterializer<Element> prepareForRead(final Configuration configuration, final Map<String, String> map,
                                                       final MessageType parquetSchema, final ReadContext readContext) {
-        return new ElementRecordMaterialiser(parquetSchema, isEntity, converter);
+        return new ElementRecordMaterialiser(readContext.getRequestedSchema(), isEntity, converter);
     }
 
     @Override
     public ReadContext init(final InitContext context) {
-        return new ReadContext(context.getFileSchema());
+        final MessageType fileSchema = context.getFileSchema();
+        if (null == fieldsToRead) {
+            return new ReadContext(fileSchema);
+        }
+        final List<Type> fields = new ArrayList<>(fieldsToRead.size());
+        for (final Type field : fileSchema.getFields()) {
+            if (fieldsToRead.contains(field.getName())) {
+                fields.add(field);
+            }
+        }
+        return new ReadContext(new MessageType(fileSchema.getName(), fields));
     }
 }
@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 
 import java.io.IOException;
+import java.util.Set;
 
 /**
  * This is the Parquet reader that can read the Parquet files directly to Elements provided the files are written the
@@ -51,6 +52,7 @@ public class ParquetElementReader extends ParquetReader<Element> {
     public static class Builder<Element> extends ParquetReader.Builder<Element> {
         private boolean isEntity;
         private GafferGroupObjectConverter converter;
+        private Set<String> fieldsToRead;
 
         public Builder(final Path path) {
             super(path);
@@ -66,9 +68,22 @@ public class ParquetElementReader extends ParquetReader<Element> {
             return this;
         }
 
+        /**
+         * Restricts the reader to the given top level fields of the Parquet schema. The columns of
+         * any other fields are not read, so the properties stored in them will not be set on the
+         * elements.
+         *
+         * @param fieldsToRead the names of the fields to read, or null to read all the fields
+         * @return this builder
+         */
+        public ParquetElementReader.Builder<Element> readingFields(final Set<String> fieldsToRead) {
+            this.fieldsToRead = fieldsToRead;
+            return this;
+        }
+
         @Override
         protected ReadSupport<Element> getReadSupport() {
-            return (ReadSupport<Element>) new ElementReadSupport(isEntity, converter);
+            return (ReadSupport<Element>) new ElementReadSupport(isEntity, converter, fieldsToRead);
         }
     }
 }
@@ -20,21 +20,31 @@ import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.spark.sql.SparkSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.Option;
 
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.AggregateAndSortData;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CallableResult;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.WriteUnsortedData;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.serialisation.GraphPartitionerSerialiser;
+import uk.gov.gchq.gaffer.parquetstore.query.VertexIndex;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.parquetstore.utils.SparkParquetUtils;
 import uk.gov.gchq.gaffer.spark.SparkContextUtil;
@@ -193,6 +203,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                             final Path destination = new Path(groupDir, ParquetStore.getFile(partition.getPartitionId()));
                             LOGGER.info("Renaming {} to {}", status[0].getPath(), destination);
                             fs.rename(status[0].getPath(), destination);
+                            writeVertexIndex(store, destination, group, false);
                         }
                     }
                 }
@@ -216,6 +227,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                             final Path destination = new Path(groupDir, ParquetStore.getFile(partition.getPartitionId()));
                             LOGGER.info("Renaming {} to {}", status[0].getPath(), destination);
                             fs.rename(status[0].getPath(), destination);
+                            writeVertexIndex(store, destination, group, true);
                         }
                     }
                 }
@@ -242,6 +254,47 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         }
     }
 
+    private static void writeVertexIndex(final ParquetStore store,
+                                         final Path file,
+                                         final String group,
+                                         final boolean reversed) throws IOException {
+        if (!store.getProperties().getWriteVertexIndex()) {
+            return;
+        }
+
+        final FileSystem fs = store.getFS();
+        final long numRows = ParquetFileReader.readFooter(fs.getConf(), file, ParquetMetadataConverter.NO_FILTER)
+                .getBlocks()
+                .stream()
+                .mapToLong(BlockMetaData::getRowCount)
+                .sum();
+        final VertexIndex index = VertexIndex.create(store.getProperties().getVertexIndexFalsePositiveRate(), numRows);
+        final boolean isEntity = store.getSchema().getEntityGroups().contains(group);
+        final GafferGroupObjectConverter converter = store.getSchemaUtils().getConverter(group);
+        // Seeds are converted using the vertex column for entities and the source column for edges
+        final String column = isEntity ? ParquetStore.VERTEX : ParquetStore.SOURCE;
+        try (final ParquetReader<Element> reader = new ParquetElementReader.Builder<Element>(file)
+                .isEntity(isEntity)
+                .usingConverter(converter)
+                .build()) {
+            Element element = reader.read();
+            while (null != element) {
+                final Object vertex;
+                if (isEntity) {
+                    vertex = ((Entity) element).getVertex();
+                } else if (reversed) {
+                    vertex = ((Edge) element).getDestination();
+                } else {
+                    vertex = ((Edge) element).getSource();
+                }
+                index.add(converter.gafferObjectToParquetObjects(column, vertex));
+                element = reader.read();
+            }
+        }
+        index.write(fs, file);
+        LOGGER.info("Wrote vertex index for {} rows of file {}", numRows, file);
+    }
+
     private static ExecutorService createThreadPool(final SparkSession spark, final ParquetStoreProperties storeProperties) {
         final int numberOfThreads;
         final Option<String> sparkDriverCores = spark.conf().getOption("spark.driver.cores");
@@ -19,6 +19,7 @@ package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.CachingVisibilityEvaluator;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -28,20 +29,22 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.query.ParquetFileQuery;
 import uk.gov.gchq.gaffer.parquetstore.query.ParquetQuery;
 import uk.gov.gchq.gaffer.parquetstore.query.QueryGenerator;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.stream.Collectors;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Converts the inputs for get element operations to a mapping of files to Parquet filters which is
@@ -76,10 +79,27 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
         }
     }
 
+    /**
+     * Reads the files for a query using the store's {@link ParquetReaderPool}, which passes the
+     * elements to the consumer through a bounded queue. A new file is only opened when the reading
+     * of a previous file has finished, so at most {@link ParquetStoreProperties#getThreadsAvailable()}
+     * files are read at a time for a query and closing the iterator early means the remaining files
+     * are never opened.
+     * <p>
+     * The reader threads never wait for space in the queue. When the queue is full a task gives
+     * its thread back to the pool, leaving its file open, and is resubmitted once the consumer
+     * has taken an element from the queue. A query whose results are not being consumed therefore
+     * does not hold on to any threads from the pool.
+     */
     protected static class ParquetIterator implements CloseableIterator<Element> {
-        private ConcurrentLinkedQueue<Element> queue;
-        private List<Future<OperationException>> runningTasks;
-        private ExecutorService executorServicePool;
+        private BlockingQueue<Object> queue;
+        private Iterator<RetrieveElementsFromFile> pendingTasks;
+        private int runningTasks;
+        private ParquetReaderPool readerPool;
+        private Queue<Future<?>> submittedTasks;
+        private final Queue<ReadFileTask> pausedTasks = new ConcurrentLinkedQueue<>();
+        private volatile boolean closed;
+        private Element next;
 
         protected ParquetIterator(final ParquetStore store, final Operation operation, final User user) throws OperationException {
             final QueryGenerator queryGenerator = new QueryGenerator(store);
@@ -93,90 +113,210 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
                 final ParquetQuery parquetQuery = queryGenerator.getParquetQuery(operation);
                 LOGGER.debug("Created ParquetQuery {}", parquetQuery);
                 if (!parquetQuery.isEmpty()) {
-                    queue = new ConcurrentLinkedQueue<>();
-                    executorServicePool = Executors.newFixedThreadPool(store.getProperties().getThreadsAvailable());
-                    final List<RetrieveElementsFromFile> tasks = new ArrayList<>();
-                    tasks.addAll(parquetQuery.getAllParquetFileQueries()
-                            .stream()
+                    final ParquetStoreProperties properties = store.getProperties();
+                    final List<ParquetFileQuery> fileQueries = parquetQuery.getAllParquetFileQueries();
+                    queue = new ArrayBlockingQueue<>(properties.getResultQueueSize());
+                    final CachingVisibilityEvaluator visibilityEvaluator = RetrieveElementsFromFile.createVisibilityEvaluator(user);
+                    pendingTasks = fileQueries.stream()
                             .map(entry -> new RetrieveElementsFromFile(entry.getFile(), entry.getFilter(),
                                     store.getSchema(), queue, !entry.isFullyApplied(),
-                                    store.getProperties().getSkipValidation(), view, user))
-                            .collect(Collectors.toList()));
-                    LOGGER.info("Invoking {} RetrieveElementsFromFile tasks", tasks.size());
-                    runningTasks = executorServicePool.invokeAll(tasks);
+                                    properties.getSkipValidation(), view, visibilityEvaluator))
+                            .iterator();
+                    final int threads = Math.max(1, Math.min(properties.getThreadsAvailable(), fileQueries.size()));
+                    readerPool = store.getReaderPool();
+                    submittedTasks = new ConcurrentLinkedQueue<>();
+                    LOGGER.info("Reading {} files using up to {} RetrieveElementsFromFile tasks at a time", fileQueries.size(), threads);
+                    for (int i = 0; i < threads; i++) {
+                        submitNextTask();
+                    }
                 } else {
                     LOGGER.warn("No paths found - there will be no results from this query");
                 }
             } catch (final IOException | OperationException e) {
+                close();
                 LOGGER.error("Exception while creating the mapping of file paths to Parquet filters: {}", e.getMessage());
                 throw new OperationException("Exception creating ParquetIterator", e);
-            } catch (final InterruptedException e) {
-                LOGGER.error("InterruptedException in ParquetIterator {}", e.getMessage());
-                throw new OperationException("InterruptedException in ParquetIterator", e);
             }
         }
 
         @Override
         public boolean hasNext() {
-            if (null != queue) {
-                if (queue.isEmpty()) {
-                    boolean finishedAllTasks = runningTasks.isEmpty();
-                    while (!finishedAllTasks && queue.isEmpty()) {
-                        try {
-                            finishedAllTasks = hasFinishedAllTasks();
-                            if (!finishedAllTasks) {
-                                wait(100L);
-                            }
-                        } catch (final Exception e) {
-                            LOGGER.error(e.getMessage(), e);
-                            finishedAllTasks = true;
-                        }
+            if (null != next) {
+                return true;
+            }
+
+            while (null != queue && runningTasks > 0) {
+                final Object item;
+                try {
+                    item = queue.take();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    LOGGER.error("InterruptedException in ParquetIterator {}", e.getMessage());
+                    close();
+                    return false;
+                }
+
+                resumePausedTask();
+
+                if (item instanceof FinishedTask) {
+                    runningTasks--;
+                    final Exception taskException = ((FinishedTask) item).exception;
+                    if (null != taskException) {
+                        LOGGER.error(taskException.getMessage(), taskException);
+                        close();
+                        return false;
                     }
-                    return !queue.isEmpty();
+                    submitNextTask();
                 } else {
+                    next = (Element) item;
                     return true;
                 }
-            } else {
-                return false;
             }
-        }
 
-        private boolean hasFinishedAllTasks() throws ExecutionException, InterruptedException, OperationException {
-            final List<Future<OperationException>> completedTasks = new ArrayList<>();
-            for (final Future<OperationException> task : runningTasks) {
-                if (task.isDone()) {
-                    final OperationException taskResult = task.get();
-                    if (null != taskResult) {
-                        throw taskResult;
-                    } else {
-                        completedTasks.add(task);
-                    }
-                }
-            }
-            runningTasks.removeAll(completedTasks);
-            return runningTasks.isEmpty();
+            return false;
         }
 
         @Override
         public Element next() throws NoSuchElementException {
-            Element e;
-            while (hasNext()) {
-                e = queue.poll();
-                if (null != e) {
-                    return e;
-                }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
-            throw new NoSuchElementException();
+
+            final Element e = next;
+            next = null;
+            return e;
         }
 
         @Override
         public void close() {
-            if (null != executorServicePool) {
-                executorServicePool.shutdown();
-                executorServicePool = null;
+            closed = true;
+            if (null != submittedTasks) {
+                // Interrupt any tasks reading files and stop new files from being opened
+                for (final Future<?> task : submittedTasks) {
+                    task.cancel(true);
+                }
+                submittedTasks = null;
+            }
+            ReadFileTask pausedTask;
+            while (null != (pausedTask = pausedTasks.poll())) {
+                pausedTask.release();
             }
+            readerPool = null;
             queue = null;
-            runningTasks = null;
+            pendingTasks = null;
+            runningTasks = 0;
+            next = null;
+        }
+
+        private void submitNextTask() {
+            if (null == pendingTasks || !pendingTasks.hasNext()) {
+                return;
+            }
+
+            runningTasks++;
+            new ReadFileTask(pendingTasks.next(), queue, readerPool, submittedTasks).submit();
+        }
+
+        private void resumePausedTask() {
+            final ReadFileTask pausedTask = pausedTasks.poll();
+            if (null != pausedTask) {
+                pausedTask.submit();
+            }
+        }
+
+        /**
+         * Reads a file into the queue until the queue is full, then pauses until the consumer
+         * resumes it. A {@link FinishedTask} is added to the queue once the file has been read.
+         */
+        private final class ReadFileTask implements Runnable {
+            private final RetrieveElementsFromFile task;
+            private final BlockingQueue<Object> taskQueue;
+            private final ParquetReaderPool taskPool;
+            private final Queue<Future<?>> taskFutures;
+            private FinishedTask finishedTask;
+
+            private ReadFileTask(final RetrieveElementsFromFile task, final BlockingQueue<Object> taskQueue,
+                                 final ParquetReaderPool taskPool, final Queue<Future<?>> taskFutures) {
+                this.task = task;
+                this.taskQueue = taskQueue;
+                this.taskPool = taskPool;
+                this.taskFutures = taskFutures;
+            }
+
+            @Override
+            public void run() {
+                if (closed) {
+                    release();
+                    return;
+                }
+
+                if (null == finishedTask) {
+                    try {
+                        if (!task.readIntoQueue(false)) {
+                            pause();
+                            return;
+                        }
+                        finishedTask = new FinishedTask(null);
+                    } catch (final InterruptedException e) {
+                        // The iterator has been closed
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (final Exception e) {
+                        finishedTask = new FinishedTask(e);
+                    }
+                }
+
+                if (!taskQueue.offer(finishedTask)) {
+                    pause();
+                }
+            }
+
+            private void submit() {
+                try {
+                    taskFutures.removeIf(Future::isDone);
+                    taskFutures.add(taskPool.submit(this));
+                } catch (final RejectedExecutionException e) {
+                    // The store has been closed
+                    release();
+                    throw e;
+                }
+            }
+
+            /**
+             * Waits to be resumed by the consumer. If the consumer took an element or closed the
+             * iterator before this task was added to the paused tasks then it will not resume it,
+             * so this is checked again afterwards.
+             */
+            private void pause() {
+                pausedTasks.add(this);
+                if ((closed || taskQueue.remainingCapacity() > 0) && pausedTasks.remove(this)) {
+                    if (closed) {
+                        release();
+                    } else {
+                        submit();
+                    }
+                }
+            }
+
+            private void release() {
+                try {
+                    task.close();
+                } catch (final IOException e) {
+                    LOGGER.warn("Failed to close file after the iterator was closed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Added to the queue after a {@link RetrieveElementsFromFile} task has finished, to wake
+     * up the consumer so it can open the next file.
+     */
+    private static final class FinishedTask {
+        private final Exception exception;
+
+        private FinishedTask(final Exception exception) {
+            this.exception = exception;
         }
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The pool of threads used by a {@link uk.gov.gchq.gaffer.parquetstore.ParquetStore} to read
+ * files for get elements queries.
+ * <p>
+ * The pool is shared by all the queries on the store, so the number of files being read at
+ * once is capped at {@link uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties#getThreadsAvailable()}
+ * however many queries are running. Tasks are run in the order they are submitted. Each query
+ * only submits the task for its next file once one of its previous files has been read, so
+ * the tasks for concurrent queries are interleaved rather than one query having to wait for
+ * all the files of another.
+ * <p>
+ * A thread reading a file does not wait while the result queue of its query is full. The
+ * task gives the thread back to the pool and is resubmitted once the query's results are
+ * consumed, so queries whose results are not being consumed do not hold on to threads from
+ * the pool.
+ */
+public class ParquetReaderPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParquetReaderPool.class);
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final ThreadPoolExecutor executor;
+
+    public ParquetReaderPool(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be at least 1");
+        }
+
+        final String namePrefix = "parquet-reader-" + POOL_NUMBER.incrementAndGet() + "-";
+        final AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        LOGGER.info("Created ParquetReaderPool with {} threads", threads);
+    }
+
+    /**
+     * Submits a task to read a file.
+     *
+     * @param task the task
+     * @return a {@link Future} that can be used to cancel the task
+     */
+    public Future<?> submit(final Runnable task) {
+        final Future<?> future = executor.submit(task);
+        LOGGER.debug("Submitted task to ParquetReaderPool, {} tasks active and {} tasks queued",
+                getActiveTaskCount(), getQueueDepth());
+        return future;
+    }
+
+    /**
+     * @return the number of tasks waiting for a thread
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return the approximate number of tasks that are currently being run
+     */
+    public int getActiveTaskCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return the approximate number of tasks that have finished running
+     */
+    public long getCompletedTaskCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    /**
+     * @return the maximum number of tasks that can be run at once
+     */
+    public int getThreads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Stops the pool, interrupting any tasks that are running.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -24,8 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.Authorisations;
-import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibility;
-import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityEvaluator;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.CachingVisibilityEvaluator;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
@@ -38,15 +37,25 @@ import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Used to retrieve the elements from a single file and put the elements into a shared
- * {@link java.util.concurrent.ConcurrentLinkedQueue}.
+ * {@link java.util.concurrent.BlockingQueue}. If the queue is bounded then {@link #call()}
+ * blocks while the queue is full. If the thread is interrupted whilst blocked then the file
+ * is closed and the {@link InterruptedException} is thrown from {@link #call()}. Alternatively
+ * {@link #readIntoQueue(boolean)} can be used to stop reading when the queue is full and
+ * carry on later.
+ * <p>
+ * If the {@link View} does not return all the properties of the group then only the columns
+ * needed for the identifiers, the properties returned, the visibility and the properties used
+ * by the filters and validators are read from the file.
  */
 public class RetrieveElementsFromFile implements Callable<OperationException> {
     private static final Logger LOGGER = LoggerFactory.getLogger(RetrieveElementsFromFile.class);
@@ -55,7 +64,7 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     private final FilterPredicate filter;
     private final byte[] jsonGafferSchema;
     private transient SchemaUtils schemaUtils;
-    private final ConcurrentLinkedQueue<Element> queue;
+    private final BlockingQueue<? super Element> queue;
     private transient ElementFilter elementFilter;
     private final byte[] elementDefinitionJson;
     private final boolean needsValidatorsAndFiltersApplying;
@@ -63,17 +72,31 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     private final String group;
     private final View view;
     private final Schema gafferSchema;
-    private final Authorisations auths;
+    private final CachingVisibilityEvaluator visibilityEvaluator;
     private final String visibility;
+    private ParquetReader<Element> fileReader;
+    private Element pendingElement;
 
     public RetrieveElementsFromFile(final Path filePath,
                                     final FilterPredicate filter,
                                     final Schema gafferSchema,
-                                    final ConcurrentLinkedQueue<Element> queue,
+                                    final BlockingQueue<? super Element> queue,
                                     final boolean needsValidatorsAndFiltersApplying,
                                     final boolean skipValidation,
                                     final View view,
                                     final User user) {
+        this(filePath, filter, gafferSchema, queue, needsValidatorsAndFiltersApplying, skipValidation, view,
+                createVisibilityEvaluator(user));
+    }
+
+    public RetrieveElementsFromFile(final Path filePath,
+                                    final FilterPredicate filter,
+                                    final Schema gafferSchema,
+                                    final BlockingQueue<? super Element> queue,
+                                    final boolean needsValidatorsAndFiltersApplying,
+                                    final boolean skipValidation,
+                                    final View view,
+                                    final CachingVisibilityEvaluator visibilityEvaluator) {
         LOGGER.info("Creating RetrieveElementsFromFile for path {} with predicate {}", filePath, filter);
         this.filePath = filePath;
         this.filter = filter;
@@ -86,13 +109,7 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
             this.visibility = new String();
         }
 
-        if (user != null && user.getDataAuths() != null) {
-            final Set<String> dataAuths = user.getDataAuths();
-            this.auths = new Authorisations(dataAuths.toArray(new String[dataAuths.size()]));
-        } else {
-            this.auths = new Authorisations();
-        }
-
+        this.visibilityEvaluator = visibilityEvaluator;
         this.queue = queue;
         this.view = view;
         this.needsValidatorsAndFiltersApplying = needsValidatorsAndFiltersApplying;
@@ -107,78 +124,175 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
 
     @Override
     public OperationException call() throws Exception {
+        readIntoQueue(true);
+        return null;
+    }
+
+    /**
+     * Reads the elements from the file into the queue. If {@code block} is false then
+     * reading stops as soon as the queue is full, leaving the file open so that reading
+     * can carry on from the same element when this method is called again. This allows
+     * the thread to be used for other files whilst the consumer catches up.
+     *
+     * @param block whether to wait for space in the queue
+     * @return true if the whole file has been read and closed, false if reading stopped
+     * because the queue was full
+     * @throws Exception if the file could not be read or the thread was interrupted
+     */
+    public boolean readIntoQueue(final boolean block) throws Exception {
         if (null == elementFilter) {
             elementFilter = new ViewElementDefinition.Builder().json(elementDefinitionJson).build().getPreAggregationFilter();
         }
         if (null == schemaUtils) {
             schemaUtils = new SchemaUtils(Schema.fromJson(jsonGafferSchema));
         }
+        boolean paused = false;
         try {
-            final ParquetReader<Element> fileReader = openParquetReader();
-            Element e = fileReader.read();
-            while (null != e) {
-                if (!visibility.isEmpty()) {
-                    if (isVisible(e)) {
-                        if (needsValidatorsAndFiltersApplying) {
-                            final String group = e.getGroup();
-                            final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                            if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                                if (elementFilter == null || elementFilter.test(e)) {
-                                    ViewUtil.removeProperties(view, e);
-                                    queue.add(e);
-                                }
-                            }
-                        } else {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
+            if (null == fileReader) {
+                fileReader = openParquetReader();
+            }
+            while (true) {
+                if (null == pendingElement) {
+                    final Element e = fileReader.read();
+                    if (null == e) {
+                        return true;
                     }
-                } else if (needsValidatorsAndFiltersApplying) {
-                    final String group = e.getGroup();
-                    final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                    if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                        if (elementFilter == null || elementFilter.test(e)) {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
+                    if (!isReturned(e)) {
+                        continue;
                     }
-                } else {
                     ViewUtil.removeProperties(view, e);
-                    queue.add(e);
+                    pendingElement = e;
                 }
-                e = fileReader.read();
+                if (block) {
+                    queue.put(pendingElement);
+                } else if (!queue.offer(pendingElement)) {
+                    paused = true;
+                    return false;
+                }
+                pendingElement = null;
             }
-            fileReader.close();
         } catch (final IOException ignore) {
             LOGGER.error("IOException reading file", ignore);
             // ignore as this file does not exist
+            return true;
+        } finally {
+            if (!paused) {
+                close();
+            }
+        }
+    }
+
+    /**
+     * Closes the file if reading stopped part way through it.
+     *
+     * @throws IOException if the file could not be closed
+     */
+    public void close() throws IOException {
+        pendingElement = null;
+        if (null != fileReader) {
+            final ParquetReader<Element> reader = fileReader;
+            fileReader = null;
+            reader.close();
         }
-        return null;
+    }
+
+    private boolean isReturned(final Element e) throws VisibilityParseException {
+        if (!visibility.isEmpty() && !isVisible(e)) {
+            return false;
+        }
+        if (needsValidatorsAndFiltersApplying) {
+            final ElementFilter validatorFilter = gafferSchema.getElement(e.getGroup()).getValidator(false);
+            return (skipValidation || validatorFilter == null || validatorFilter.test(e))
+                    && (elementFilter == null || elementFilter.test(e));
+        }
+        return true;
     }
 
     private ParquetReader<Element> openParquetReader() throws IOException {
         final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
         final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
-        LOGGER.debug("Opening a new Parquet reader for file {}", filePath);
+        final Set<String> fieldsToRead = getFieldsToRead();
+        LOGGER.debug("Opening a new Parquet reader for file {} reading fields {}", filePath,
+                null == fieldsToRead ? "all" : fieldsToRead);
         if (null != filter) {
             return new ParquetElementReader.Builder<Element>(filePath)
                     .isEntity(isEntity)
                     .usingConverter(converter)
+                    .readingFields(fieldsToRead)
                     .withFilter(FilterCompat.get(filter))
                     .build();
         } else {
             return new ParquetElementReader.Builder<Element>(filePath)
                     .isEntity(isEntity)
                     .usingConverter(converter)
+                    .readingFields(fieldsToRead)
                     .build();
         }
     }
 
+    private Set<String> getFieldsToRead() {
+        final ViewElementDefinition elementDefinition = view.getElement(group);
+        if (null == elementDefinition || elementDefinition.isAllProperties()) {
+            return null;
+        }
+
+        final Set<String> columns = new HashSet<>(schemaUtils.getCoreProperties(group));
+        if (null != elementDefinition.getProperties()) {
+            columns.addAll(elementDefinition.getProperties());
+        } else {
+            columns.addAll(gafferSchema.getElement(group).getProperties());
+            columns.removeAll(elementDefinition.getExcludeProperties());
+        }
+        if (!visibility.isEmpty()) {
+            columns.add(visibility);
+        }
+        // The pre-aggregation filter is always needed, as even when it is fully applied by the
+        // Parquet filter the columns it selects must be read for the Parquet filter to match them
+        addSelections(elementFilter, columns);
+        if (needsValidatorsAndFiltersApplying && !skipValidation) {
+            addSelections(gafferSchema.getElement(group).getValidator(false), columns);
+        }
+
+        final Set<String> fields = new HashSet<>();
+        for (final String column : columns) {
+            final String[] paths = schemaUtils.getPaths(group, column);
+            if (null != paths) {
+                for (final String path : paths) {
+                    fields.add(path.split("\\.")[0]);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static void addSelections(final ElementFilter filter, final Set<String> columns) {
+        if (null != filter) {
+            for (final TupleAdaptedPredicate<String, ?> predicate : filter.getComponents()) {
+                for (final String selection : predicate.getSelection()) {
+                    columns.add(selection);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates an evaluator for the data authorisations of a user. The evaluator caches its
+     * decisions, so it should be shared by all the files read for a query.
+     *
+     * @param user the user running the query
+     * @return the visibility evaluator
+     */
+    public static CachingVisibilityEvaluator createVisibilityEvaluator(final User user) {
+        if (user != null && user.getDataAuths() != null) {
+            final Set<String> dataAuths = user.getDataAuths();
+            return new CachingVisibilityEvaluator(new Authorisations(dataAuths.toArray(new String[dataAuths.size()])));
+        }
+        return new CachingVisibilityEvaluator(new Authorisations());
+    }
+
     private Boolean isVisible(final Element e) throws VisibilityParseException {
         if (e.getProperty(visibility) != null) {
-            final VisibilityEvaluator visibilityEvaluator = new VisibilityEvaluator(auths);
-            final ElementVisibility elementVisibility = new ElementVisibility((String) e.getProperty(visibility));
-            return visibilityEvaluator.evaluate(elementVisibility);
+            return visibilityEvaluator.evaluate((String) e.getProperty(visibility));
         } else {
             e.putProperty(visibility, new String());
             return true;
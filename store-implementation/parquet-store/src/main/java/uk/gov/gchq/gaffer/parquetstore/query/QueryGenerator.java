@@ -50,6 +50,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -183,9 +184,14 @@ public class QueryGenerator {
         final List<Tuple3<String, ParquetElementSeed, Set<PathInfo>>> groupSeedsAndPathsList =
                 groupSeedsAndPaths.collect(Collectors.toList());
         final Map<PathInfo, List<Tuple3<String, Boolean, ParquetElementSeed>>> pathToSeeds = new HashMap<>();
+        final Map<Path, Optional<VertexIndex>> pathToIndex = new HashMap<>();
         for (final Tuple3<String, ParquetElementSeed, Set<PathInfo>> tuple : groupSeedsAndPathsList) {
             Set<PathInfo> paths = tuple.get2();
             for (final PathInfo pathInfo : paths) {
+                if (!mightContainSeed(pathInfo, tuple.get1(), pathToIndex)) {
+                    LOGGER.debug("Vertex index for path {} does not contain seed {}", pathInfo.getPath(), tuple.get1());
+                    continue;
+                }
                 if (!pathToSeeds.containsKey(pathInfo)) {
                     pathToSeeds.put(pathInfo, new ArrayList<>());
                 }
@@ -333,6 +339,29 @@ public class QueryGenerator {
     }
 
 
+    private boolean mightContainSeed(final PathInfo pathInfo,
+                                     final ParquetElementSeed seed,
+                                     final Map<Path, Optional<VertexIndex>> pathToIndex) {
+        final Optional<VertexIndex> index = pathToIndex.computeIfAbsent(pathInfo.getPath(), path -> {
+            try {
+                return Optional.ofNullable(VertexIndex.read(store.getFS(), path));
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to read the vertex index for path {}, the file will be read", path, e);
+                return Optional.empty();
+            }
+        });
+        if (!index.isPresent()) {
+            return true;
+        }
+
+        if (seed instanceof ParquetEntitySeed) {
+            return index.get().mightContain(((ParquetEntitySeed) seed).getSeed());
+        }
+        final ParquetEdgeSeed edgeSeed = (ParquetEdgeSeed) seed;
+        return index.get().mightContain(edgeSeed.getSource())
+                || (null != edgeSeed.getDestination() && index.get().mightContain(edgeSeed.getDestination()));
+    }
+
     private FilterPredicate seedsToPredicate(final List<Tuple3<String, Boolean, ParquetElementSeed>> seedList,
                                              final SeededGraphFilters.IncludeIncomingOutgoingType includeIncomingOutgoingType,
                                              final SeedMatching.SeedMatchingType seedMatchingType) throws SerialisationException {
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.query;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.bloom.Key;
+import org.apache.hadoop.util.hash.Hash;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * A {@code VertexIndex} is a bloom filter of the vertices in a single Parquet file of the
+ * {@link uk.gov.gchq.gaffer.parquetstore.ParquetStore}, stored in a hidden file alongside it.
+ * <p>
+ * The vertices are the Parquet objects that the file is sorted by, i.e. the vertex of entities,
+ * the source of edges and the destination of reversed edges. The {@link QueryGenerator} uses
+ * the index to skip files that the {@link uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner}
+ * says could contain a seed but that definitely do not. Files without an index are always read.
+ */
+public final class VertexIndex {
+    public static final String INDEX_FILE_SUFFIX = ".vertexindex";
+
+    /**
+     * The maximum number of bits in an index (8MB). Files with more vertices than the index
+     * was sized for have a higher false positive rate.
+     */
+    public static final int MAX_SIZE = 1 << 26;
+
+    private final BloomFilter bloomFilter;
+
+    private VertexIndex(final BloomFilter bloomFilter) {
+        this.bloomFilter = bloomFilter;
+    }
+
+    /**
+     * Creates an empty index.
+     *
+     * @param falsePositiveRate the false positive rate
+     * @param numVertices       the number of vertices that will be added
+     * @return the index
+     */
+    public static VertexIndex create(final double falsePositiveRate, final long numVertices) {
+        final int numItems = (int) Math.max(1L, Math.min(Integer.MAX_VALUE, numVertices));
+        final int size = Math.max(1, (int) Math.min(MAX_SIZE,
+                -numItems * Math.log(falsePositiveRate) / Math.pow(Math.log(2.0), 2.0)));
+        final int numHashes = Math.max(1, (int) ((double) size / numItems * Math.log(2.0)));
+        return new VertexIndex(new BloomFilter(size, numHashes, Hash.MURMUR_HASH));
+    }
+
+    /**
+     * Reads the index for a Parquet file.
+     *
+     * @param fs   the file system
+     * @param file the Parquet file
+     * @return the index, or null if the file has no index
+     * @throws IOException if the index exists but cannot be read
+     */
+    public static VertexIndex read(final FileSystem fs, final Path file) throws IOException {
+        final Path indexPath = getIndexPath(file);
+        if (!fs.exists(indexPath)) {
+            return null;
+        }
+
+        final BloomFilter bloomFilter = new BloomFilter();
+        try (final FSDataInputStream stream = fs.open(indexPath)) {
+            bloomFilter.readFields(stream);
+        }
+        return new VertexIndex(bloomFilter);
+    }
+
+    /**
+     * Writes this index alongside a Parquet file.
+     *
+     * @param fs   the file system
+     * @param file the Parquet file
+     * @throws IOException if the index cannot be written
+     */
+    public void write(final FileSystem fs, final Path file) throws IOException {
+        try (final FSDataOutputStream stream = fs.create(getIndexPath(file), true)) {
+            bloomFilter.write(stream);
+        }
+    }
+
+    /**
+     * The index is a hidden file so that it is ignored when Spark reads the directory.
+     *
+     * @param file the Parquet file
+     * @return the path of the index for the file
+     */
+    public static Path getIndexPath(final Path file) {
+        return new Path(file.getParent(), "." + file.getName() + INDEX_FILE_SUFFIX);
+    }
+
+    public void add(final Object[] vertex) {
+        bloomFilter.add(toKey(vertex));
+    }
+
+    public boolean mightContain(final Object[] vertex) {
+        return null == vertex || bloomFilter.membershipTest(toKey(vertex));
+    }
+
+    private static Key toKey(final Object[] vertex) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            for (final Object object : vertex) {
+                if (null == object) {
+                    out.writeByte(0);
+                } else if (object instanceof byte[]) {
+                    out.writeByte(1);
+                    out.writeInt(((byte[]) object).length);
+                    out.write((byte[]) object);
+                } else if (object instanceof Date) {
+                    out.writeByte(2);
+                    out.writeLong(((Date) object).getTime());
+                } else {
+                    final byte[] value = object.toString().getBytes(StandardCharsets.UTF_8);
+                    out.writeByte(3);
+                    out.writeUTF(object.getClass().getName());
+                    out.writeInt(value.length);
+                    out.write(value);
+                }
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to create bloom filter key for vertex", e);
+        }
+        return new Key(bytes.toByteArray());
+    }
+}
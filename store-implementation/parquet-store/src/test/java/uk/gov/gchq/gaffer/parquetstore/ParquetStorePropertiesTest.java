@@ -27,6 +27,8 @@ import uk.gov.gchq.gaffer.sketches.serialisation.json.SketchesJsonModules;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ParquetStorePropertiesTest {
 
@@ -44,6 +46,23 @@ public class ParquetStorePropertiesTest {
         assertEquals((Integer) 9, props.getThreadsAvailable());
     }
 
+    @Test
+    public void resultQueueSizeTest() {
+        assertEquals(10000, props.getResultQueueSize());
+        props.setResultQueueSize(500);
+        assertEquals(500, props.getResultQueueSize());
+    }
+
+    @Test
+    public void vertexIndexTest() {
+        assertFalse(props.getWriteVertexIndex());
+        assertEquals(0.01, props.getVertexIndexFalsePositiveRate());
+        props.setWriteVertexIndex(true);
+        props.setVertexIndexFalsePositiveRate(0.001);
+        assertTrue(props.getWriteVertexIndex());
+        assertEquals(0.001, props.getVertexIndexFalsePositiveRate());
+    }
+
     @Test
     public void dataDirTest() {
         assertEquals(null, props.getDataDir());
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.handler;
 
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -45,9 +46,11 @@ import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -55,6 +58,7 @@ import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -223,6 +227,33 @@ public abstract class AbstractOperationsTest extends StandaloneIT {
         ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), results);
     }
 
+    @Test
+    public void shouldNotHoldReaderThreadsForQueriesWhoseResultsAreNotConsumed() throws OperationException {
+        // Given
+        final ParquetStoreProperties storeProperties = (ParquetStoreProperties) createStoreProperties();
+        storeProperties.setThreadsAvailable(1);
+        storeProperties.setResultQueueSize(1);
+        final Graph graph = createGraph(storeProperties);
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+
+        // When
+        final CloseableIterable<? extends Element> unconsumed = graph.execute(
+                new GetAllElements.Builder().build(), user);
+        final Iterator<? extends Element> unconsumedIterator = unconsumed.iterator();
+        assertTrue(unconsumedIterator.hasNext());
+        final List<Element> results = assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            try (final CloseableIterable<? extends Element> consumed = graph.execute(
+                    new GetAllElements.Builder().build(), user)) {
+                return Lists.<Element>newArrayList(consumed);
+            }
+        });
+
+        // Then
+        ElementUtil.assertElementEquals(getResultsForGetAllElementsTest(), results);
+        unconsumed.close();
+    }
+
     @Test
     public void shouldNotGetElementsOnEmptyGraph() throws OperationException {
         // Given (test on a graph on which add has been called with an empty list and
@@ -327,6 +358,40 @@ public abstract class AbstractOperationsTest extends StandaloneIT {
         ElementUtil.assertElementEquals(getResultsForGetElementsWithSeedsAndViewTest(), results);
     }
 
+    @Test
+    public void shouldApplyPreAggregationFilterOnPropertyNotReturnedByView() throws OperationException {
+        // Given
+        final Graph graph = createGraph();
+        final List<Element> elements = getInputDataForGetAllElementsTest();
+        graph.execute(new AddElements.Builder().input(elements).build(), user);
+        final View view = new View.Builder().edge(TestGroups.EDGE,
+                new ViewElementDefinition.Builder()
+                        .preAggregationFilter(
+                                new ElementFilter.Builder()
+                                        .select("count")
+                                        .execute(new IsMoreThan(0))
+                                        .build())
+                        .excludeProperties("count")
+                        .build())
+                .build();
+
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(
+                new GetAllElements.Builder().view(view).build(), user);
+
+        // Then
+        final List<Element> expected = getResultsForGetAllElementsTest().stream()
+                .filter(e -> e.getGroup().equals(TestGroups.EDGE))
+                .map(e -> {
+                    final Element clone = e.shallowClone();
+                    clone.removeProperty("count");
+                    return clone;
+                })
+                .collect(Collectors.toList());
+        assertFalse(expected.isEmpty());
+        ElementUtil.assertElementEquals(expected, results);
+    }
+
     @Test
     public void shouldThrowUnsupportedTraitExceptionWithPostAggregationFiltering() throws OperationException {
         // Given
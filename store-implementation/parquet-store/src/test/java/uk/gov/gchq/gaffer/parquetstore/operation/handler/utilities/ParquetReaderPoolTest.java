@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParquetReaderPoolTest {
+
+    @Test
+    public void shouldCapConcurrentTasksAndReportMetrics() throws Exception {
+        // Given
+        final ParquetReaderPool pool = new ParquetReaderPool(2);
+        final CountDownLatch started = new CountDownLatch(2);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Runnable blockingTask = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        try {
+            // When
+            pool.submit(blockingTask);
+            pool.submit(blockingTask);
+            final Future<?> queuedTask = pool.submit(blockingTask);
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // Then
+            assertEquals(2, pool.getThreads());
+            assertEquals(2, pool.getActiveTaskCount());
+            assertEquals(1, pool.getQueueDepth());
+
+            // When
+            release.countDown();
+            queuedTask.get(10, TimeUnit.SECONDS);
+
+            // Then
+            assertEquals(0, pool.getQueueDepth());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfThreadsIsLessThanOne() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new ParquetReaderPool(0));
+    }
+}
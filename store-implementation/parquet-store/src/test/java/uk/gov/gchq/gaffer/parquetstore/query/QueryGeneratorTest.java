@@ -412,6 +412,81 @@ public class QueryGeneratorTest {
         assertThat(expected, containsInAnyOrder(query.getAllParquetFileQueries().toArray()));
     }
 
+    @Test
+    public void testQueryGeneratorSkipsFilesWhoseVertexIndexDoesNotContainSeed(@TempDir java.nio.file.Path tempDir)
+            throws IOException, OperationException {
+        // Given
+        // - Create snapshot folder
+        final String folder = String.format("file:///%s", tempDir.toString());
+        final String snapshotFolder = folder + "/" + ParquetStore.getSnapshotPath(1000L);
+        // - Write out Parquet files so know the partitioning
+        CalculatePartitionerTest.writeData(snapshotFolder, new SchemaUtils(schema));
+        // - Initialise store
+        final ParquetStoreProperties storeProperties = new ParquetStoreProperties();
+        storeProperties.setDataDir(folder);
+        storeProperties.setTempFilesDir(folder + "/tmpdata");
+        storeProperties.setWriteVertexIndex(true);
+        final ParquetStore store = (ParquetStore) ParquetStore.createStore("graphId", schema, storeProperties);
+        // - Write indices for partition 0 of group ENTITY and both partition 0 files of group EDGE that do not
+        // contain vertex 0, and one for group ENTITY_2 that does. Group EDGE_2 has no indices.
+        final Path entityFile = new Path(new Path(snapshotFolder, ParquetStore.getGroupSubDir(TestGroups.ENTITY, false)), ParquetStore.getFile(0));
+        final Path entity2File = new Path(new Path(snapshotFolder, ParquetStore.getGroupSubDir(TestGroups.ENTITY_2, false)), ParquetStore.getFile(0));
+        final Path edgeFile = new Path(new Path(snapshotFolder, ParquetStore.getGroupSubDir(TestGroups.EDGE, false)), ParquetStore.getFile(0));
+        final Path reversedEdgeFile = new Path(new Path(snapshotFolder, ParquetStore.getGroupSubDir(TestGroups.EDGE, true)), ParquetStore.getFile(0));
+        final Path edge2File = new Path(new Path(snapshotFolder, ParquetStore.getGroupSubDir(TestGroups.EDGE_2, false)), ParquetStore.getFile(0));
+        final Path reversedEdge2File = new Path(new Path(snapshotFolder, ParquetStore.getGroupSubDir(TestGroups.EDGE_2, true)), ParquetStore.getFile(0));
+        writeVertexIndex(store, entityFile, 2L);
+        writeVertexIndex(store, entity2File, 0L);
+        writeVertexIndex(store, edgeFile, 2L);
+        writeVertexIndex(store, reversedEdgeFile, 2L);
+
+        // When 1 - no view, query for vertex 0
+        GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed(0L))
+                .seedMatching(SeedMatching.SeedMatchingType.RELATED)
+                .build();
+        ParquetQuery query = new QueryGenerator(store).getParquetQuery(getElements);
+
+        // Then 1
+        final List<ParquetFileQuery> expected = new ArrayList<>();
+        final FilterPredicate vertex0 = eq(FilterApi.longColumn(ParquetStore.VERTEX), 0L);
+        final FilterPredicate source0 = eq(FilterApi.longColumn(ParquetStore.SOURCE), 0L);
+        final FilterPredicate destination0 = eq(FilterApi.longColumn(ParquetStore.DESTINATION), 0L);
+        expected.add(new ParquetFileQuery(entity2File, vertex0, true));
+        expected.add(new ParquetFileQuery(edge2File, source0, true));
+        expected.add(new ParquetFileQuery(reversedEdge2File, destination0, true));
+        assertThat(expected, containsInAnyOrder(query.getAllParquetFileQueries().toArray()));
+
+        // When 2 - no view, query for edge 0->1 with seed matching type set to EQUAL
+        getElements = new GetElements.Builder()
+                .input(new EdgeSeed(0L, 1L, DirectedType.DIRECTED))
+                .seedMatching(SeedMatching.SeedMatchingType.EQUAL)
+                .build();
+        query = new QueryGenerator(store).getParquetQuery(getElements);
+
+        // Then 2
+        expected.clear();
+        final FilterPredicate source0Destination1DirectedTrue = and(and(source0,
+                eq(FilterApi.longColumn(ParquetStore.DESTINATION), 1L)),
+                eq(FilterApi.booleanColumn(ParquetStore.DIRECTED), true));
+        expected.add(new ParquetFileQuery(edge2File, source0Destination1DirectedTrue, true));
+        assertThat(expected, containsInAnyOrder(query.getAllParquetFileQueries().toArray()));
+
+        // When 3 - the index for partition 0 of group EDGE contains the source of the edge
+        writeVertexIndex(store, edgeFile, 0L);
+        query = new QueryGenerator(store).getParquetQuery(getElements);
+
+        // Then 3
+        expected.add(new ParquetFileQuery(edgeFile, source0Destination1DirectedTrue, true));
+        assertThat(expected, containsInAnyOrder(query.getAllParquetFileQueries().toArray()));
+    }
+
+    private static void writeVertexIndex(final ParquetStore store, final Path file, final Long vertex) throws IOException {
+        final VertexIndex index = VertexIndex.create(0.0001, 1);
+        index.add(new Object[]{vertex});
+        index.write(store.getFS(), file);
+    }
+
     public static class IsEvenFilter implements Predicate<Integer> {
 
         @Override
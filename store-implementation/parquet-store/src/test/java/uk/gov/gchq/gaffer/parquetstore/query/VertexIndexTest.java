@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.query;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VertexIndexTest {
+
+    @Test
+    public void shouldWriteAndReadIndexAlongsideFile(@TempDir java.nio.file.Path tempDir) throws IOException {
+        // Given
+        final FileSystem fs = FileSystem.get(new Configuration());
+        final Path file = new Path(tempDir.toString(), "partition-0000000.parquet");
+        final VertexIndex index = VertexIndex.create(0.0001, 100);
+        for (long i = 0; i < 100; i++) {
+            index.add(new Object[]{i});
+        }
+        index.add(new Object[]{"A", new byte[]{1, 2}});
+
+        // When
+        index.write(fs, file);
+        final VertexIndex readIndex = VertexIndex.read(fs, file);
+
+        // Then
+        assertEquals(new Path(tempDir.toString(), ".partition-0000000.parquet.vertexindex"), VertexIndex.getIndexPath(file));
+        for (long i = 0; i < 100; i++) {
+            assertTrue(readIndex.mightContain(new Object[]{i}));
+        }
+        assertTrue(readIndex.mightContain(new Object[]{"A", new byte[]{1, 2}}));
+        assertFalse(readIndex.mightContain(new Object[]{1000L}));
+        assertFalse(readIndex.mightContain(new Object[]{"0"}));
+    }
+
+    @Test
+    public void shouldReturnNullIfFileHasNoIndex(@TempDir java.nio.file.Path tempDir) throws IOException {
+        // Given
+        final FileSystem fs = FileSystem.get(new Configuration());
+
+        // When
+        final VertexIndex index = VertexIndex.read(fs, new Path(tempDir.toString(), "partition-0000000.parquet"));
+
+        // Then
+        assertNull(index);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.proxystore;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import javax.ws.rs.core.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link CloseableIterable} of the items in a chunked response from the
+ * Gaffer REST API. The items are parsed from the response as they are
+ * iterated over, so the remote REST API is only read from as quickly as the
+ * items are consumed and the full response is never held in memory.
+ * <p>
+ * Closing the iterable, or its iterator, closes the response and releases the
+ * connection, even if not all the items have been read. The response can only
+ * be iterated over once.
+ *
+ * @param <T> the type of the items in the response
+ */
+public class ChunkedResultsIterable<T> implements CloseableIterable<T> {
+    private final Response response;
+    private final JavaType itemType;
+    private MappingIterator<T> items;
+    private boolean iterated;
+
+    public ChunkedResultsIterable(final Response response, final JavaType itemType) {
+        this.response = response;
+        this.itemType = itemType;
+    }
+
+    @Override
+    public synchronized CloseableIterator<T> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("The results from the delegate Gaffer REST API can only be iterated over once");
+        }
+        iterated = true;
+
+        if (response.hasEntity()) {
+            try {
+                items = JSONSerialiser.getMapper()
+                        .readerFor(itemType)
+                        .readValues(response.readEntity(InputStream.class));
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to read results from the delegate Gaffer REST API", e);
+            }
+        } else {
+            close();
+        }
+
+        return new CloseableIterator<T>() {
+            @Override
+            public boolean hasNext() {
+                if (null == items) {
+                    return false;
+                }
+                try {
+                    if (items.hasNextValue()) {
+                        return true;
+                    }
+                } catch (final IOException e) {
+                    close();
+                    throw new GafferRuntimeException("Unable to read results from the delegate Gaffer REST API", e);
+                }
+                close();
+                return false;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    return items.nextValue();
+                } catch (final IOException e) {
+                    close();
+                    throw new GafferRuntimeException("Unable to read results from the delegate Gaffer REST API", e);
+                }
+            }
+
+            @Override
+            public void close() {
+                ChunkedResultsIterable.this.close();
+            }
+        };
+    }
+
+    @Override
+    public synchronized void close() {
+        CloseableUtil.close(items);
+        items = null;
+        response.close();
+    }
+}
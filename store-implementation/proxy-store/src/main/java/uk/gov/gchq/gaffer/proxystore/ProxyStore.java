@@ -17,6 +17,8 @@
 package uk.gov.gchq.gaffer.proxystore;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.google.common.collect.Sets;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.glassfish.jersey.client.ClientProperties;
@@ -63,6 +65,7 @@ import javax.ws.rs.client.Invocation;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status.Family;
+import javax.ws.rs.core.Response.StatusType;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
@@ -167,14 +170,46 @@ public class ProxyStore extends Store {
             throw new OperationException("Unable to serialise operation chain into JSON.", e);
         }
 
-        final URL url = getProperties().getGafferUrl("graph/operations/execute");
+        final JavaType streamedItemType = getProperties().isStreamResults() ? getStreamedItemType(opChain.getOutputTypeReference()) : null;
         try {
+            if (null != streamedItemType) {
+                final URL url = getProperties().getGafferUrl("graph/operations/execute/chunked");
+                return (O) doPostChunked(url, opChainJson, streamedItemType, context);
+            }
+
+            final URL url = getProperties().getGafferUrl("graph/operations/execute");
             return doPost(url, opChainJson, opChain.getOutputTypeReference(), context);
         } catch (final StoreException e) {
             throw new OperationException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Gets the type of the items in the output of an operation chain, if the
+     * output can be streamed from the chunked execute endpoint. This is only
+     * the case if the output type is an Iterable that a
+     * {@link ChunkedResultsIterable} can be assigned to.
+     *
+     * @param outputType the output type of the operation chain
+     * @return the type of the items in the output, or null if the output
+     * cannot be streamed
+     */
+    protected JavaType getStreamedItemType(final TypeReference<?> outputType) {
+        if (null == outputType) {
+            return null;
+        }
+
+        final TypeFactory typeFactory = JSONSerialiser.getMapper().getTypeFactory();
+        final JavaType type = typeFactory.constructType(outputType);
+        if (!Iterable.class.isAssignableFrom(type.getRawClass())
+                || !type.getRawClass().isAssignableFrom(ChunkedResultsIterable.class)) {
+            return null;
+        }
+
+        final JavaType[] itemTypes = typeFactory.findTypeParameters(type, Iterable.class);
+        return null != itemTypes && 1 == itemTypes.length ? itemTypes[0] : typeFactory.constructType(Object.class);
+    }
+
     protected <O> O doPost(final URL url, final Object body,
                            final TypeReference<O> outputType,
                            final Context context) throws StoreException {
@@ -201,6 +236,29 @@ public class ProxyStore extends Store {
         return handleResponse(response, clazz);
     }
 
+    protected <T> CloseableIterable<T> doPostChunked(final URL url, final String jsonBody,
+                                                     final JavaType itemType,
+                                                     final Context context) throws StoreException {
+        final Invocation.Builder request = createRequest(jsonBody, url, context);
+        final Response response;
+        try {
+            response = request.post(Entity.json(jsonBody));
+        } catch (final Exception e) {
+            throw new StoreException("Failed to execute post via " +
+                    "the Gaffer URL " + url.toExternalForm(), e);
+        }
+
+        if (Family.SUCCESSFUL != response.getStatusInfo().getFamily()) {
+            try {
+                handleErrorResponse(response.getStatus(), response.hasEntity() ? response.readEntity(String.class) : null);
+            } finally {
+                response.close();
+            }
+        }
+
+        return new ChunkedResultsIterable<>(response, itemType);
+    }
+
     protected <O> O doGet(final URL url,
                           final TypeReference<O> outputTypeReference, final Context context)
             throws StoreException {
@@ -219,16 +277,16 @@ public class ProxyStore extends Store {
     protected <O> O handleResponse(final Response response,
                                    final TypeReference<O> outputTypeReference)
             throws StoreException {
-        final String outputJson = response.hasEntity() ? response.readEntity(String.class) : null;
-        if (Family.SUCCESSFUL != response.getStatusInfo().getFamily()) {
-            final Error error;
-            try {
-                error = JSONSerialiser.deserialise(StringUtil.toBytes(outputJson), Error.class);
-            } catch (final Exception e) {
-                LOGGER.warn("Gaffer bad status {}. Detail: {}", response.getStatus(), outputJson);
-                throw new StoreException("Delegate Gaffer store returned status: " + response.getStatus() + ". Response content was: " + outputJson);
-            }
-            throw new GafferWrappedErrorRuntimeException(error);
+        final StatusType status = response.getStatusInfo();
+        final String outputJson;
+        try {
+            outputJson = response.hasEntity() ? response.readEntity(String.class) : null;
+        } finally {
+            // Releases the connection so it can be reused
+            response.close();
+        }
+        if (Family.SUCCESSFUL != status.getFamily()) {
+            handleErrorResponse(status.getStatusCode(), outputJson);
         }
 
         O output = null;
@@ -243,6 +301,17 @@ public class ProxyStore extends Store {
         return output;
     }
 
+    protected void handleErrorResponse(final int status, final String outputJson) throws StoreException {
+        final Error error;
+        try {
+            error = JSONSerialiser.deserialise(StringUtil.toBytes(outputJson), Error.class);
+        } catch (final Exception e) {
+            LOGGER.warn("Gaffer bad status {}. Detail: {}", status, outputJson);
+            throw new StoreException("Delegate Gaffer store returned status: " + status + ". Response content was: " + outputJson);
+        }
+        throw new GafferWrappedErrorRuntimeException(error);
+    }
+
     protected Invocation.Builder createRequest(final String body, final URL url, final Context context) {
         final Invocation.Builder request = client.target(url.toString())
                 .request();
@@ -372,6 +441,11 @@ public class ProxyStore extends Store {
             return this;
         }
 
+        public Builder streamResults(final boolean streamResults) {
+            properties.setStreamResults(streamResults);
+            return this;
+        }
+
         public Builder jsonSerialiser(final Class<? extends JSONSerialiser> serialiserClass) {
             properties.setJsonSerialiserClass(serialiserClass);
             return this;
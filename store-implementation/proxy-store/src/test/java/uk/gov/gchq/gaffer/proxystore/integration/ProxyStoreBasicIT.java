@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.proxystore.integration;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -49,6 +50,7 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.proxystore.ChunkedResultsIterable;
 import uk.gov.gchq.gaffer.proxystore.ProxyStore;
 import uk.gov.gchq.gaffer.rest.RestApiTestClient;
 import uk.gov.gchq.gaffer.rest.service.v2.RestApiV2TestClient;
@@ -57,12 +59,14 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.core.IsCollectionContaining.hasItem;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class ProxyStoreBasicIT {
@@ -164,6 +168,32 @@ public class ProxyStoreBasicIT {
         assertThat((CloseableIterable<Element>) results, hasItem(DEFAULT_ELEMENTS[0]));
     }
 
+    @Test
+    public void shouldAddElementsAndStreamAllElements() throws Exception {
+        // Given
+        addDefaultElements();
+        final Graph streamingGraph = new Graph.Builder()
+                .store(new ProxyStore.Builder()
+                        .graphId("graph1")
+                        .host("localhost")
+                        .port(8080)
+                        .contextRoot("rest")
+                        .streamResults(true)
+                        .build())
+                .build();
+
+        // When
+        final List<Element> elements;
+        try (final CloseableIterable<? extends Element> results = streamingGraph.execute(new GetAllElements(), USER)) {
+            assertTrue(results instanceof ChunkedResultsIterable);
+            elements = Lists.newArrayList(results);
+        }
+
+        // Then
+        assertEquals(DEFAULT_ELEMENTS.length, elements.size());
+        assertThat(elements, hasItems(DEFAULT_ELEMENTS));
+    }
+
     @Test
     public void shouldAddElementsViaAJob() throws Exception {
         // Add elements